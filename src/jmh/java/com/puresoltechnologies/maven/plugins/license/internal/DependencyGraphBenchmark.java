@@ -0,0 +1,125 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+
+/**
+ * This class contains the JMH benchmarks for the {@link DependencyGraph} on a
+ * synthetic graph. Every node depends on two nodes of the next level and all
+ * nodes share a common dependency, like a logging API used everywhere. The
+ * heap of the graph is reported by the GC profiler of the 'benchmarks' profile
+ * as allocation per operation of {@link #build(Blackhole)}, the traversal speed
+ * is compared to the iteration of an equally large {@link DependencyTree}.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class DependencyGraphBenchmark {
+
+    @Param({ "50000" })
+    public int nodeCount;
+
+    private ArtifactInformation[] artifacts;
+    private DependencyGraph graph;
+    private DependencyTree tree;
+
+    @Setup
+    public void setup() {
+        artifacts = new ArtifactInformation[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            artifacts[i] = new ArtifactInformation("org.test.group" + (i % 100), "artifact" + i, "1.0.0", null,
+                    "jar", "compile");
+        }
+        graph = createGraph();
+        tree = createTree();
+    }
+
+    private DependencyGraph createGraph() {
+        DependencyGraph.Builder builder = new DependencyGraph.Builder();
+        for (int i = 0; i < nodeCount; i++) {
+            builder.addNode(artifacts[i]);
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            for (int child = (2 * i) + 1; (child <= (2 * i) + 2) && (child < nodeCount); child++) {
+                builder.addEdge(i, child, "compile", false);
+            }
+            if (i > 1) {
+                builder.addEdge(i, 1, "compile", false);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates the binary tree of the graph without the shared dependency, so it
+     * has the same number of nodes as the graph.
+     */
+    private DependencyTree createTree() {
+        List<DependencyTree> nodes = new ArrayList<>(nodeCount);
+        InternDictionary dictionary = new InternDictionary();
+        for (int i = 0; i < nodeCount; i++) {
+            Artifact artifact = new DefaultArtifact(artifacts[i].getGroupId(), artifacts[i].getArtifactId(),
+                    artifacts[i].getVersion(), artifacts[i].getScope(), artifacts[i].getType(), null,
+                    new DefaultArtifactHandler("jar"));
+            DependencyTree node = new DependencyTree(artifact, dictionary.artifactInformation(artifact),
+                    new ArrayList<DeclaredDependency>(), new ArrayList<DeclaredLicense>());
+            nodes.add(node);
+            if (i > 0) {
+                nodes.get((i - 1) / 2).addChildNode(node);
+            }
+        }
+        return nodes.get(0);
+    }
+
+    @Benchmark
+    public void build(Blackhole blackhole) {
+        blackhole.consume(createGraph());
+    }
+
+    @Benchmark
+    public void graphReachable(Blackhole blackhole) {
+        blackhole.consume(graph.getReachable(0));
+    }
+
+    @Benchmark
+    public void graphEdges(Blackhole blackhole) {
+        long sum = 0;
+        for (int node = 0; node < graph.getNodeCount(); node++) {
+            for (int edge = graph.getEdgesStart(node); edge < graph.getEdgesEnd(node); edge++) {
+                sum += graph.getTarget(edge);
+            }
+        }
+        blackhole.consume(sum);
+    }
+
+    @Benchmark
+    public void treeIteration(Blackhole blackhole) {
+        for (DependencyTree node : tree) {
+            blackhole.consume(node);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class contains the JMH footprint benchmark of the
+ * {@link DependencyTree}. {@link #build()} builds a tree with
+ * {@link SyntheticDependencyTree} like the dependency resolution does. The GC
+ * profiler of the 'benchmarks' profile reports the bytes allocated per tree as
+ * 'gc.alloc.rate.norm'. The retained heap per node is measured deterministically
+ * once per trial with {@link RetainedSize} and printed next to it:
+ *
+ * <pre>
+ * mvn -Pbenchmarks verify -Dbenchmarks=DependencyTreeFootprintBenchmark
+ * </pre>
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class DependencyTreeFootprintBenchmark {
+
+    @Param({ "10000", "50000" })
+    public int nodeCount;
+
+    @Setup
+    public void setup() {
+        DependencyTree tree = SyntheticDependencyTree.create(new InternDictionary(), nodeCount);
+        long retained = RetainedSize.of(tree);
+        System.out.println("DependencyTree footprint: nodes=" + nodeCount + ", retained=" + (retained / 1024)
+                + "KiB, bytesPerNode=" + (retained / nodeCount));
+    }
+
+    @Benchmark
+    public DependencyTree build() {
+        return SyntheticDependencyTree.create(new InternDictionary(), nodeCount);
+    }
+}
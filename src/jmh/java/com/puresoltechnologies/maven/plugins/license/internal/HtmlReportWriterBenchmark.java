@@ -0,0 +1,149 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.codehaus.doxia.sink.Sink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+/**
+ * This class contains the JMH benchmarks for the {@link HtmlReportWriter} on a
+ * synthetic report with 20k rows in the dependency hierarchy. The project has
+ * 200 direct dependencies with 99 transitive dependencies each. Half of the
+ * transitive dependencies are shared by two direct dependencies, so the
+ * collapsed hierarchy links to about 10k of them. Every artifact has one of 20
+ * licenses. The report is written into memory, so only the rendering is
+ * measured. {@link #writeBody(Blackhole)} and {@link #writeBodyToSink(Blackhole)}
+ * compare the site body rendered into a single {@link String} with the body
+ * streamed into a {@link Sink} in chunks; run them with <code>-prof gc</code> to
+ * compare the allocations.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class HtmlReportWriterBenchmark {
+
+    @Param({ "200" })
+    public int directDependencies;
+
+    @Param({ "99" })
+    public int transitiveDependencies;
+
+    private final Map<ArtifactInformation, List<ValidationResult>> results = new HashMap<>();
+    private final LicenseIndex licenseIndex = new LicenseIndex();
+    private DependencyTree tree;
+    private LicenseSummary licenseSummary;
+
+    @Setup
+    public void setup() throws MalformedURLException {
+        List<KnownLicense> licenses = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            licenses.add(new KnownLicense("License-" + i, new URL("http://licenses.test/" + i), true,
+                    Collections.<String>emptySet(), Collections.<String>emptySet()));
+        }
+        InternDictionary dictionary = new InternDictionary();
+        tree = node(dictionary, licenses, "project");
+        int count = 0;
+        for (int i = 0; i < directDependencies; i++) {
+            DependencyTree directDependency = node(dictionary, licenses, "direct" + i);
+            tree.addChildNode(directDependency);
+            for (int j = 0; j < transitiveDependencies; j++) {
+                // every second artifact is used by two direct dependencies
+                int id = (j % 2 == 0) ? count++ : (i * transitiveDependencies + j) / 2;
+                directDependency.addChildNode(node(dictionary, licenses, "transitive" + id));
+            }
+        }
+        licenseSummary = LicenseSummary.aggregate(tree, results);
+    }
+
+    private DependencyTree node(InternDictionary dictionary, List<KnownLicense> licenses, String artifactId)
+            throws MalformedURLException {
+        Artifact artifact = new DefaultArtifact("org.test", artifactId, "1.0.0", "compile", "jar", null,
+                new DefaultArtifactHandler("jar"));
+        DependencyTree node = new DependencyTree(artifact, dictionary.artifactInformation(artifact),
+                new ArrayList<DeclaredDependency>(), new ArrayList<DeclaredLicense>());
+        ArtifactInformation artifactInformation = node.getArtifactInformation();
+        if (!results.containsKey(artifactInformation)) {
+            KnownLicense license = licenses.get(Math.floorMod(artifactId.hashCode(), licenses.size()));
+            ValidationResult result = new ValidationResult(artifactInformation, license, license.getName(),
+                    license.getUrl(), "", true);
+            results.put(artifactInformation, Collections.singletonList(result));
+            licenseIndex.add(result);
+        }
+        return node;
+    }
+
+    private String write(boolean collapseHierarchy) throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        HtmlReportWriter writer = new HtmlReportWriter(stringWriter, results, licenseSummary, licenseIndex);
+        writer.setCollapseHierarchy(collapseHierarchy);
+        writer.write(tree);
+        return stringWriter.toString();
+    }
+
+    @Benchmark
+    public void write(Blackhole blackhole) throws IOException {
+        blackhole.consume(write(false));
+    }
+
+    @Benchmark
+    public void writeCollapsed(Blackhole blackhole) throws IOException {
+        blackhole.consume(write(true));
+    }
+
+    @Benchmark
+    public void writeBody(Blackhole blackhole) throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        new HtmlReportWriter(stringWriter, results, licenseSummary, licenseIndex).writeBody(tree);
+        blackhole.consume(stringWriter.toString());
+    }
+
+    @Benchmark
+    public void writeBodyToSink(final Blackhole blackhole) throws IOException {
+        Sink sink = (Sink) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Sink.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        blackhole.consume(args);
+                        return null;
+                    }
+                });
+        try (SinkWriter writer = new SinkWriter(sink)) {
+            new HtmlReportWriter(writer, results, licenseSummary, licenseIndex).writeBody(tree);
+        }
+    }
+}
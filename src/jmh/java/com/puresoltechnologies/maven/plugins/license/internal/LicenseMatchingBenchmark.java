@@ -0,0 +1,144 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.model.License;
+import org.apache.maven.plugin.MojoFailureException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+
+/**
+ * This class contains the JMH benchmarks for the license matching of
+ * {@link LicensePolicy} with large synthetic policies. The aliases and the
+ * approved dependencies are distributed evenly over the licenses. The artifacts
+ * validated are a mix of artifacts with license names, aliases and unknown
+ * licenses and of artifacts which are approved explicitly. All scores are given
+ * per artifact.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LicenseMatchingBenchmark {
+
+    private static final int ARTIFACTS = 1000;
+
+    @Param({ "10", "100", "1000" })
+    public int licenseCount;
+
+    @Param({ "10000" })
+    public int aliasCount;
+
+    @Param({ "5000" })
+    public int approvedDependencyCount;
+
+    private LicensePolicy policy;
+    private ArtifactInformation[] artifacts;
+    private List<List<DeclaredLicense>> artifactLicenses;
+    private String[] licenseNames;
+
+    @Setup
+    public void setup() throws MalformedURLException, MojoFailureException {
+        List<Set<String>> aliases = new ArrayList<>();
+        List<Set<String>> approvedDependencies = new ArrayList<>();
+        for (int i = 0; i < licenseCount; i++) {
+            aliases.add(new HashSet<String>());
+            approvedDependencies.add(new HashSet<String>());
+        }
+        for (int i = 0; i < aliasCount; i++) {
+            aliases.get(i % licenseCount).add("License Alias " + i);
+        }
+        for (int i = 0; i < approvedDependencyCount; i++) {
+            approvedDependencies.get(i % licenseCount).add("org\\.vendor" + i + "\\..*:.*:.*");
+        }
+        Set<KnownLicense> knownLicenses = new HashSet<>();
+        for (int i = 0; i < licenseCount; i++) {
+            knownLicenses.add(new KnownLicense("License " + i, new URL("http://licenses.test/" + i), true,
+                    aliases.get(i), approvedDependencies.get(i)));
+        }
+        policy = LicensePolicy.compile(knownLicenses);
+
+        InternDictionary dictionary = new InternDictionary();
+        artifacts = new ArtifactInformation[ARTIFACTS];
+        artifactLicenses = new ArrayList<>(ARTIFACTS);
+        licenseNames = new String[ARTIFACTS];
+        for (int i = 0; i < ARTIFACTS; i++) {
+            String groupId;
+            String licenseName;
+            switch (i % 4) {
+            case 0:
+                groupId = "org.test" + i;
+                licenseName = "License " + (i % licenseCount);
+                break;
+            case 1:
+                groupId = "org.test" + i;
+                licenseName = "License Alias " + (i % aliasCount);
+                break;
+            case 2:
+                groupId = "org.test" + i;
+                licenseName = "Unknown License " + i;
+                break;
+            default:
+                // approved by the last patterns to get the worst case of a linear scan
+                groupId = "org.vendor" + (approvedDependencyCount - 1 - (i % approvedDependencyCount)) + ".sub";
+                licenseName = "Unknown License " + i;
+                break;
+            }
+            artifacts[i] = new ArtifactInformation(groupId, "artifact" + i, "1.0.0", null, "jar", "compile");
+            License license = new License();
+            license.setName(licenseName);
+            license.setUrl("http://licenses.test/original/" + i);
+            artifactLicenses.add(dictionary.declaredLicenses(Collections.singletonList(license)));
+            licenseNames[i] = licenseName;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ARTIFACTS)
+    public void validate(Blackhole blackhole) {
+        for (int i = 0; i < ARTIFACTS; i++) {
+            blackhole.consume(policy.validate(artifacts[i], artifactLicenses.get(i)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ARTIFACTS)
+    public void findKnownLicense(Blackhole blackhole) {
+        for (int i = 0; i < ARTIFACTS; i++) {
+            blackhole.consume(policy.findKnownLicense(licenseNames[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ARTIFACTS)
+    public void findApprovedLicense(Blackhole blackhole) {
+        for (int i = 0; i < ARTIFACTS; i++) {
+            blackhole.consume(policy.findApprovedLicense(artifacts[i]));
+        }
+    }
+}
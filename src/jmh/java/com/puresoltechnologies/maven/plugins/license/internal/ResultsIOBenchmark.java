@@ -0,0 +1,207 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+/**
+ * This class contains the JMH benchmarks for reading and writing the results
+ * file (licenses.csv). Every benchmark processes a complete file with the given
+ * number of rows, so the scores are the times per file. The benchmarks are run
+ * with the 'benchmarks' profile, which enables the GC profiler to report the
+ * allocation rate per operation.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ResultsIOBenchmark {
+
+    private static final Log LOG = new SystemStreamLog();
+
+    private static final String[] LICENSE_NAMES = { "The Apache Software License, Version 2.0", "MIT License",
+            "BSD 3-Clause License", "Eclipse Public License 1.0", "GNU Lesser General Public License" };
+
+    /**
+     * Creates the results of a synthetic results file. Every row belongs to
+     * another artifact, the licenses are taken from a small set of license names
+     * like in real projects.
+     */
+    static List<ValidationResult> createResults(int rows) throws MalformedURLException {
+        List<KnownLicense> licenses = new ArrayList<>();
+        for (String licenseName : LICENSE_NAMES) {
+            licenses.add(new KnownLicense(licenseName, new URL("http://opensource.org/licenses/" + licenses.size()),
+                    true, Collections.<String>emptySet(), Collections.<String>emptySet()));
+        }
+        URL originalURL = new URL("http://opensource.org/");
+        List<ValidationResult> results = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            ArtifactInformation artifactInformation = new ArtifactInformation("org.test.group" + (i % 100),
+                    "artifact" + i, "1." + (i % 10) + ".0", null, "jar", "compile");
+            KnownLicense license = licenses.get(i % licenses.size());
+            results.add(new ValidationResult(artifactInformation, license, license.getName(), originalURL,
+                    "license is approved", true));
+        }
+        return results;
+    }
+
+    /**
+     * Contains the results to be written.
+     */
+    @State(Scope.Benchmark)
+    public static class WriteState {
+
+        @Param({ "1000", "100000", "1000000" })
+        public int rows;
+
+        List<ValidationResult> results;
+
+        @Setup
+        public void setup() throws MalformedURLException {
+            results = createResults(rows);
+        }
+    }
+
+    /**
+     * Contains the encoded results file to be read.
+     */
+    @State(Scope.Benchmark)
+    public static class ReadState {
+
+        @Param({ "1000", "100000", "1000000" })
+        public int rows;
+
+        byte[] content;
+
+        @Setup
+        public void setup() throws IOException, MojoExecutionException {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            try (Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
+                for (ValidationResult result : createResults(rows)) {
+                    IOUtilities.writeResult(writer, result);
+                }
+            }
+            content = outputStream.toByteArray();
+        }
+
+        BufferedReader createReader() {
+            return new BufferedReader(
+                    new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Contains the lines of a results file to be split.
+     */
+    @State(Scope.Benchmark)
+    public static class SplitState {
+
+        @Param({ "1000", "100000", "1000000" })
+        public int rows;
+
+        String[] lines;
+
+        @Setup
+        public void setup() throws IOException, MojoExecutionException {
+            ReadState readState = new ReadState();
+            readState.rows = rows;
+            readState.setup();
+            List<String> lineList = new ArrayList<>(rows);
+            try (BufferedReader reader = readState.createReader()) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineList.add(line);
+                }
+            }
+            lines = lineList.toArray(new String[lineList.size()]);
+        }
+    }
+
+    /**
+     * This is a {@link Writer} which discards everything, so that only the
+     * formatting is measured.
+     */
+    private static class NullWriter extends Writer {
+
+        private long count = 0;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void write(String str) {
+            count += str.length();
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Benchmark
+    public void split(SplitState state, Blackhole blackhole) {
+        for (String line : state.lines) {
+            blackhole.consume(IOUtilities.split(line));
+        }
+    }
+
+    @Benchmark
+    public void writeResult(WriteState state, Blackhole blackhole) throws MojoExecutionException {
+        NullWriter writer = new NullWriter();
+        for (ValidationResult result : state.results) {
+            IOUtilities.writeResult(writer, result);
+        }
+        blackhole.consume(writer.count);
+    }
+
+    @Benchmark
+    public void readResult(ReadState state, Blackhole blackhole) throws IOException, MojoExecutionException {
+        InternDictionary dictionary = new InternDictionary();
+        try (BufferedReader reader = state.createReader()) {
+            ValidationResult result;
+            while ((result = IOUtilities.readResult(LOG, reader, dictionary)) != null) {
+                blackhole.consume(result);
+            }
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package com.puresoltechnologies.maven.plugins.license;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.Locale;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.repository.ArtifactRepository;
-import org.apache.maven.model.Dependency;
-import org.apache.maven.model.License;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.descriptor.PluginDescriptor;
@@ -18,9 +26,20 @@ import org.apache.maven.project.MavenProjectBuilder;
 import org.apache.maven.project.ProjectBuildingException;
 import org.apache.maven.settings.Settings;
 
+import com.puresoltechnologies.maven.plugins.license.internal.ArtifactMetadata;
 import com.puresoltechnologies.maven.plugins.license.internal.ArtifactUtilities;
+import com.puresoltechnologies.maven.plugins.license.internal.DeclaredDependency;
+import com.puresoltechnologies.maven.plugins.license.internal.DeclaredLicense;
 import com.puresoltechnologies.maven.plugins.license.internal.DependencyTree;
 import com.puresoltechnologies.maven.plugins.license.internal.DependencyUtilities;
+import com.puresoltechnologies.maven.plugins.license.internal.EventRecorder;
+import com.puresoltechnologies.maven.plugins.license.internal.EventRecorders;
+import com.puresoltechnologies.maven.plugins.license.internal.IOUtilities;
+import com.puresoltechnologies.maven.plugins.license.internal.InternDictionary;
+import com.puresoltechnologies.maven.plugins.license.internal.LatencyHistogram;
+import com.puresoltechnologies.maven.plugins.license.internal.Metrics;
+import com.puresoltechnologies.maven.plugins.license.internal.ProgressReporter;
+import com.puresoltechnologies.maven.plugins.license.internal.SlowestArtifacts;
 
 /**
  * This abstract class provides basic functionality for all license validations.
@@ -53,6 +72,50 @@ public abstract class AbstractValidationMojo extends AbstractMojo {
     @Parameter(required = false, defaultValue = "${localRepository}", readonly = true)
     private ArtifactRepository localRepository;
 
+    /**
+     * This parameter specifies the number of artifacts with the slowest POM
+     * resolution to be logged after the dependencies were loaded. 0 switches the
+     * list off.
+     */
+    @Parameter(alias = "slowestArtifacts", required = false, defaultValue = "10")
+    private int slowestArtifacts = 10;
+
+    /**
+     * This parameter specifies the interval in seconds in which the progress of
+     * the dependency resolution is logged. 0 switches the progress off.
+     */
+    @Parameter(property = "license.progressInterval", alias = "progressInterval", required = false,
+            defaultValue = "10")
+    private int progressInterval = 10;
+
+    /**
+     * This dictionary is used to canonicalize all artifact information and result
+     * values within a single execution.
+     */
+    private InternDictionary dictionary = new InternDictionary();
+
+    /**
+     * This field contains the timings and counters of the current execution.
+     */
+    private Metrics metrics = new Metrics();
+
+    /**
+     * This field contains the recorder for profiling events.
+     */
+    private final EventRecorder eventRecorder = EventRecorders.get();
+
+    /**
+     * This field contains the latencies of all POM resolutions.
+     */
+    private LatencyHistogram resolutionLatencies = new LatencyHistogram();
+
+    /**
+     * This field contains the artifacts with the slowest POM resolutions. It is
+     * created on the first resolution, because the parameters are injected after
+     * construction.
+     */
+    private SlowestArtifacts slowestResolutions = null;
+
     /**
      * This method returns the current {@link MavenProject}.
      *
@@ -63,20 +126,209 @@ public abstract class AbstractValidationMojo extends AbstractMojo {
         return mavenProject;
     }
 
+    /**
+     * This method returns the version of this plugin.
+     *
+     * @return A {@link String} is returned containing the version or
+     *         <code>null</code> if the plugin descriptor is not available.
+     */
+    protected final String getPluginVersion() {
+        return plugin != null ? plugin.getVersion() : null;
+    }
+
+    /**
+     * This method returns the remote repositories the POMs are built from.
+     * Subclasses can override it to resolve with other repositories.
+     *
+     * @return A {@link List} of {@link ArtifactRepository} is returned.
+     */
+    protected List<ArtifactRepository> getRemoteArtifactRepositories() {
+        return remoteArtifactRepositories;
+    }
+
+    /**
+     * This method returns the {@link InternDictionary} of the current execution.
+     *
+     * @return A {@link InternDictionary} is returned which is shared by all
+     *         dependency tree nodes and results of this execution.
+     */
+    protected final InternDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * This method returns the {@link Metrics} of the current execution.
+     *
+     * @return A {@link Metrics} object is returned.
+     */
+    protected final Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * This method starts a new execution within the same mojo instance. The
+     * {@link InternDictionary}, the {@link Metrics} and the resolution latencies
+     * are replaced, so a long-running goal like the daemon neither accumulates
+     * them across its requests nor reports the sums of all requests.
+     */
+    protected final void resetExecution() {
+        dictionary = new InternDictionary();
+        metrics = new Metrics();
+        resolutionLatencies = new LatencyHistogram();
+        slowestResolutions = null;
+    }
+
+    /**
+     * This method returns the {@link EventRecorder} for profiling events.
+     *
+     * @return An {@link EventRecorder} is returned.
+     */
+    protected final EventRecorder getEventRecorder() {
+        return eventRecorder;
+    }
+
+    /**
+     * This method writes the {@link Metrics} of the current execution as one-line
+     * summary into the log and as JSON file into the given directory. A failure is
+     * only logged, because metrics must not break the build.
+     *
+     * @param goal      is the name of the goal executed.
+     * @param directory is the directory to write the metrics file to.
+     */
+    protected final void writeMetrics(String goal, File directory) {
+        writeMetrics(goal, directory, Metrics.getFileName(goal));
+    }
+
+    /**
+     * This method writes the {@link Metrics} of the current execution like
+     * {@link #writeMetrics(String, File)}, but into a file with the given name.
+     *
+     * @param goal      is the name of the goal executed.
+     * @param directory is the directory to write the metrics file to.
+     * @param fileName  is the name of the metrics file.
+     */
+    protected final void writeMetrics(String goal, File directory, String fileName) {
+        getLog().info(metrics.getSummary(goal));
+        File metricsFile = new File(directory, fileName);
+        try {
+            IOUtilities.createDirectoryIfNotPresent(getLog(), directory);
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(metricsFile), StandardCharsets.UTF_8)) {
+                metrics.write(writer, goal);
+            }
+        } catch (IOException | MojoExecutionException e) {
+            getLog().warn("Could not write metrics file '" + metricsFile + "'.", e);
+        }
+    }
+
+    /**
+     * This method is called for every dependency found during
+     * {@link #loadArtifacts(boolean, boolean, boolean, boolean)}. If it returns
+     * <code>true</code>, the POM of the artifact is not resolved and the artifact
+     * is added as leaf without dependencies and licenses. The default
+     * implementation resolves all artifacts.
+     *
+     * @param artifact is the {@link Artifact} to be resolved.
+     * @return <code>true</code> is returned if the resolution is to be skipped.
+     */
+    protected boolean isResolutionSkipped(Artifact artifact) {
+        return false;
+    }
+
     private DependencyTree createTreeNode(Artifact artifact) {
+        ArtifactMetadata metadata = resolveMetadata(artifact);
+        if (metadata == null) {
+            return null;
+        }
+        return new DependencyTree(artifact, dictionary.artifactInformation(artifact), metadata.getDependencies(),
+                metadata.getLicenses());
+    }
+
+    /**
+     * This method resolves the declared dependencies and licenses of an artifact.
+     * The default implementation builds the POM of the artifact with
+     * {@link #buildMetadata(Artifact)}. Subclasses can override it to use cached
+     * metadata.
+     *
+     * @param artifact is the {@link Artifact} to be resolved.
+     * @return The {@link ArtifactMetadata} is returned. <code>null</code> is
+     *         returned if the POM could not be built.
+     */
+    protected ArtifactMetadata resolveMetadata(Artifact artifact) {
+        return buildMetadata(artifact);
+    }
+
+    /**
+     * This method builds the POM of an artifact out of the repositories and
+     * extracts the declared dependencies and licenses.
+     *
+     * @param artifact is the {@link Artifact} to be resolved.
+     * @return The {@link ArtifactMetadata} is returned. <code>null</code> is
+     *         returned if the POM could not be built.
+     */
+    protected final ArtifactMetadata buildMetadata(Artifact artifact) {
         MavenProject parentArtifactProject;
+        metrics.increment("pomBuilds");
+        Object event = eventRecorder.beginResolution();
+        long start = System.nanoTime();
         try {
-            parentArtifactProject = mavenProjectBuilder.buildFromRepository(artifact, remoteArtifactRepositories,
+            parentArtifactProject = mavenProjectBuilder.buildFromRepository(artifact, getRemoteArtifactRepositories(),
                     localRepository);
+            recordResolutionLatency(artifact, System.nanoTime() - start);
+            eventRecorder.commitResolution(event, artifact, true);
         } catch (ProjectBuildingException e) {
+            recordResolutionLatency(artifact, System.nanoTime() - start);
+            eventRecorder.commitResolution(event, artifact, false);
+            metrics.increment("pomBuildFailures");
             getLog().warn("Could not load artifacts recursively. For artifact '" + ArtifactUtilities.toString(artifact)
                     + "' the project creation failed.", e);
             return null;
         }
-        List<Dependency> dependencies = parentArtifactProject.getDependencies();
-        List<License> licenses = parentArtifactProject.getLicenses();
-        return new DependencyTree(artifact, dependencies, licenses);
+        // only the compact records are kept, so the Maven model can be collected
+        List<DeclaredDependency> dependencies = dictionary
+                .declaredDependencies(parentArtifactProject.getDependencies());
+        List<DeclaredLicense> licenses = dictionary.declaredLicenses(parentArtifactProject.getLicenses());
+        return new ArtifactMetadata(dependencies, licenses);
+    }
+
+    private void recordResolutionLatency(Artifact artifact, long nanos) {
+        resolutionLatencies.record(nanos);
+        if (slowestResolutions == null) {
+            slowestResolutions = new SlowestArtifacts(slowestArtifacts);
+        }
+        slowestResolutions.record(ArtifactUtilities.toString(artifact), nanos);
+    }
+
+    /**
+     * This method logs the percentiles of the POM resolution latencies and the
+     * slowest artifacts. The percentiles are also added to the {@link Metrics} in
+     * micro seconds.
+     */
+    private void logResolutionLatencies() {
+        if (resolutionLatencies.getCount() == 0) {
+            return;
+        }
+        long p50 = resolutionLatencies.getPercentile(50.0);
+        long p95 = resolutionLatencies.getPercentile(95.0);
+        long p99 = resolutionLatencies.getPercentile(99.0);
+        metrics.add("resolutionP50Micros", p50);
+        metrics.add("resolutionP95Micros", p95);
+        metrics.add("resolutionP99Micros", p99);
+        metrics.add("resolutionMaxMicros", resolutionLatencies.getMax());
+        Log log = getLog();
+        log.info("POM resolution latencies (" + resolutionLatencies.getCount() + " POMs): p50="
+                + formatMicros(p50) + ", p95=" + formatMicros(p95) + ", p99=" + formatMicros(p99) + ", max="
+                + formatMicros(resolutionLatencies.getMax()));
+        List<SlowestArtifacts.Entry> entries = slowestResolutions.getEntries();
+        if (!entries.isEmpty()) {
+            log.info("Slowest POM resolutions:");
+            for (SlowestArtifacts.Entry entry : entries) {
+                log.info("    " + formatMicros(entry.getNanos() / 1000) + "  " + entry.getArtifact());
+            }
+        }
+    }
 
+    private static String formatMicros(long micros) {
+        return String.format(Locale.US, "%.1fms", micros / 1000.0);
     }
 
     /**
@@ -99,38 +351,77 @@ public abstract class AbstractValidationMojo extends AbstractMojo {
      */
     protected DependencyTree loadArtifacts(boolean recursive, boolean skipTestScope, boolean skipProvidedScope,
             boolean skipOptionals) throws MojoExecutionException {
-        Artifact artifact = mavenProject.getArtifact();
-        DependencyTree treeRoot = createTreeNode(artifact);
-        if (treeRoot != null) {
-            processArtifact(0, treeRoot, artifact, recursive, skipTestScope, skipProvidedScope, skipOptionals);
+        return loadArtifacts(mavenProject.getArtifact(), recursive, skipTestScope, skipProvidedScope, skipOptionals);
+    }
+
+    /**
+     * This method retrieves all artifacts starting at the given root artifact. See
+     * {@link #loadArtifacts(boolean, boolean, boolean, boolean)} for the
+     * parameters.
+     *
+     * @param rootArtifact is the {@link Artifact} to start at.
+     * @return A {@link DependencyTree} is returned containing the artifacts found.
+     * @throws MojoExecutionException is thrown in cases of issues.
+     */
+    protected DependencyTree loadArtifacts(Artifact rootArtifact, boolean recursive, boolean skipTestScope,
+            boolean skipProvidedScope, boolean skipOptionals) throws MojoExecutionException {
+        try (Metrics.Timer timer = metrics.time("resolution");
+                ProgressReporter progress = new ProgressReporter(getLog(), progressInterval)) {
+            DependencyTree treeRoot = createTreeNode(rootArtifact);
+            if (treeRoot != null) {
+                Deque<DependencyTree> pending = new ArrayDeque<>();
+                pending.push(treeRoot);
+                long nodes = 0;
+                while (!pending.isEmpty()) {
+                    DependencyTree artifactNode = pending.pop();
+                    nodes++;
+                    processArtifact(artifactNode, pending, recursive, skipTestScope, skipProvidedScope,
+                            skipOptionals);
+                    progress.update(nodes, metrics.getCount("pomBuilds"), dictionary.getArtifactCount(),
+                            pending.size());
+                }
+                metrics.add("nodesVisited", nodes);
+            }
+            return treeRoot;
+        } finally {
+            logResolutionLatencies();
         }
-        return treeRoot;
     }
 
     /**
-     * Loads the artifact recursively.
+     * Loads the direct dependencies of an artifact node and puts the newly created
+     * child nodes onto the stack of pending nodes. The dependencies are processed
+     * with an explicit stack instead of recursion, so that deep dependency graphs
+     * cannot overflow the call stack.
      *
-     * @param artifact
+     * @param artifactNode  is the {@link DependencyTree} node to be processed.
+     * @param pending       is the stack of nodes still to be processed.
      * @param recursive     specified whether all dependencies should be loaded
      *                      recursively.
      * @param skipTestScope specified whether to skip test scoped artifacts or not.
-     * @return A {@link DependencyTree} object is returned.
      * @throws MojoExecutionException is thrown if anything unexpected goes wrong.
      */
-    private void processArtifact(int depth, DependencyTree artifactNode, Artifact artifact, boolean recursive,
+    private void processArtifact(DependencyTree artifactNode, Deque<DependencyTree> pending, boolean recursive,
             boolean skipTestScope, boolean skipProvidedScope, boolean skipOptionals) throws MojoExecutionException {
-        List<Dependency> dependencies = artifactNode.getDependencies();
-        if ((dependencies != null) && ((recursive) || (artifact == mavenProject.getArtifact()))) {
-            for (Dependency dependency : dependencies) {
+        Artifact artifact = artifactNode.getArtifact();
+        List<DeclaredDependency> dependencies = artifactNode.getDependencies();
+        if ((dependencies != null) && ((recursive) || (artifactNode.getParent() == null))) {
+            int depth = getLog().isDebugEnabled() ? getDepth(artifactNode) : 0;
+            for (DeclaredDependency dependency : dependencies) {
                 processDependency(depth, artifactNode, artifact, dependency, recursive, skipTestScope,
                         skipProvidedScope, skipOptionals);
             }
+            List<DependencyTree> children = artifactNode.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                pending.push(children.get(i));
+            }
         }
+        artifactNode.releaseDependencies();
     }
 
-    private void processDependency(int depth, DependencyTree artifactNode, Artifact artifact, Dependency dependency,
-            boolean recursive, boolean skipTestScope, boolean skipProvidedScope, boolean skipOptionals)
-            throws MojoExecutionException {
+    private void processDependency(int depth, DependencyTree artifactNode, Artifact artifact,
+            DeclaredDependency dependency, boolean recursive, boolean skipTestScope, boolean skipProvidedScope,
+            boolean skipOptionals) throws MojoExecutionException {
         Log log = getLog();
         StringBuffer buffer = new StringBuffer();
         if (log.isDebugEnabled()) {
@@ -157,22 +448,42 @@ public abstract class AbstractValidationMojo extends AbstractMojo {
             return;
         }
         if (hasCycle(artifactNode, dependency)) {
+            metrics.increment("cyclesFound");
             if (log.isDebugEnabled()) {
                 log.debug(buffer.toString() + " >> cylce found and needs to be skipped");
             }
             return;
         }
         Artifact dependencyArtifact = DependencyUtilities.buildArtifact(artifact, dependency);
-        DependencyTree dependencyNode = createTreeNode(dependencyArtifact);
+        DependencyTree dependencyNode;
+        if (isResolutionSkipped(dependencyArtifact)) {
+            metrics.increment("resolutionsSkipped");
+            if (log.isDebugEnabled()) {
+                log.debug(buffer.toString() + " >> resolution is skipped");
+            }
+            dependencyNode = new DependencyTree(dependencyArtifact, dictionary.artifactInformation(dependencyArtifact),
+                    Collections.<DeclaredDependency>emptyList(), Collections.<DeclaredLicense>emptyList());
+        } else {
+            dependencyNode = createTreeNode(dependencyArtifact);
+        }
         if (dependencyNode != null) {
             artifactNode.addChildNode(dependencyNode);
-            processArtifact(depth + 1, dependencyNode, dependencyArtifact, recursive, skipTestScope, skipProvidedScope,
-                    skipOptionals);
         }
+    }
 
+    /**
+     * Returns the depth of a node within the tree. It is only used for
+     * indentation in debug output.
+     */
+    private int getDepth(DependencyTree node) {
+        int depth = 0;
+        for (DependencyTree parent = node.getParent(); parent != null; parent = parent.getParent()) {
+            depth++;
+        }
+        return depth;
     }
 
-    private boolean hasCycle(DependencyTree dependencyTree, Dependency dependency) {
+    private boolean hasCycle(DependencyTree dependencyTree, DeclaredDependency dependency) {
         String dependencyString = ArtifactUtilities.toString(dependency);
         Log log = getLog();
         List<DependencyTree> path = new ArrayList<>();
@@ -0,0 +1,147 @@
+package com.puresoltechnologies.maven.plugins.license;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import com.puresoltechnologies.maven.plugins.license.internal.HtmlReportWriter;
+import com.puresoltechnologies.maven.plugins.license.internal.IOUtilities;
+import com.puresoltechnologies.maven.plugins.license.internal.InternDictionary;
+import com.puresoltechnologies.maven.plugins.license.internal.ResultsMerger;
+
+/**
+ * This maven mojo merges the results of the 'verify' goal runs of all modules
+ * of a reactor build into a single deduplicated report. The results are merged
+ * in memory keyed by artifact, so the memory used depends on the number of
+ * unique artifacts and not on the number of modules.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@Mojo(//
+        name = "aggregate-report", //
+        aggregator = true, //
+        requiresDirectInvocation = false, //
+        requiresProject = true, //
+        requiresReports = false, //
+        requiresOnline = false, //
+        inheritByDefault = false, //
+        threadSafe = true //
+)
+public class AggregateReportMojo extends AbstractMojo {
+
+    /**
+     * This is the name of the aggregated report file.
+     */
+    public static final String AGGREGATED_REPORT_FILE = "aggregated-licenses-report.html";
+
+    /**
+     * Contains all projects of the current reactor build.
+     */
+    @Parameter(defaultValue = "${reactorProjects}", required = true, readonly = true)
+    private List<MavenProject> reactorProjects;
+
+    /**
+     * Specifies the destination directory where the aggregated report, the merged
+     * results and the license index are to be saved to.
+     */
+    @Parameter(property = "destDir", alias = "destDir", defaultValue = "${project.build.directory}/licenses-aggregate", required = true)
+    private File outputDirectory;
+
+    /**
+     * Specifies the name of the results directory within the build directory of
+     * each module.
+     */
+    @Parameter(alias = "resultsDirectoryName", required = false, defaultValue = "licenses")
+    private String resultsDirectoryName;
+
+    /**
+     * Specifies whether or not the goal fails if a module has no results.
+     * Otherwise, modules without results are skipped with a warning.
+     */
+    @Parameter(alias = "failOnMissingResults", required = false, defaultValue = "false")
+    private boolean failOnMissingResults;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        ResultsMerger merger = new ResultsMerger(getLog(), new InternDictionary());
+        List<String> modules = new ArrayList<>();
+        for (MavenProject project : reactorProjects) {
+            File resultsDirectory = new File(project.getBuild().getDirectory(), resultsDirectoryName);
+            File resultsFile = new File(resultsDirectory, IOUtilities.LICENSE_RESULTS_FILE);
+            String module = project.getGroupId() + ":" + project.getArtifactId() + ":" + project.getVersion();
+            if (!resultsFile.isFile()) {
+                if (failOnMissingResults) {
+                    throw new MojoFailureException("No license results found for module '" + module + "' in '"
+                            + resultsFile + "'.");
+                }
+                getLog().warn("No license results found for module '" + module + "'. Skipping it.");
+                continue;
+            }
+            merger.merge(resultsFile);
+            modules.add(module);
+        }
+        getLog().info("Merged " + merger.getReadResults() + " results of " + modules.size() + " modules into "
+                + merger.getMergedResults() + " unique results for " + merger.getResults().size() + " artifacts.");
+        writeResults(merger);
+        writeReport(merger, modules);
+    }
+
+    /**
+     * Writes the merged results and the license index into
+     * {@link #outputDirectory}.
+     *
+     * @param merger is the {@link ResultsMerger} containing the merged results.
+     * @throws MojoExecutionException is thrown in case the files could not be
+     *                                written.
+     */
+    private void writeResults(ResultsMerger merger) throws MojoExecutionException {
+        File resultsFile = IOUtilities.createNewResultsFile(getLog(), outputDirectory);
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(resultsFile), Charset.defaultCharset()))) {
+            merger.write(writer);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not write merged results to '" + resultsFile + "'.", e);
+        }
+        File indexFile = new File(outputDirectory, IOUtilities.LICENSE_INDEX_FILE);
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(indexFile), Charset.defaultCharset()))) {
+            merger.getLicenseIndex().write(writer);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not write license index file '" + indexFile + "'.", e);
+        }
+    }
+
+    /**
+     * Writes the aggregated HTML report into {@link #outputDirectory}.
+     *
+     * @param merger  is the {@link ResultsMerger} containing the merged results.
+     * @param modules is a {@link List} of the modules merged.
+     * @throws MojoExecutionException is thrown in case the report could not be
+     *                                written.
+     */
+    private void writeReport(ResultsMerger merger, List<String> modules) throws MojoExecutionException {
+        File reportFile = new File(outputDirectory, AGGREGATED_REPORT_FILE);
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(reportFile), StandardCharsets.UTF_8), 64 * 1024)) {
+            new HtmlReportWriter(writer, merger.getResults(), null, merger.getLicenseIndex()).writeAggregate(modules,
+                    merger.getSortedArtifacts());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not write aggregated report to '" + reportFile + "'.", e);
+        }
+        getLog().info("Aggregated license report was written to '" + reportFile + "'.");
+    }
+}
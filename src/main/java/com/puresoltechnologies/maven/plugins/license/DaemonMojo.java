@@ -0,0 +1,236 @@
+package com.puresoltechnologies.maven.plugins.license;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import com.puresoltechnologies.maven.plugins.license.internal.ArtifactMetadata;
+import com.puresoltechnologies.maven.plugins.license.internal.ArtifactUtilities;
+import com.puresoltechnologies.maven.plugins.license.internal.DaemonProtocol;
+import com.puresoltechnologies.maven.plugins.license.internal.DaemonRequest;
+import com.puresoltechnologies.maven.plugins.license.internal.DaemonResponse;
+import com.puresoltechnologies.maven.plugins.license.internal.DaemonServer;
+import com.puresoltechnologies.maven.plugins.license.internal.DeclaredDependency;
+import com.puresoltechnologies.maven.plugins.license.internal.DependencyTree;
+
+/**
+ * This maven mojo starts the license daemon. It keeps running and resolves the
+ * dependency trees requested by the 'verify' goal with
+ * <code>-Dlicense.daemon=true</code>. The metadata read from the POMs of
+ * released artifacts is kept between the requests, so repeated validations do
+ * not need to build the same POMs again. The daemon only listens on the
+ * loopback interface and only answers clients which know the token it writes
+ * to ~/.m2/license-daemon-&lt;port&gt;.token. It is stopped with Ctrl+C.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@Mojo(//
+        name = "daemon", //
+        requiresDirectInvocation = true, //
+        requiresProject = false, //
+        requiresReports = false, //
+        requiresOnline = false, //
+        inheritByDefault = false, //
+        threadSafe = false //
+)
+public class DaemonMojo extends AbstractValidationMojo implements DaemonServer.Handler {
+
+    /**
+     * This parameter specifies the port of the loopback interface the daemon
+     * listens on.
+     */
+    @Parameter(property = "license.daemonPort", alias = "daemonPort", required = false,
+            defaultValue = "48650")
+    private int daemonPort = DaemonProtocol.DEFAULT_PORT;
+
+    /**
+     * This parameter specifies the maximum number of artifacts whose metadata is
+     * kept. The least recently used metadata is dropped first. 0 switches the
+     * cache off.
+     */
+    @Parameter(property = "license.daemonCacheSize", alias = "daemonCacheSize", required = false,
+            defaultValue = "50000")
+    private int daemonCacheSize = 50000;
+
+    /**
+     * This is the cache of the metadata of released artifacts. It drops the least
+     * recently used metadata if it grows beyond its size.
+     */
+    private static class MetadataCache extends LinkedHashMap<String, ArtifactMetadata> {
+
+        private static final long serialVersionUID = -3969431370311287493L;
+
+        private final int size;
+
+        private MetadataCache(int size) {
+            super(16, 0.75f, true);
+            this.size = size;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ArtifactMetadata> eldest) {
+            return size() > size;
+        }
+    }
+
+    /**
+     * Contains the metadata of the released artifacts resolved so far. It is
+     * keyed by the repositories of the request and the coordinates, because Maven
+     * replaces a POM missing in the repositories by an empty one, which must not
+     * be used for requests with other repositories. It is created on the first
+     * request, because the parameters are injected after construction. It stays
+     * <code>null</code> if the cache is switched off.
+     */
+    private MetadataCache metadataCache = null;
+    private boolean metadataCacheConfigured = false;
+
+    private Artifact requestArtifact = null;
+    private ArtifactMetadata requestMetadata = null;
+    private List<ArtifactRepository> requestRepositories = null;
+    private String requestRepositoriesKey = null;
+    private final List<String> requestFailures = new ArrayList<>();
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        String token = DaemonProtocol.createToken();
+        try (DaemonServer server = new DaemonServer(getLog(), daemonPort, token, this)) {
+            File tokenFile = DaemonProtocol.getTokenFile(server.getPort());
+            DaemonProtocol.writeToken(tokenFile, token);
+            try {
+                getLog().info("License daemon is listening on localhost:" + server.getPort() + ".");
+                server.run();
+            } finally {
+                if (!tokenFile.delete()) {
+                    getLog().warn("Could not delete token file '" + tokenFile + "'.");
+                }
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not run license daemon on port " + daemonPort + ".", e);
+        }
+    }
+
+    @Override
+    public DaemonResponse handle(DaemonRequest request) throws MojoExecutionException, MojoFailureException {
+        long start = System.nanoTime();
+        resetExecution();
+        if (!metadataCacheConfigured) {
+            if (daemonCacheSize > 0) {
+                metadataCache = new MetadataCache(daemonCacheSize);
+            } else {
+                getLog().info("Metadata cache is switched off.");
+            }
+            metadataCacheConfigured = true;
+        }
+        DeclaredDependency root = request.getRoot();
+        requestArtifact = new DefaultArtifact(root.getGroupId(), root.getArtifactId(), root.getVersion(),
+                root.getScope(), root.getType(), root.getClassifier(), new DefaultArtifactHandler(root.getType()));
+        requestMetadata = request.getRootMetadata();
+        requestRepositories = getRequestRepositories(request);
+        StringBuilder repositoriesKey = new StringBuilder();
+        for (ArtifactRepository repository : requestRepositories) {
+            repositoriesKey.append(repository.getId()).append(' ').append(repository.getUrl()).append(' ');
+        }
+        requestRepositoriesKey = repositoriesKey.toString();
+        requestFailures.clear();
+        try {
+            DependencyTree dependencyTree = loadArtifacts(requestArtifact, request.isRecursive(),
+                    request.isSkipTestScope(), request.isSkipProvidedScope(), request.isSkipOptionals());
+            DaemonResponse response = DaemonResponse.of(dependencyTree, requestFailures);
+            String message = "Resolved " + response.getNodeCount() + " dependencies of '" + root + "' in "
+                    + ((System.nanoTime() - start) / 1000000) + "ms with " + getMetrics().getCount("pomBuilds")
+                    + " POM builds.";
+            if (metadataCache != null) {
+                message += " The metadata of " + metadataCache.size() + " artifacts is cached.";
+            }
+            getLog().info(message);
+            return response;
+        } finally {
+            requestArtifact = null;
+            requestMetadata = null;
+            requestRepositories = null;
+            requestRepositoriesKey = null;
+        }
+    }
+
+    /**
+     * Creates the repositories of the requesting project. The daemon's own
+     * repository is used instead if it has the same id and URL, because it
+     * carries the authentication and proxy settings of the daemon's
+     * invocation.
+     */
+    private List<ArtifactRepository> getRequestRepositories(DaemonRequest request) {
+        Map<String, ArtifactRepository> ownRepositories = new HashMap<>();
+        for (ArtifactRepository repository : super.getRemoteArtifactRepositories()) {
+            ownRepositories.put(repository.getId() + " " + repository.getUrl(), repository);
+        }
+        List<ArtifactRepository> repositories = new ArrayList<>();
+        for (DaemonRequest.Repository repository : request.getRepositories()) {
+            ArtifactRepository ownRepository = ownRepositories.get(repository.getId() + " " + repository.getUrl());
+            repositories.add(ownRepository != null ? ownRepository : repository.toArtifactRepository());
+        }
+        return repositories;
+    }
+
+    /**
+     * During a request, the POMs are built from the repositories of the
+     * requesting project.
+     */
+    @Override
+    protected List<ArtifactRepository> getRemoteArtifactRepositories() {
+        return requestRepositories != null ? requestRepositories : super.getRemoteArtifactRepositories();
+    }
+
+    /**
+     * The metadata of the project requested is taken from the request. The
+     * metadata of released artifacts is cached unless the cache is switched off.
+     * SNAPSHOT artifacts are always resolved, because their POMs may have
+     * changed.
+     */
+    @Override
+    protected ArtifactMetadata resolveMetadata(Artifact artifact) {
+        if (artifact == requestArtifact) {
+            return requestMetadata;
+        }
+        if (artifact.isSnapshot() || (metadataCache == null)) {
+            return buildRequestMetadata(artifact);
+        }
+        String key = requestRepositoriesKey + artifact.getGroupId() + ":" + artifact.getArtifactId() + ":"
+                + artifact.getVersion() + ":" + artifact.getClassifier() + ":" + artifact.getType();
+        ArtifactMetadata metadata = metadataCache.get(key);
+        if (metadata != null) {
+            getMetrics().increment("metadataCacheHits");
+            return metadata;
+        }
+        getMetrics().increment("metadataCacheMisses");
+        metadata = buildRequestMetadata(artifact);
+        if (metadata != null) {
+            metadataCache.put(key, metadata);
+        }
+        return metadata;
+    }
+
+    /**
+     * Builds the metadata and records the artifact for the response if its POM
+     * could not be built.
+     */
+    private ArtifactMetadata buildRequestMetadata(Artifact artifact) {
+        ArtifactMetadata metadata = buildMetadata(artifact);
+        if (metadata == null) {
+            requestFailures.add(ArtifactUtilities.toString(artifact));
+        }
+        return metadata;
+    }
+}
@@ -0,0 +1,126 @@
+package com.puresoltechnologies.maven.plugins.license;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import com.puresoltechnologies.maven.plugins.license.internal.IOUtilities;
+import com.puresoltechnologies.maven.plugins.license.internal.InternDictionary;
+import com.puresoltechnologies.maven.plugins.license.internal.ResultsMerger;
+import com.puresoltechnologies.maven.plugins.license.internal.ShardUtilities;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+/**
+ * This maven mojo merges the partial results files written by the 'verify' goal
+ * in shard mode into the regular results file. The goal fails if a shard is
+ * missing, if a shard file is malformed or contains artifacts of another shard
+ * and if any shard reported an invalid license.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@Mojo(//
+        name = "merge-shards", //
+        requiresDirectInvocation = false, //
+        requiresProject = true, //
+        requiresReports = false, //
+        requiresOnline = false, //
+        inheritByDefault = true, //
+        threadSafe = true //
+)
+public class MergeShardsMojo extends AbstractMojo {
+
+    /**
+     * Specifies the output directory of the 'verify' goal containing the partial
+     * results files of the shards.
+     */
+    @Parameter(alias = "outputDirectory", required = false, defaultValue = "${project.build.directory}/licenses")
+    private File outputDirectory;
+
+    /**
+     * Specifies the total number of shards the validation was split into.
+     */
+    @Parameter(property = "license.shardCount", alias = "shardCount", required = true)
+    private int shardCount;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (!ShardUtilities.isValidShard(0, shardCount)) {
+            throw new MojoFailureException("Shard count " + shardCount + " is not valid.");
+        }
+        InternDictionary dictionary = new InternDictionary();
+        ResultsMerger merger = new ResultsMerger(getLog(), dictionary);
+        for (int shardIndex = 0; shardIndex < shardCount; shardIndex++) {
+            File shardFile = new File(outputDirectory, ShardUtilities.getResultsFileName(shardIndex, shardCount));
+            if (!shardFile.isFile()) {
+                throw new MojoFailureException("Results of shard " + shardIndex + " of " + shardCount
+                        + " are not present in '" + shardFile + "'.");
+            }
+            mergeShard(merger, dictionary, shardFile, shardIndex);
+        }
+        File resultsFile = IOUtilities.createNewResultsFile(getLog(), outputDirectory);
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(resultsFile), Charset.defaultCharset()))) {
+            merger.write(writer);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not write merged results to '" + resultsFile + "'.", e);
+        }
+        getLog().info("Merged " + merger.getMergedResults() + " results of " + shardCount + " shards for "
+                + merger.getResults().size() + " artifacts into '" + resultsFile + "'.");
+        if (!merger.isValid()) {
+            throw new MojoFailureException("Invalid license(s) was/were found!");
+        }
+    }
+
+    /**
+     * Merges the results of a single shard. Every result needs to belong to the
+     * shard, otherwise the file was written by another shard configuration.
+     *
+     * @param merger     is the {@link ResultsMerger} to merge into.
+     * @param dictionary is the {@link InternDictionary} of the merger.
+     * @param shardFile  is the partial results file of the shard.
+     * @param shardIndex is the index of the shard.
+     * @throws MojoExecutionException is thrown in case the file could not be read.
+     * @throws MojoFailureException   is thrown in case the file is not a valid
+     *                                result of the shard.
+     */
+    private void mergeShard(ResultsMerger merger, InternDictionary dictionary, File shardFile, int shardIndex)
+            throws MojoExecutionException, MojoFailureException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(shardFile), Charset.defaultCharset()))) {
+            for (;;) {
+                ValidationResult validationResult;
+                try {
+                    validationResult = IOUtilities.readResult(getLog(), reader, dictionary);
+                } catch (MojoExecutionException e) {
+                    throw new MojoFailureException("Results of shard " + shardIndex + " of " + shardCount + " in '"
+                            + shardFile + "' are not valid.", e);
+                }
+                if (validationResult == null) {
+                    return;
+                }
+                if (ShardUtilities.getShard(validationResult.getArtifactInformation(), shardCount) != shardIndex) {
+                    throw new MojoFailureException("Results of shard " + shardIndex + " of " + shardCount + " in '"
+                            + shardFile + "' contain artifact '" + validationResult.getArtifactInformation()
+                            + "' of another shard.");
+                }
+                merger.add(validationResult);
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not read results of shard " + shardIndex + " from '" + shardFile
+                    + "'.", e);
+        }
+    }
+}
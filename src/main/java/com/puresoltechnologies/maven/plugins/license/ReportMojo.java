@@ -1,22 +1,31 @@
 package com.puresoltechnologies.maven.plugins.license;
 
-import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.net.URL;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import org.apache.maven.doxia.module.xhtml.decoration.render.RenderingContext;
-import org.apache.maven.doxia.siterenderer.sink.SiteRendererSink;
+import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Execute;
@@ -29,7 +38,16 @@ import org.apache.maven.reporting.MavenReportException;
 import org.codehaus.doxia.sink.Sink;
 
 import com.puresoltechnologies.maven.plugins.license.internal.DependencyTree;
+import com.puresoltechnologies.maven.plugins.license.internal.Fingerprint;
+import com.puresoltechnologies.maven.plugins.license.internal.HtmlReportWriter;
 import com.puresoltechnologies.maven.plugins.license.internal.IOUtilities;
+import com.puresoltechnologies.maven.plugins.license.internal.JsonReportWriter;
+import com.puresoltechnologies.maven.plugins.license.internal.JsonWriter;
+import com.puresoltechnologies.maven.plugins.license.internal.LicenseIndex;
+import com.puresoltechnologies.maven.plugins.license.internal.LicenseSummary;
+import com.puresoltechnologies.maven.plugins.license.internal.Metrics;
+import com.puresoltechnologies.maven.plugins.license.internal.ResultsMerger;
+import com.puresoltechnologies.maven.plugins.license.internal.SinkWriter;
 import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
 import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
 import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
@@ -77,17 +95,77 @@ public class ReportMojo extends AbstractValidationMojo implements MavenReport {
     @Parameter(alias = "skipOptionals", required = false, defaultValue = "false")
     private boolean skipOptionals;
 
+    /**
+     * Specifies whether or not the dependency hierarchy is collapsed. If set, the
+     * dependencies of each artifact are rendered only at its first occurrence and
+     * all later occurrences link to it. This keeps the report small for large
+     * dependency graphs.
+     */
+    @Parameter(alias = "collapseHierarchy", required = false, defaultValue = "false")
+    private boolean collapseHierarchy;
+
+    /**
+     * Specifies the maximum depth of the rendered dependency hierarchy. 0 renders
+     * the hierarchy completely.
+     */
+    @Parameter(alias = "maxHierarchyDepth", required = false, defaultValue = "0")
+    private int maxHierarchyDepth;
+
+    /**
+     * Specifies whether or not the report is split into pages. If set, the report
+     * itself contains the license tables and links to one page per direct
+     * dependency containing the hierarchy of this dependency.
+     */
+    @Parameter(alias = "pagedReport", required = false, defaultValue = "false")
+    private boolean pagedReport;
+
+    /**
+     * Specifies the number of threads used to generate the pages of a paged
+     * report. 0 uses the number of available processors.
+     */
+    @Parameter(alias = "reportThreads", required = false, defaultValue = "0")
+    private int reportThreads;
+
+    /**
+     * Specifies whether or not the report is only generated again if its inputs
+     * have changed. These are the results and settings of the validate run, the
+     * declared dependencies, the report configuration and the plugin version.
+     * Changes of transitive dependencies are only detected through the results
+     * of the validate run, so it is switched off by default.
+     */
+    @Parameter(alias = "incremental", required = false, defaultValue = "false")
+    private boolean incremental;
+
+    /**
+     * Specifies whether or not a JSON version of the report is written next to
+     * the HTML report if the goal is run standalone.
+     */
+    @Parameter(alias = "jsonReport", required = false, defaultValue = "false")
+    private boolean jsonReport;
+
     /**
      * This field is filled in {@link #readResults()} started from
-     * {@link #generate(Sink)} with {@link ValidationResult}s.
+     * {@link #loadReport()} with {@link ValidationResult}s.
+     */
+    private Map<ArtifactInformation, List<ValidationResult>> results = new HashMap<>();
+
+    /**
+     * This field is filled in {@link #readResults()} with the artifacts per
+     * {@link KnownLicense}.
      */
-    private final Map<ArtifactInformation, List<ValidationResult>> results = new HashMap<>();
+    private LicenseIndex licenseIndex = null;
 
     /**
      * This filed is filled with the {@link DependencyTree}.
      */
     private DependencyTree dependencyTree = null;
 
+    /**
+     * This field is filled with the {@link LicenseSummary} aggregated out of
+     * {@link #dependencyTree} and {@link #results}.
+     */
+    private LicenseSummary licenseSummary = null;
+
     /**
      * Specified whether or not the dependencies should be checked recursively. This
      * flag is set with {@link #readSettings()}.
@@ -112,35 +190,274 @@ public class ReportMojo extends AbstractValidationMojo implements MavenReport {
      */
     private boolean skip = true;
 
+    /**
+     * Runs the report standalone outside of a site generation. The report is
+     * written directly as HTML (and optionally JSON) into
+     * {@link #outputDirectory} with {@link HtmlReportWriter}.
+     */
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
         try {
-            RenderingContext context = new RenderingContext(outputDirectory, getOutputName() + ".html");
-            SiteRendererSink sink = new SiteRendererSink(context);
-            Locale locale = Locale.getDefault();
-            generate(sink, locale);
+            readSettings();
+            if (skip) {
+                return;
+            }
+            File htmlFile = new File(outputDirectory, getOutputName() + ".html");
+            File jsonFile = new File(outputDirectory, getOutputName() + ".json");
+            File stateFile = new File(resultsDirectory, getOutputName() + "-standalone.fingerprint");
+            String fingerprint = null;
+            if (incremental) {
+                fingerprint = calculateFingerprint("standalone");
+                if (isUpToDate(stateFile, fingerprint, htmlFile, jsonReport ? jsonFile : htmlFile)) {
+                    getLog().info("License report is up to date.");
+                    getMetrics().increment("reportCacheHits");
+                    return;
+                }
+                getMetrics().increment("reportCacheMisses");
+            }
+            loadReport();
+            getLog().info("Creating standalone report for licenses.");
+            IOUtilities.createDirectoryIfNotPresent(getLog(), outputDirectory);
+            try (Metrics.Timer timer = getMetrics().time("rendering"); Writer writer = createWriter(htmlFile)) {
+                HtmlReportWriter htmlReportWriter = createHtmlReportWriter(writer);
+                if (pagedReport) {
+                    htmlReportWriter.setPageNames(writeDependencyPages());
+                }
+                htmlReportWriter.write(dependencyTree);
+            }
+            if (jsonReport) {
+                try (Metrics.Timer timer = getMetrics().time("json");
+                        JsonWriter writer = new JsonWriter(createWriter(jsonFile))) {
+                    new JsonReportWriter(writer).write(results, licenseSummary);
+                }
+            }
+            if (incremental) {
+                storeState(stateFile, fingerprint);
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not write report into '" + outputDirectory + "'.", e);
         } catch (MavenReportException e) {
             throw new MojoFailureException("An error has occurred in " + getName(Locale.ENGLISH) + " report generation",
                     e);
+        } finally {
+            if (!skip) {
+                writeMetrics("report", resultsDirectory);
+            }
         }
     }
 
+    private static Writer createWriter(File file) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8),
+                64 * 1024);
+    }
+
     @Override
     public boolean canGenerateReport() {
         return true;
     }
 
+    /**
+     * Generates the report for a site generation. The body is rendered with the
+     * same {@link HtmlReportWriter} as the standalone report and streamed into
+     * the sink as raw text in chunks, so it is never kept in memory completely.
+     * If {@link #incremental} is set, the body is kept in
+     * {@link #resultsDirectory} and replayed into the sink as long as the inputs
+     * of the report do not change.
+     */
     @Override
     public void generate(Sink sink, Locale locale) throws MavenReportException {
         try {
             readSettings();
-            if (!skip) {
-                readResults();
-                dependencyTree = loadArtifacts(recursive, skipTestScope, skipProvidedScope, skipOptionals);
-                generate(sink);
+            if (skip) {
+                return;
+            }
+            if (!incremental) {
+                loadReport();
+                try {
+                    openBody(sink);
+                    try (Metrics.Timer timer = getMetrics().time("rendering");
+                            SinkWriter writer = new SinkWriter(sink)) {
+                        renderBody(writer);
+                    }
+                    closeBody(sink);
+                } finally {
+                    sink.close();
+                }
+                return;
+            }
+            File stateFile = new File(resultsDirectory, getOutputName() + "-site.fingerprint");
+            File cacheFile = new File(resultsDirectory, getOutputName() + "-site.cache");
+            String fingerprint = calculateFingerprint("site");
+            if (isUpToDate(stateFile, fingerprint, cacheFile,
+                    new File(outputDirectory, IOUtilities.LICENSE_INDEX_FILE))) {
+                getLog().info("License report is up to date. Reusing the former report.");
+                getMetrics().increment("reportCacheHits");
+                replay(sink, cacheFile);
+                return;
             }
+            getMetrics().increment("reportCacheMisses");
+            loadReport();
+            File temporaryFile = new File(cacheFile.getPath() + ".tmp");
+            try {
+                try (Metrics.Timer timer = getMetrics().time("rendering");
+                        Writer writer = new BufferedWriter(new OutputStreamWriter(
+                                new FileOutputStream(temporaryFile), StandardCharsets.UTF_8))) {
+                    renderBody(writer);
+                }
+                Files.move(temporaryFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporaryFile.toPath());
+            }
+            storeState(stateFile, fingerprint);
+            replay(sink, cacheFile);
+        } catch (IOException e) {
+            throw new MavenReportException("Could not read or write the cached report.", e);
         } catch (MojoExecutionException e) {
             throw new MavenReportException("Could not generate report.", e);
+        } finally {
+            if (!skip) {
+                writeMetrics("report", resultsDirectory);
+            }
+        }
+    }
+
+    /**
+     * Copies a rendered body out of the cache file into the sink.
+     *
+     * @param sink
+     * @param cacheFile is the file containing the rendered body of the report.
+     * @throws IOException is thrown in case the cache file could not be read.
+     */
+    private void replay(Sink sink, File cacheFile) throws IOException {
+        try {
+            openBody(sink);
+            try (Reader reader = new InputStreamReader(new FileInputStream(cacheFile), StandardCharsets.UTF_8);
+                    SinkWriter writer = new SinkWriter(sink)) {
+                writer.copy(reader);
+            }
+            closeBody(sink);
+        } finally {
+            sink.close();
+        }
+    }
+
+    private void openBody(Sink sink) {
+        generateHead(sink);
+        sink.body();
+    }
+
+    private void closeBody(Sink sink) {
+        sink.body_();
+        sink.flush();
+    }
+
+    /**
+     * Loads the results of the former validate run, the dependency tree and the
+     * license summary. The settings need to be read before with
+     * {@link #readSettings()}.
+     *
+     * @throws MojoExecutionException is thrown in case the results could not be
+     *                                read.
+     */
+    private void loadReport() throws MojoExecutionException {
+        Metrics metrics = getMetrics();
+        try (Metrics.Timer timer = metrics.time("readResults")) {
+            readResults();
+        }
+        try (Metrics.Timer timer = metrics.time("licenseIndex")) {
+            writeLicenseIndex();
+        }
+        dependencyTree = loadArtifacts(recursive, skipTestScope, skipProvidedScope, skipOptionals);
+        try (Metrics.Timer timer = metrics.time("summary")) {
+            licenseSummary = LicenseSummary.aggregate(dependencyTree, results);
+        }
+        metrics.add("resultArtifacts", results.size());
+    }
+
+    /**
+     * Calculates the fingerprint over all inputs of the report: the results and
+     * settings of the validate run, the declared dependencies of the project, the
+     * report configuration and the plugin version, because a new version may
+     * render the report differently.
+     *
+     * @param mode is the generation mode which is added to the fingerprint.
+     * @return A {@link String} is returned containing the fingerprint.
+     * @throws MojoExecutionException is thrown in case an input could not be read.
+     */
+    private String calculateFingerprint(String mode) throws MojoExecutionException {
+        try {
+            Fingerprint fingerprint = new Fingerprint();
+            fingerprint.add(mode);
+            fingerprint.add(String.valueOf(getPluginVersion()));
+            fingerprint.add(IOUtilities.getResultsFile(getLog(), resultsDirectory));
+            fingerprint.add(IOUtilities.getSettingsFile(getLog(), resultsDirectory));
+            fingerprint.add(outputDirectory.getAbsolutePath());
+            fingerprint.add(String.valueOf(collapseHierarchy));
+            fingerprint.add(String.valueOf(maxHierarchyDepth));
+            fingerprint.add(String.valueOf(pagedReport));
+            fingerprint.add(String.valueOf(jsonReport));
+            for (Dependency dependency : getMavenProject().getDependencies()) {
+                fingerprint.add(dependency.getManagementKey() + ":" + dependency.getVersion() + ":"
+                        + dependency.getScope() + ":" + dependency.isOptional());
+            }
+            return fingerprint.getValue();
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not calculate fingerprint of the report inputs.", e);
+        }
+    }
+
+    /**
+     * Checks whether the report was already generated for the given fingerprint
+     * and all its output files are still present.
+     *
+     * @param stateFile   is the file containing the state of the former
+     *                    generation.
+     * @param fingerprint is the fingerprint of the current inputs.
+     * @param outputs     are the files which need to be present.
+     * @return <code>true</code> is returned if the report does not need to be
+     *         generated again.
+     */
+    private boolean isUpToDate(File stateFile, String fingerprint, File... outputs) {
+        if (!stateFile.isFile()) {
+            return false;
+        }
+        Properties state = new Properties();
+        try (FileInputStream inputStream = new FileInputStream(stateFile)) {
+            state.load(inputStream);
+        } catch (IOException e) {
+            getLog().warn("Could not read report state '" + stateFile + "'.");
+            return false;
+        }
+        if (!fingerprint.equals(state.getProperty("fingerprint"))) {
+            return false;
+        }
+        for (File output : outputs) {
+            if (!output.isFile()) {
+                return false;
+            }
+        }
+        int pages = Integer.parseInt(state.getProperty("pages", "0"));
+        for (int i = 0; i < pages; i++) {
+            if (!new File(outputDirectory, getPageName(i)).isFile()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stores the state of the current generation.
+     *
+     * @param stateFile   is the file to store the state to.
+     * @param fingerprint is the fingerprint of the current inputs.
+     * @throws IOException is thrown in case the file could not be written.
+     */
+    private void storeState(File stateFile, String fingerprint) throws IOException {
+        Properties state = new Properties();
+        state.setProperty("fingerprint", fingerprint);
+        state.setProperty("pages", String.valueOf(pagedReport ? dependencyTree.getChildren().size() : 0));
+        try (FileOutputStream outputStream = new FileOutputStream(stateFile)) {
+            state.store(outputStream, "license-maven-plugin report state.");
         }
     }
 
@@ -175,45 +492,60 @@ public class ReportMojo extends AbstractValidationMojo implements MavenReport {
      */
     private void readResults() throws MojoExecutionException {
         File resultsFile = IOUtilities.getResultsFile(getLog(), resultsDirectory);
-        try (FileInputStream fileInputStream = new FileInputStream(resultsFile);
-                InputStreamReader inputStreamReader = new InputStreamReader(fileInputStream, Charset.defaultCharset());
-                BufferedReader bufferedReader = new BufferedReader(inputStreamReader);) {
-            results.clear();
-            for (;;) {
-                ValidationResult validationResult = IOUtilities.readResult(getLog(), bufferedReader);
-                if (validationResult == null) {
-                    break;
-                }
-                ArtifactInformation artifactInformation = validationResult.getArtifactInformation();
-                List<ValidationResult> artifactResults = results.get(artifactInformation);
-                if (artifactResults == null) {
-                    artifactResults = new ArrayList<>();
-                    results.put(artifactInformation, artifactResults);
-                }
-                if (!artifactResults.contains(validationResult)) {
-                    artifactResults.add(validationResult);
-                }
-            }
+        ResultsMerger merger = new ResultsMerger(getLog(), getDictionary());
+        merger.merge(resultsFile);
+        results = merger.getResults();
+        licenseIndex = merger.getLicenseIndex();
+    }
+
+    /**
+     * Writes {@link #licenseIndex} into the index file in {@link #outputDirectory}.
+     *
+     * @throws MojoExecutionException is thrown in case the file could not be
+     *                                written.
+     */
+    private void writeLicenseIndex() throws MojoExecutionException {
+        IOUtilities.createDirectoryIfNotPresent(getLog(), outputDirectory);
+        File indexFile = new File(outputDirectory, IOUtilities.LICENSE_INDEX_FILE);
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(indexFile), Charset.defaultCharset()))) {
+            licenseIndex.write(writer);
         } catch (IOException e) {
-            throw new MojoExecutionException(
-                    "Could not read license validation resultsf from file '" + resultsFile + "'.");
+            throw new MojoExecutionException("Could not write license index file '" + indexFile + "'.", e);
         }
     }
 
     /**
-     * This method start the actual generation of the report.
+     * Creates a {@link HtmlReportWriter} with the report configuration.
      *
-     * @param sink
-     * @throws MavenReportException
+     * @param writer is the {@link Writer} to write to.
+     * @return A {@link HtmlReportWriter} is returned.
+     */
+    private HtmlReportWriter createHtmlReportWriter(Writer writer) {
+        HtmlReportWriter htmlReportWriter = new HtmlReportWriter(writer, results, licenseSummary, licenseIndex);
+        htmlReportWriter.setCollapseHierarchy(collapseHierarchy);
+        htmlReportWriter.setMaxHierarchyDepth(maxHierarchyDepth);
+        return htmlReportWriter;
+    }
+
+    /**
+     * Renders the body of the site report. If {@link #pagedReport} is set, the
+     * pages of the direct dependencies are written first.
+     *
+     * @param writer is the {@link Writer} to write the body to.
+     * @throws MavenReportException is thrown in case the report could not be
+     *                              rendered.
      */
-    private void generate(Sink sink) throws MavenReportException {
+    private void renderBody(Writer writer) throws MavenReportException {
+        getLog().info("Creating report for licenses.");
+        HtmlReportWriter htmlReportWriter = createHtmlReportWriter(writer);
+        if (pagedReport) {
+            htmlReportWriter.setPageNames(writeDependencyPages());
+        }
         try {
-            getLog().info("Creating report for licenses.");
-            generateHead(sink);
-            generateBody(sink);
-            sink.flush();
-        } finally {
-            sink.close();
+            htmlReportWriter.writeBody(dependencyTree);
+        } catch (IOException e) {
+            throw new MavenReportException("Could not render report.", e);
         }
     }
 
@@ -225,246 +557,85 @@ public class ReportMojo extends AbstractValidationMojo implements MavenReport {
     private void generateHead(Sink sink) {
         sink.head();
         sink.title();
-        sink.text("Licenses Report");
+        sink.text(HtmlReportWriter.REPORT_TITLE);
         sink.title_();
         sink.head_();
     }
 
     /**
-     * Generated the HTML's body.
+     * Writes one page per direct dependency containing its hierarchy. The pages
+     * are generated in parallel and each page is written as soon as it is
+     * finished.
      *
-     * @param sink
-     * @throws MavenReportException
+     * @return A {@link List} of the page names is returned in the order of the
+     *         direct dependencies.
+     * @throws MavenReportException is thrown in case a page could not be
+     *                              generated.
      */
-    private void generateBody(Sink sink) throws MavenReportException {
-        sink.body();
-        sink.section1();
-        sink.sectionTitle1();
-        sink.text("Licenses Report");
-        sink.sectionTitle1_();
-        sink.paragraph();
-        sink.text(
-                "This report contains an overview of all licenses related to the project and a validation whether these licenses are approved or not.");
-        sink.paragraph_();
-
-        sink.section2();
-        sink.sectionTitle2();
-        sink.text("Directly Used Licenses");
-        sink.sectionTitle2_();
-        generateDirectDependencyTable(sink);
-        sink.section2_();
-
-        sink.section2();
-        sink.sectionTitle2();
-        sink.text("Transitively Used Licenses");
-        sink.sectionTitle2_();
-        generateTransitiveDependencyTable(sink);
-        sink.section2_();
-
-        sink.section2();
-        sink.sectionTitle2();
-        sink.text("Dependency Hierarchy");
-        sink.sectionTitle2_();
-        generateDependencyHierachy(sink);
-        sink.section2_();
-
-        sink.section1_();
-
-        sink.body_();
-    }
-
-    /**
-     * This method generated the table with the direct dependencies.
-     *
-     * @param sink
-     * @throws MavenReportException
-     */
-    private void generateDirectDependencyTable(Sink sink) throws MavenReportException {
-        sink.paragraph();
-        sink.text(
-                "This section contains a list of all licenses which are directly referenced to with dependencies of this maven project.");
-        sink.paragraph_();
-
-        sink.table();
-        sink.tableCaption();
-        sink.text("Licenses");
-        sink.tableCaption_();
-        generateTableHead(sink);
-        generateDirectDependenciesTableContent(sink);
-        sink.table_();
-    }
-
-    private void generateTableHead(Sink sink) {
-        sink.tableRow();
-        sink.tableHeaderCell();
-        sink.text("License from Artifact");
-        sink.tableHeaderCell_();
-        sink.tableHeaderCell();
-        sink.text("License");
-        sink.tableHeaderCell_();
-        sink.tableHeaderCell();
-        sink.text("Validation");
-        sink.tableHeaderCell_();
-        sink.tableRow_();
-    }
-
-    private void generateDirectDependenciesTableContent(Sink sink) throws MavenReportException {
-        List<DependencyTree> dependencies = dependencyTree.getChildren();
-        Map<String, ValidationResult> directLicenses = new HashMap<>();
-        getLicenses(dependencies, directLicenses);
-
-        for (Entry<String, ValidationResult> license : directLicenses.entrySet()) {
-            String originalLicenseName = license.getKey();
-            ValidationResult validationResult = license.getValue();
-            URL originalLicenseURL = validationResult.getOriginalLicenseURL();
-            sink.tableRow();
-            sink.tableCell();
-            if (originalLicenseURL == null) {
-                sink.text(originalLicenseName);
-            } else {
-                sink.link(originalLicenseURL.toString());
-                sink.text(originalLicenseName);
-                sink.link_();
-            }
-            sink.tableCell_();
-            sink.tableCell();
-            sink.link(validationResult.getLicense().getUrl().toString());
-            sink.text(validationResult.getLicense().getName());
-            sink.link_();
-            sink.tableCell_();
-            sink.tableCell();
-            sink.text(validationResult.isValid() ? "valid" : "invalid");
-            sink.tableCell_();
-            sink.tableRow_();
+    private List<String> writeDependencyPages() throws MavenReportException {
+        List<DependencyTree> directDependencies = dependencyTree.getChildren();
+        List<String> pageNames = new ArrayList<>();
+        if (directDependencies.isEmpty()) {
+            return pageNames;
         }
-    }
-
-    private void getLicenses(List<DependencyTree> dependencyTree, Map<String, ValidationResult> licenses) {
-        for (DependencyTree dependency : dependencyTree) {
-            ArtifactInformation artifactInformation = new ArtifactInformation(dependency.getArtifact());
-            List<ValidationResult> validationResults = results.get(artifactInformation);
-            for (ValidationResult validationResult : validationResults) {
-                String originalLicenseName = validationResult.getOriginalLicenseName();
-                if (!licenses.containsKey(originalLicenseName)) {
-                    licenses.put(originalLicenseName, validationResult);
-                }
-            }
+        if (!outputDirectory.exists() && !outputDirectory.mkdirs()) {
+            throw new MavenReportException("Could not create directory '" + outputDirectory + "'.");
         }
-    }
-
-    /**
-     * This method generated the table with the transitive dependencies.
-     *
-     * @param sink
-     * @throws MavenReportException
-     */
-    private void generateTransitiveDependencyTable(Sink sink) throws MavenReportException {
-        sink.paragraph();
-        sink.text("This section contains a list of all licenses which are "
-                + "not directly referenced to with dependencies of this "
-                + "maven project. All these licenses are coming in "
-                + "transitively via dependencies of the direct project " + "dependencies.");
-        sink.paragraph_();
-
-        sink.table();
-        sink.tableCaption();
-        sink.text("Licenses");
-        sink.tableCaption_();
-        generateTableHead(sink);
-        generateTransitiveDependenciesTableContent(sink);
-        sink.table_();
-    }
-
-    private void generateTransitiveDependenciesTableContent(Sink sink) throws MavenReportException {
-        List<DependencyTree> dependencies = dependencyTree.getChildren();
-        Map<String, ValidationResult> transitiveLicenses = new HashMap<>();
-        for (DependencyTree dependency : dependencies) {
-            for (DependencyTree dependency2 : dependency.getChildren()) {
-                getLicenses(dependency2.getAllNodes(), transitiveLicenses);
+        int threads = reportThreads > 0 ? reportThreads : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, directDependencies.size()));
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < directDependencies.size(); i++) {
+                final DependencyTree directDependency = directDependencies.get(i);
+                final String pageName = getPageName(i);
+                pageNames.add(pageName);
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws IOException {
+                        writeDependencyPage(directDependency, pageName);
+                        return null;
+                    }
+                }));
             }
-        }
-
-        for (Entry<String, ValidationResult> license : transitiveLicenses.entrySet()) {
-            String originalLicenseName = license.getKey();
-            ValidationResult validationResult = license.getValue();
-            URL originalLicenseURL = validationResult.getOriginalLicenseURL();
-            sink.tableRow();
-            sink.tableCell();
-            if (originalLicenseURL == null) {
-                sink.text(originalLicenseName);
-            } else {
-                sink.link(originalLicenseURL.toString());
-                sink.text(originalLicenseName);
-                sink.link_();
+            for (Future<Void> future : futures) {
+                future.get();
             }
-            sink.tableCell_();
-            sink.tableCell();
-            sink.link(validationResult.getLicense().getUrl().toString());
-            sink.text(validationResult.getLicense().getName());
-            sink.link_();
-            sink.tableCell_();
-            sink.tableCell();
-            sink.text(validationResult.isValid() ? "valid" : "invalid");
-            sink.tableCell_();
-            sink.tableRow_();
+            return pageNames;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MavenReportException("Generation of dependency pages was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new MavenReportException("Could not generate dependency pages.", e);
+        } finally {
+            executor.shutdownNow();
         }
     }
 
     /**
-     * Generates the hierarchy of the dependencies.
+     * Returns the file name of the page of a direct dependency.
      *
-     * @param sink
+     * @param index is the index of the direct dependency.
+     * @return A {@link String} is returned containing the file name.
      */
-    private void generateDependencyHierachy(Sink sink) {
-        sink.paragraph();
-        sink.text(
-                "This section contains the full hierarchy of dependencies, its licenses and their validation result.");
-        sink.paragraph_();
-        generateDependency(sink, dependencyTree);
+    private String getPageName(int index) {
+        return getOutputName() + "-" + (index + 1) + ".html";
     }
 
     /**
-     * Generates the hierarchy of the dependencies recursively.
+     * Writes the page containing the hierarchy of a single direct dependency into
+     * {@link #outputDirectory}.
      *
-     * @param sink
+     * @param directDependency is the {@link DependencyTree} of the direct
+     *                         dependency.
+     * @param pageName         is the file name of the page.
+     * @throws IOException is thrown in case the page could not be written.
      */
-    private void generateDependency(Sink sink, DependencyTree parentDependency) {
-        sink.list();
-        for (DependencyTree dependency : parentDependency.getChildren()) {
-            sink.listItem();
-            ArtifactInformation artifactInformation = new ArtifactInformation(dependency.getArtifact());
-            getLog().debug("Hierarchy for " + artifactInformation.toString());
-            sink.bold();
-            sink.text(artifactInformation.toString());
-            sink.bold_();
-            List<ValidationResult> validationResults = results.get(artifactInformation);
-            for (ValidationResult result : validationResults) {
-                KnownLicense license = result.getLicense();
-                String originalLicenseName = result.getOriginalLicenseName();
-                URL originalLicenseURL = result.getOriginalLicenseURL();
-                String valid = result.isValid() ? "valid" : "invalid";
-                sink.lineBreak();
-                sink.italic();
-                sink.text(valid);
-                sink.text(": ");
-                if (originalLicenseURL == null) {
-                    sink.text(originalLicenseName);
-                } else {
-                    sink.link(originalLicenseURL.toString());
-                    sink.text(originalLicenseName);
-                    sink.link_();
-                }
-                sink.text(" / ");
-                sink.link(license.getUrl().toString());
-                sink.text(license.getName());
-                sink.link_();
-                sink.italic_();
-            }
-            sink.lineBreak();
-            generateDependency(sink, dependency);
-            sink.listItem_();
+    private void writeDependencyPage(DependencyTree directDependency, String pageName) throws IOException {
+        File pageFile = new File(outputDirectory, pageName);
+        try (Writer writer = createWriter(pageFile)) {
+            createHtmlReportWriter(writer).writeDependencyPage(directDependency, getOutputName() + ".html");
         }
-        sink.list_();
+        getLog().debug("Wrote dependency page '" + pageFile + "'.");
     }
 
     @Override
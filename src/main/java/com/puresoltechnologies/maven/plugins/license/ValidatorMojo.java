@@ -15,21 +15,23 @@
  */
 package com.puresoltechnologies.maven.plugins.license;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
-import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
-import java.util.regex.Pattern;
 
 import org.apache.maven.artifact.Artifact;
-import org.apache.maven.model.License;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugin.logging.Log;
@@ -37,9 +39,22 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 
-import com.puresoltechnologies.maven.plugins.license.internal.ArtifactUtilities;
+import com.puresoltechnologies.maven.plugins.license.internal.ArtifactMetadata;
+import com.puresoltechnologies.maven.plugins.license.internal.Baseline;
+import com.puresoltechnologies.maven.plugins.license.internal.ConcurrentResultExporter;
+import com.puresoltechnologies.maven.plugins.license.internal.DaemonProtocol;
+import com.puresoltechnologies.maven.plugins.license.internal.DaemonRequest;
+import com.puresoltechnologies.maven.plugins.license.internal.DaemonResponse;
+import com.puresoltechnologies.maven.plugins.license.internal.DependencyGraph;
 import com.puresoltechnologies.maven.plugins.license.internal.DependencyTree;
+import com.puresoltechnologies.maven.plugins.license.internal.DependencyUtilities;
+import com.puresoltechnologies.maven.plugins.license.internal.ExportFormat;
 import com.puresoltechnologies.maven.plugins.license.internal.IOUtilities;
+import com.puresoltechnologies.maven.plugins.license.internal.InternDictionary;
+import com.puresoltechnologies.maven.plugins.license.internal.LicensePolicy;
+import com.puresoltechnologies.maven.plugins.license.internal.Metrics;
+import com.puresoltechnologies.maven.plugins.license.internal.ResultExporter;
+import com.puresoltechnologies.maven.plugins.license.internal.ShardUtilities;
 import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
 import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
 import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
@@ -121,27 +136,299 @@ public class ValidatorMojo extends AbstractValidationMojo {
     @Parameter(alias = "skip", required = false, defaultValue = "false")
     private boolean skip;
 
+    /**
+     * Specifies the formats the validation results are exported to in addition to
+     * licenses.csv. Supported formats are JSON, SPDX and CYCLONEDX. The selected
+     * formats are written concurrently into the output directory.
+     */
+    @Parameter(alias = "exportFormats", required = false)
+    private Set<String> exportFormats;
+
+    /**
+     * Specifies the output directory of a former run to be used as baseline. The
+     * POMs of released artifacts which are part of the baseline dependency graph
+     * are not resolved again and their results and the results of their
+     * dependencies are taken from the baseline. The baseline is only used if it
+     * was created with the same settings and license configuration.
+     */
+    @Parameter(alias = "baselineDirectory", required = false)
+    private File baselineDirectory;
+
+    /**
+     * Specifies the index of the shard to be validated if the validation is split
+     * into {@link #shardCount} shards. Each shard validates a deterministic part
+     * of the unique artifacts and writes a partial results file, which are merged
+     * by the 'merge-shards' goal. Every shard still resolves the complete
+     * dependency tree, so sharding does not reduce the wall time of the
+     * resolution.
+     */
+    @Parameter(property = "license.shardIndex", alias = "shardIndex", required = false, defaultValue = "0")
+    private int shardIndex;
+
+    /**
+     * Specifies the total number of shards the validation is split into. The
+     * default of 1 validates all artifacts and writes licenses.csv.
+     */
+    @Parameter(property = "license.shardCount", alias = "shardCount", required = false, defaultValue = "1")
+    private int shardCount;
+
+    /**
+     * Specifies whether the dependency tree is resolved by the license daemon
+     * started with the 'daemon' goal. If no daemon is reachable, the dependencies
+     * are resolved in-process. The daemon is not used together with a baseline.
+     */
+    @Parameter(property = "license.daemon", alias = "daemon", required = false, defaultValue = "false")
+    private boolean daemon;
+
+    /**
+     * Specifies the port of the license daemon on the loopback interface.
+     */
+    @Parameter(property = "license.daemonPort", alias = "daemonPort", required = false, defaultValue = "48650")
+    private int daemonPort;
+
+    /**
+     * Specifies the time in seconds to wait for the dependency tree of the
+     * license daemon. If the daemon does not answer in time, the dependencies are
+     * resolved in-process.
+     */
+    @Parameter(property = "license.daemonTimeout", alias = "daemonTimeout", required = false, defaultValue = "600")
+    private int daemonTimeout;
+
+    /**
+     * This is the {@link LicensePolicy} compiled out of {@link #knownLicenses} in
+     * {@link #execute()}.
+     */
+    private LicensePolicy policy;
+
+    /**
+     * This is the {@link ResultExporter} for {@link #exportFormats} used during
+     * {@link #validateArtifacts(DependencyTree)}. It is <code>null</code> if no
+     * export is requested.
+     */
+    private ResultExporter exporter = null;
+
+    /**
+     * This is the {@link Baseline} read from {@link #baselineDirectory}. It is
+     * <code>null</code> if no compatible baseline is used.
+     */
+    private Baseline baseline = null;
+
+    /**
+     * Contains the artifacts whose results are taken from {@link #baseline}.
+     */
+    private final Set<ArtifactInformation> baselineArtifacts = new HashSet<>();
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
-        storeSettings();
-        if (!skip) {
-            DependencyTree dependencyTree = loadArtifacts(recursive, skipTestScope, skipProvidedScope, skipOptionals);
-            validateArtifacts(dependencyTree);
+        if (!ShardUtilities.isValidShard(shardIndex, shardCount)) {
+            throw new MojoFailureException(
+                    "Shard index " + shardIndex + " is not valid for a shard count of " + shardCount + ".");
+        }
+        Properties settings = createSettings();
+        if (skip) {
+            storeSettings(settings);
+            return;
         }
+        Metrics metrics = getMetrics();
+        try {
+            try (Metrics.Timer timer = metrics.time("baseline")) {
+                // the baseline is read before its settings may be overwritten
+                baseline = loadBaseline(settings);
+            }
+            storeSettings(settings);
+            try (Metrics.Timer timer = metrics.time("policy")) {
+                policy = loadPolicy();
+            }
+            DependencyTree dependencyTree = null;
+            if (daemon) {
+                try (Metrics.Timer timer = metrics.time("daemon")) {
+                    dependencyTree = loadArtifactsFromDaemon();
+                }
+            }
+            if (dependencyTree == null) {
+                dependencyTree = loadArtifacts(recursive, skipTestScope, skipProvidedScope, skipOptionals);
+            }
+            if (baseline == null) {
+                try (Metrics.Timer timer = metrics.time("graphSnapshot")) {
+                    storeDependencyGraph(dependencyTree);
+                }
+            } else {
+                metrics.add("baselineArtifacts", baselineArtifacts.size());
+                getLog().info("Results of " + baselineArtifacts.size()
+                        + " unchanged dependencies and their dependencies are taken from baseline.");
+            }
+            try (Metrics.Timer timer = metrics.time("validation")) {
+                validateArtifacts(dependencyTree);
+            }
+        } finally {
+            if (shardCount > 1) {
+                writeMetrics("verify", outputDirectory,
+                        ShardUtilities.getMetricsFileName("verify", shardIndex, shardCount));
+            } else {
+                writeMetrics("verify", outputDirectory);
+            }
+        }
+    }
+
+    /**
+     * This method requests the dependency tree from the license daemon. The
+     * {@link LicensePolicy} is never taken from the daemon. Failures are only
+     * logged, because the dependencies can still be resolved in-process.
+     *
+     * @return A {@link DependencyTree} is returned. <code>null</code> is returned
+     *         if the daemon could not be used.
+     */
+    private DependencyTree loadArtifactsFromDaemon() {
+        Log log = getLog();
+        if (baseline != null) {
+            log.info("The license daemon is not used together with a baseline.");
+            return null;
+        }
+        Artifact artifact = getMavenProject().getArtifact();
+        InternDictionary dictionary = getDictionary();
+        DaemonRequest request = new DaemonRequest(DependencyUtilities.toDeclaredDependency(artifact),
+                new ArtifactMetadata(dictionary.declaredDependencies(getMavenProject().getDependencies()),
+                        dictionary.declaredLicenses(getMavenProject().getLicenses())),
+                getRemoteArtifactRepositories(), recursive, skipTestScope, skipProvidedScope, skipOptionals);
+        DaemonResponse response;
+        try {
+            String token = DaemonProtocol.readToken(DaemonProtocol.getTokenFile(daemonPort));
+            response = token == null ? null : DaemonProtocol.send(daemonPort, token, request, daemonTimeout * 1000);
+        } catch (IOException e) {
+            log.warn("License daemon on port " + daemonPort + " failed. Resolving dependencies in-process.", e);
+            return null;
+        }
+        if (response == null) {
+            log.info("No license daemon is reachable on port " + daemonPort
+                    + ". Resolving dependencies in-process.");
+            return null;
+        }
+        if (response.getError() != null) {
+            log.warn("License daemon on port " + daemonPort + " failed with '" + response.getError()
+                    + "'. Resolving dependencies in-process.");
+            return null;
+        }
+        DependencyTree dependencyTree = response.toDependencyTree(artifact, dictionary);
+        if (dependencyTree == null) {
+            log.warn("License daemon on port " + daemonPort
+                    + " could not resolve the project. Resolving dependencies in-process.");
+            return null;
+        }
+        for (String failedArtifact : response.getFailedArtifacts()) {
+            log.warn("Could not load artifacts recursively. For artifact '" + failedArtifact
+                    + "' the project creation failed in the license daemon.");
+        }
+        getMetrics().add("pomBuildFailures", response.getFailedArtifacts().size());
+        getMetrics().add("daemonNodes", response.getNodeCount());
+        log.info("Resolved " + response.getNodeCount() + " dependencies with license daemon on port " + daemonPort
+                + ".");
+        return dependencyTree;
+    }
+
+    /**
+     * This method reads the {@link Baseline} out of {@link #baselineDirectory}.
+     *
+     * @param settings is the settings of the current run.
+     * @return A {@link Baseline} is returned. <code>null</code> is returned if no
+     *         baseline is configured or if it is not compatible to the current
+     *         run.
+     * @throws MojoExecutionException is thrown in case the baseline could not be
+     *                                read.
+     */
+    private Baseline loadBaseline(Properties settings) throws MojoExecutionException {
+        if (baselineDirectory == null) {
+            return null;
+        }
+        Baseline loadedBaseline = Baseline.load(getLog(), baselineDirectory, getDictionary());
+        if (loadedBaseline == null) {
+            getLog().warn("Validating all dependencies.");
+            return null;
+        }
+        if (!loadedBaseline.isCompatible(settings)) {
+            getLog().info("Baseline '" + baselineDirectory
+                    + "' was created with different settings or licenses. Validating all dependencies.");
+            return null;
+        }
+        return loadedBaseline;
+    }
+
+    /**
+     * Resolution is skipped for released artifacts which are contained in the
+     * {@link #baseline} together with all their dependencies. SNAPSHOT artifacts
+     * are always resolved, because their POMs may have changed.
+     */
+    @Override
+    protected boolean isResolutionSkipped(Artifact artifact) {
+        if ((baseline == null) || artifact.isSnapshot()) {
+            return false;
+        }
+        ArtifactInformation artifactInformation = getDictionary().artifactInformation(artifact);
+        if (!baseline.contains(artifactInformation)) {
+            return false;
+        }
+        baselineArtifacts.add(artifactInformation);
+        return true;
+    }
+
+    /**
+     * This method stores the {@link DependencyGraph} of the dependency tree into
+     * {@link #outputDirectory} to be used as snapshot for later baseline runs.
+     *
+     * @param dependencyTree is the {@link DependencyTree} to be stored.
+     */
+    private void storeDependencyGraph(DependencyTree dependencyTree) {
+        File graphFile = new File(outputDirectory, IOUtilities.DEPENDENCY_GRAPH_FILE);
+        try {
+            IOUtilities.storeDependencyGraph(graphFile, DependencyGraph.of(dependencyTree));
+        } catch (IOException e) {
+            getLog().warn("Could not store dependency graph '" + graphFile + "'.", e);
+        }
+    }
+
+    /**
+     * This method compiles the {@link LicensePolicy} out of {@link #knownLicenses}.
+     *
+     * @return A {@link LicensePolicy} is returned.
+     * @throws MojoFailureException is thrown in case of an invalid configuration.
+     */
+    private LicensePolicy loadPolicy() throws MojoFailureException {
+        return LicensePolicy.compile(knownLicenses);
+    }
+
+    private Properties createSettings() {
+        Properties properties = new Properties();
+        properties.setProperty("recursive", Boolean.toString(recursive));
+        properties.setProperty("skipTestScope", Boolean.toString(skipTestScope));
+        properties.setProperty("skipProvidedScope", Boolean.toString(skipProvidedScope));
+        properties.setProperty("skipOptionals", Boolean.toString(skipOptionals));
+        properties.setProperty("skip", Boolean.toString(skip));
+        properties.setProperty("policyHash", LicensePolicy.calculateConfigurationHash(knownLicenses));
+        return properties;
     }
 
-    private void storeSettings() throws MojoExecutionException {
-        File file = IOUtilities.createNewSettingsFile(getLog(), outputDirectory);
-        try (FileOutputStream fileOutputStream = new FileOutputStream(file);
-                OutputStreamWriter propertiesWriter = new OutputStreamWriter(fileOutputStream,
-                        Charset.defaultCharset())) {
-            Properties properties = new Properties();
-            properties.setProperty("recursive", Boolean.toString(recursive));
-            properties.setProperty("skipTestScope", Boolean.toString(skipTestScope));
-            properties.setProperty("skipProvidedScope", Boolean.toString(skipProvidedScope));
-            properties.setProperty("skipOptionals", Boolean.toString(skipOptionals));
-            properties.setProperty("skip", Boolean.toString(skip));
-            properties.store(propertiesWriter, "license-maven-plugin settings.");
+    /**
+     * This method stores the settings into {@link #outputDirectory}. The file is
+     * replaced atomically, because several shards may run at the same time on the
+     * same output directory.
+     *
+     * @param properties is the settings to be stored.
+     * @throws MojoExecutionException is thrown in case the file could not be
+     *                                written.
+     */
+    private void storeSettings(Properties properties) throws MojoExecutionException {
+        IOUtilities.createDirectoryIfNotPresent(getLog(), outputDirectory);
+        try {
+            File temporaryFile = File.createTempFile(IOUtilities.LICENSE_SETTINGS_FILE, ".tmp", outputDirectory);
+            try {
+                try (FileOutputStream fileOutputStream = new FileOutputStream(temporaryFile);
+                        OutputStreamWriter propertiesWriter = new OutputStreamWriter(fileOutputStream,
+                                Charset.defaultCharset())) {
+                    properties.store(propertiesWriter, "license-maven-plugin settings.");
+                }
+                IOUtilities.replaceFile(temporaryFile, new File(outputDirectory, IOUtilities.LICENSE_SETTINGS_FILE));
+            } finally {
+                Files.deleteIfExists(temporaryFile.toPath());
+            }
         } catch (IOException e) {
             throw new MojoExecutionException("Could not write settings.properties.", e);
         }
@@ -156,37 +443,144 @@ public class ValidatorMojo extends AbstractValidationMojo {
      * @throws MojoFailureException   is thrown if an invalid license is found.
      */
     private void validateArtifacts(DependencyTree dependencyTree) throws MojoExecutionException, MojoFailureException {
-        File licenseResultsFile = IOUtilities.createNewResultsFile(getLog(), outputDirectory);
+        boolean sharded = shardCount > 1;
+        File licenseResultsFile = sharded
+                ? IOUtilities.createNewShardResultsFile(getLog(), outputDirectory, shardIndex, shardCount)
+                : IOUtilities.createNewResultsFile(getLog(), outputDirectory);
         try (FileOutputStream outputStream = new FileOutputStream(licenseResultsFile);
-                OutputStreamWriter writer = new OutputStreamWriter(outputStream, Charset.defaultCharset())) {
+                OutputStreamWriter writer = new OutputStreamWriter(outputStream, Charset.defaultCharset());
+                ResultExporter resultExporter = createExporter()) {
+            exporter = resultExporter;
+            if (exporter != null) {
+                exporter.begin(new ArtifactInformation(getMavenProject().getArtifact()));
+            }
             boolean valid = true;
-            List<String> checkedArtifact = new ArrayList<>();
+            // one set for the live and the baseline results, so that artifacts reached
+            // on both ways are reported only once
+            Set<ArtifactInformation> checkedArtifacts = new HashSet<>();
             for (DependencyTree dependency : dependencyTree) {
                 Artifact artifact = dependency.getArtifact();
                 if (artifact == getMavenProject().getArtifact()) {
                     // skip self, it is not needed to be evaluated
                     continue;
                 }
-                String artifactIdentifier = ArtifactUtilities.toString(artifact);
-                if (checkedArtifact.contains(artifactIdentifier)) {
-                    continue;
+                ArtifactInformation artifactInformation = dependency.getArtifactInformation();
+                boolean artifactValid;
+                if (baselineArtifacts.contains(artifactInformation)) {
+                    // the subtree taken from the baseline contains the artifact itself, its
+                    // artifacts are filtered by shard one by one
+                    artifactValid = isBaselineValid(artifactInformation, checkedArtifacts, writer);
+                } else {
+                    if (!checkedArtifacts.add(artifactInformation)) {
+                        continue;
+                    }
+                    getMetrics().increment("uniqueArtifacts");
+                    if (sharded && (ShardUtilities.getShard(artifactInformation, shardCount) != shardIndex)) {
+                        // validated by another shard
+                        continue;
+                    }
+                    artifactValid = isArtifactValid(dependency, writer);
                 }
-                checkedArtifact.add(artifactIdentifier);
-                if (!isArtifactValid(dependency, writer)) {
+                if (!artifactValid) {
                     if (failFast) {
                         throw new MojoFailureException("Invalid license(s) was/were found!");
                     }
                     valid = false;
                 }
             }
+            if (exporter != null) {
+                exporter.end();
+            }
             if (!valid) {
                 throw new MojoFailureException("Invalid license(s) was/were found!");
             }
         } catch (IOException e) {
             throw new MojoExecutionException("Could not write validation result to '" + licenseResultsFile + "'.", e);
+        } finally {
+            exporter = null;
         }
     }
 
+    /**
+     * This method takes the results of an unchanged artifact and of all its
+     * dependencies from {@link #baseline}. In shard mode, only the results of the
+     * artifacts belonging to the current shard are taken, because the subtree of
+     * an artifact usually spans several shards.
+     *
+     * @param artifactInformation is the {@link ArtifactInformation} of the
+     *                            unchanged artifact.
+     * @param checkedArtifacts    is a {@link Set} of the artifacts whose results
+     *                            were already written.
+     * @param writer              is the writer of the results file.
+     * @return <code>true</code> is returned if all results taken are valid.
+     *         <code>false</code> is returned otherwise.
+     * @throws MojoFailureException   is thrown in case of a faulty export.
+     * @throws MojoExecutionException is thrown in case of a faulty Maven run.
+     */
+    private boolean isBaselineValid(ArtifactInformation artifactInformation,
+            Set<ArtifactInformation> checkedArtifacts, OutputStreamWriter writer)
+            throws MojoFailureException, MojoExecutionException {
+        boolean valid = true;
+        for (ArtifactInformation baselineArtifact : baseline.getSubtree(artifactInformation, checkedArtifacts)) {
+            getMetrics().increment("uniqueArtifacts");
+            if ((shardCount > 1) && (ShardUtilities.getShard(baselineArtifact, shardCount) != shardIndex)) {
+                // validated by another shard
+                continue;
+            }
+            for (ValidationResult result : baseline.getResults(baselineArtifact)) {
+                logArtifactResult(result, writer);
+                valid &= result.isValid();
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Creates the {@link ResultExporter} for {@link #exportFormats}.
+     *
+     * @return A {@link ResultExporter} is returned writing all selected formats
+     *         concurrently. <code>null</code> is returned if no format is
+     *         selected.
+     * @throws MojoFailureException   is thrown in case of an unknown format.
+     * @throws MojoExecutionException is thrown in case a file could not be
+     *                                created.
+     */
+    private ResultExporter createExporter() throws MojoFailureException, MojoExecutionException {
+        if ((exportFormats == null) || exportFormats.isEmpty()) {
+            return null;
+        }
+        if (shardCount > 1) {
+            getLog().warn("Export formats are not written in shard mode.");
+            return null;
+        }
+        Set<ExportFormat> formats = EnumSet.noneOf(ExportFormat.class);
+        for (String exportFormat : exportFormats) {
+            ExportFormat format = ExportFormat.fromName(exportFormat);
+            if (format == null) {
+                throw new MojoFailureException("Export format '" + exportFormat + "' is not supported.");
+            }
+            formats.add(format);
+        }
+        List<ResultExporter> exporters = new ArrayList<>();
+        try {
+            for (ExportFormat format : formats) {
+                File file = new File(outputDirectory, format.getFileName());
+                exporters.add(format.createExporter(new BufferedWriter(
+                        new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))));
+            }
+        } catch (IOException e) {
+            for (ResultExporter created : exporters) {
+                try {
+                    created.close();
+                } catch (IOException closeException) {
+                    getLog().warn("Could not close exporter.", closeException);
+                }
+            }
+            throw new MojoExecutionException("Could not create export files in '" + outputDirectory + "'.", e);
+        }
+        return new ConcurrentResultExporter(exporters);
+    }
+
     /**
      * This method checks the validity of a single artifact.
      *
@@ -201,7 +595,7 @@ public class ValidatorMojo extends AbstractValidationMojo {
     private boolean isArtifactValid(DependencyTree dependency, OutputStreamWriter writer)
             throws MojoFailureException, MojoExecutionException {
         Artifact artifact = dependency.getArtifact();
-        ArtifactInformation artifactInformation = new ArtifactInformation(artifact);
+        ArtifactInformation artifactInformation = dependency.getArtifactInformation();
 
         if (skipTestScope) {
             String scope = artifact.getScope();
@@ -213,93 +607,19 @@ public class ValidatorMojo extends AbstractValidationMojo {
             }
         }
 
-        List<License> licenses = dependency.getLicenses();
-        if (licenses.size() == 0) {
-            KnownLicense knownLicense = findKnownLicense(artifactInformation);
-            if (knownLicense != null) {
-                ValidationResult result = new ValidationResult(artifactInformation, knownLicense, null, null,
-                        "no license found, but dependency is approved", true);
-                logArtifactResult(result, writer);
-                return true;
-            } else {
-                ValidationResult result = new ValidationResult(artifactInformation, null, null, null,
-                        "no license found and artifact is not approved", false);
-                logArtifactResult(result, writer);
-                return false;
-            }
-        }
         boolean valid = true;
-        for (License license : licenses) {
-            String licenseName = license.getName();
-            URL licenseURL;
-            try {
-                licenseURL = new URL(license.getUrl());
-            } catch (MalformedURLException e) {
-                licenseURL = null;
-            }
-            KnownLicense knownLicense = findKnownLicense(artifactInformation);
-            if (knownLicense != null) {
-                ValidationResult result = new ValidationResult(artifactInformation, knownLicense, licenseName,
-                        licenseURL, "license is approved by artifact", true);
-                logArtifactResult(result, writer);
-            } else {
-                knownLicense = findKnownLicense(artifactInformation, license);
-                if (knownLicense != null) {
-                    ValidationResult result = new ValidationResult(artifactInformation, knownLicense, licenseName,
-                            licenseURL, "license is approved", true);
-                    logArtifactResult(result, writer);
-                } else {
-                    ValidationResult result = new ValidationResult(artifactInformation, null, licenseName, licenseURL,
-                            "license is not approved", false);
-                    logArtifactResult(result, writer);
-                    valid = false;
-                }
-            }
-        }
-        return valid;
-    }
-
-    /**
-     * This method returns the normalized name of the license.
-     *
-     * @param artifactInformation
-     *
-     * @param license             is the {@link License} object which is to be
-     *                            looked up.
-     * @return A {@link KnownLicense} is returned containing the known license.
-     * @throws MojoFailureException is thrown if the normalized name cannot be
-     *                              looked up due to missing configuration.
-     */
-    private KnownLicense findKnownLicense(ArtifactInformation artifactInformation, License license)
-            throws MojoFailureException {
-        for (KnownLicense knownLicense : knownLicenses) {
-            if (knownLicense.getName().equals(license.getName())) {
-                return knownLicense;
-            }
-            for (String alias : knownLicense.getAliases()) {
-                if ((alias == null) || (alias.isEmpty())) {
-                    throw new MojoFailureException("An alias was found without identifier.");
-                }
-                if (alias.equals(license.getName())) {
-                    return knownLicense;
-                }
-            }
+        long start = System.nanoTime();
+        Object event = getEventRecorder().beginMatching();
+        List<ValidationResult> results = policy.validate(artifactInformation, dependency.getLicenses());
+        getMetrics().addTime("matching", System.nanoTime() - start);
+        for (ValidationResult result : results) {
+            valid &= result.isValid();
         }
-        return null;
-    }
-
-    private KnownLicense findKnownLicense(ArtifactInformation artifactInformation) throws MojoFailureException {
-        for (KnownLicense knownLicense : knownLicenses) {
-            for (String approvedDependency : knownLicense.getApprovedDependencies()) {
-                if ((approvedDependency == null) || (approvedDependency.isEmpty())) {
-                    throw new MojoFailureException("An approved dependency was found without identifier.");
-                }
-                if (Pattern.matches(approvedDependency, artifactInformation.getIdentifier())) {
-                    return knownLicense;
-                }
-            }
+        getEventRecorder().commitMatching(event, artifactInformation, results.size(), valid);
+        for (ValidationResult result : results) {
+            logArtifactResult(result, writer);
         }
-        return null;
+        return valid;
     }
 
     /**
@@ -317,6 +637,8 @@ public class ValidatorMojo extends AbstractValidationMojo {
      */
     private void logArtifactResult(ValidationResult validationResult, OutputStreamWriter writer)
             throws MojoExecutionException, MojoFailureException {
+        Metrics metrics = getMetrics();
+        long start = System.nanoTime();
         StringBuffer buffer = new StringBuffer();
         buffer.append("License ");
         String originalLicenseName = validationResult.getOriginalLicenseName();
@@ -348,7 +670,23 @@ public class ValidatorMojo extends AbstractValidationMojo {
             buffer.append(validationResult.getComment());
             buffer.append(")");
             getLog().error(buffer.toString());
+            metrics.increment("invalidResults");
         }
+        long logged = System.nanoTime();
+        metrics.addTime("logging", logged - start);
+        Object event = getEventRecorder().beginWriting();
         IOUtilities.writeResult(writer, validationResult);
+        getEventRecorder().commitWriting(event, artifactInformation);
+        metrics.increment("resultsWritten");
+        long written = System.nanoTime();
+        metrics.addTime("writing", written - logged);
+        if (exporter != null) {
+            try {
+                exporter.export(validationResult);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Could not export validation result.", e);
+            }
+            metrics.addTime("export", System.nanoTime() - written);
+        }
     }
 }
@@ -0,0 +1,67 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+/**
+ * This is an abstract {@link ResultExporter} for formats which describe each
+ * artifact once with all its licenses. The results of the current artifact are
+ * collected until the next artifact starts, so only the results of a single
+ * artifact are kept in memory.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public abstract class AbstractArtifactExporter implements ResultExporter {
+
+    private ArtifactInformation currentArtifact = null;
+    private final List<ValidationResult> currentResults = new ArrayList<>();
+
+    @Override
+    public final void export(ValidationResult validationResult) throws IOException {
+        ArtifactInformation artifactInformation = validationResult.getArtifactInformation();
+        if ((currentArtifact != null) && !currentArtifact.equals(artifactInformation)) {
+            flushArtifact();
+        }
+        currentArtifact = artifactInformation;
+        currentResults.add(validationResult);
+    }
+
+    @Override
+    public final void end() throws IOException {
+        flushArtifact();
+        endArtifacts();
+    }
+
+    private void flushArtifact() throws IOException {
+        if (currentArtifact != null) {
+            exportArtifact(currentArtifact, currentResults);
+            currentArtifact = null;
+            currentResults.clear();
+        }
+    }
+
+    /**
+     * This method exports a single artifact with all its results.
+     *
+     * @param artifactInformation is the {@link ArtifactInformation} of the
+     *                            artifact.
+     * @param validationResults   is a {@link List} of all {@link ValidationResult}s
+     *                            of the artifact.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    protected abstract void exportArtifact(ArtifactInformation artifactInformation,
+            List<ValidationResult> validationResults) throws IOException;
+
+    /**
+     * This method is called after the last artifact was exported to finish the
+     * export.
+     *
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    protected abstract void endArtifacts() throws IOException;
+
+}
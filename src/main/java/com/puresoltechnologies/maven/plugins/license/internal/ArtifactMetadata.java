@@ -0,0 +1,33 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * This class contains the metadata of an artifact read from its POM, which is
+ * needed for the license validation: the declared dependencies and the declared
+ * licenses. Instances are immutable, so they can be cached and shared.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class ArtifactMetadata implements Serializable {
+
+    private static final long serialVersionUID = 4532818431257810270L;
+
+    private final List<DeclaredDependency> dependencies;
+    private final List<DeclaredLicense> licenses;
+
+    public ArtifactMetadata(List<DeclaredDependency> dependencies, List<DeclaredLicense> licenses) {
+        super();
+        this.dependencies = dependencies;
+        this.licenses = licenses;
+    }
+
+    public List<DeclaredDependency> getDependencies() {
+        return dependencies;
+    }
+
+    public List<DeclaredLicense> getLicenses() {
+        return licenses;
+    }
+}
@@ -1,7 +1,6 @@
 package com.puresoltechnologies.maven.plugins.license.internal;
 
 import org.apache.maven.artifact.Artifact;
-import org.apache.maven.model.Dependency;
 
 /**
  * This method contains some helpers to deal with {@link Artifact}s.
@@ -32,14 +31,14 @@ public class ArtifactUtilities {
 	}
 
 	/**
-	 * This method returns a string representing the {@link Dependency} given as
-	 * parameter.
+	 * This method returns a string representing the {@link DeclaredDependency}
+	 * given as parameter.
 	 * 
 	 * @param dependency
-	 *            is the {@link Dependency} to be named.
+	 *            is the {@link DeclaredDependency} to be named.
 	 * @return A {@link String} is returned containing the name.
 	 */
-	public static String toString(Dependency dependency) {
+	public static String toString(DeclaredDependency dependency) {
 		String groupId = dependency.getGroupId();
 		String artifactId = dependency.getArtifactId();
 		String version = dependency.getVersion();
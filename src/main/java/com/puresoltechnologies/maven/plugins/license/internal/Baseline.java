@@ -0,0 +1,253 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+/**
+ * This class contains the results of a former validation run which are reused
+ * for all artifacts which did not change since then. A baseline consists of the
+ * settings, the results and the dependency graph snapshot of the run.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class Baseline {
+
+    /**
+     * Contains the settings which need to be equal for a baseline to be reused.
+     */
+    private static final String[] COMPATIBILITY_SETTINGS = { "recursive", "skipTestScope", "skipProvidedScope",
+            "skipOptionals", "policyHash" };
+
+    /**
+     * This method reads a baseline out of the output directory of a former run.
+     *
+     * @param log        is the {@link Log} to write to.
+     * @param directory  is the directory containing the baseline.
+     * @param dictionary is the {@link InternDictionary} used to canonicalize the
+     *                   results read.
+     * @return A {@link Baseline} is returned. <code>null</code> is returned if the
+     *         directory does not contain a complete baseline.
+     * @throws MojoExecutionException is thrown in case the baseline could not be
+     *                                read.
+     */
+    public static Baseline load(Log log, File directory, InternDictionary dictionary) throws MojoExecutionException {
+        File settingsFile = new File(directory, IOUtilities.LICENSE_SETTINGS_FILE);
+        File resultsFile = new File(directory, IOUtilities.LICENSE_RESULTS_FILE);
+        File graphFile = new File(directory, IOUtilities.DEPENDENCY_GRAPH_FILE);
+        if (!settingsFile.isFile() || !resultsFile.isFile() || !graphFile.isFile()) {
+            log.warn("Baseline directory '" + directory + "' does not contain a complete baseline.");
+            return null;
+        }
+        Properties settings = new Properties();
+        try (FileInputStream fileInputStream = new FileInputStream(settingsFile);
+                InputStreamReader reader = new InputStreamReader(fileInputStream, Charset.defaultCharset())) {
+            settings.load(reader);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not read baseline settings '" + settingsFile + "'.", e);
+        }
+        DependencyGraph graph;
+        try {
+            graph = IOUtilities.restoreDependencyGraph(graphFile, dictionary);
+        } catch (IOException e) {
+            log.warn("Could not read baseline dependency graph '" + graphFile + "': " + e.getMessage());
+            return null;
+        }
+        ResultsMerger merger = new ResultsMerger(log, dictionary);
+        merger.merge(resultsFile);
+        return new Baseline(settings, graph, merger.getResults());
+    }
+
+    private final Properties settings;
+    private final DependencyGraph graph;
+    private final Map<ArtifactInformation, List<ValidationResult>> results;
+
+    /**
+     * Contains the ids of all nodes which can be reused, because they and all
+     * their dependencies have results and are no SNAPSHOTs.
+     */
+    private final BitSet reusable;
+
+    /**
+     * Creates a new baseline.
+     *
+     * @param settings is the settings of the baseline run.
+     * @param graph    is the {@link DependencyGraph} snapshot of the baseline run.
+     * @param results  is the {@link Map} of {@link ValidationResult}s per artifact
+     *                 of the baseline run.
+     */
+    public Baseline(Properties settings, DependencyGraph graph,
+            Map<ArtifactInformation, List<ValidationResult>> results) {
+        super();
+        this.settings = settings;
+        this.graph = graph;
+        this.results = results;
+        this.reusable = getReusable(graph, results);
+    }
+
+    /**
+     * Determines all reusable nodes of the graph in a single pass: the nodes
+     * without results and the SNAPSHOT nodes are not reusable and neither are all
+     * nodes which depend on them directly or transitively. The latter are found
+     * by walking the edges backwards, so every node and edge is visited once.
+     */
+    private static BitSet getReusable(DependencyGraph graph,
+            Map<ArtifactInformation, List<ValidationResult>> results) {
+        int nodeCount = graph.getNodeCount();
+        int[] parentOffsets = new int[nodeCount + 1];
+        for (int edge = 0; edge < graph.getEdgeCount(); edge++) {
+            parentOffsets[graph.getTarget(edge) + 1]++;
+        }
+        for (int id = 0; id < nodeCount; id++) {
+            parentOffsets[id + 1] += parentOffsets[id];
+        }
+        int[] parents = new int[graph.getEdgeCount()];
+        int[] positions = Arrays.copyOf(parentOffsets, nodeCount);
+        for (int id = 0; id < nodeCount; id++) {
+            for (int edge = graph.getEdgesStart(id); edge < graph.getEdgesEnd(id); edge++) {
+                parents[positions[graph.getTarget(edge)]++] = id;
+            }
+        }
+        BitSet unusable = new BitSet(nodeCount);
+        int[] stack = new int[nodeCount];
+        int size = 0;
+        for (int id = 0; id < nodeCount; id++) {
+            ArtifactInformation artifactInformation = graph.getArtifact(id);
+            if (!results.containsKey(artifactInformation)
+                    || ArtifactUtils.isSnapshot(artifactInformation.getVersion())) {
+                unusable.set(id);
+                stack[size++] = id;
+            }
+        }
+        while (size > 0) {
+            int id = stack[--size];
+            for (int i = parentOffsets[id]; i < parentOffsets[id + 1]; i++) {
+                int parent = parents[i];
+                if (!unusable.get(parent)) {
+                    unusable.set(parent);
+                    stack[size++] = parent;
+                }
+            }
+        }
+        BitSet reusable = new BitSet(nodeCount);
+        reusable.set(0, nodeCount);
+        reusable.andNot(unusable);
+        return reusable;
+    }
+
+    /**
+     * Checks whether the baseline was created with the same settings and license
+     * policy.
+     *
+     * @param currentSettings is the settings of the current run.
+     * @return <code>true</code> is returned if the baseline can be reused.
+     */
+    public boolean isCompatible(Properties currentSettings) {
+        for (String key : COMPATIBILITY_SETTINGS) {
+            if (!Objects.equals(settings.getProperty(key), currentSettings.getProperty(key))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether an artifact and all its dependencies are contained in the
+     * baseline. Subtrees containing SNAPSHOT artifacts are never contained,
+     * because their POMs may have changed since the baseline run. The lookup is
+     * answered from the reusable nodes determined once for the whole graph.
+     *
+     * @param artifactInformation is the {@link ArtifactInformation} to look up.
+     * @return <code>true</code> is returned if the results of the artifact and its
+     *         dependencies can be taken from the baseline.
+     */
+    public boolean contains(ArtifactInformation artifactInformation) {
+        int id = graph.getId(artifactInformation);
+        return (id >= 0) && reusable.get(id);
+    }
+
+    /**
+     * Returns an artifact and all artifacts reachable from it in the baseline
+     * dependency graph.
+     *
+     * @param artifactInformation is the {@link ArtifactInformation} to look up.
+     * @return A {@link List} of {@link ArtifactInformation} is returned. The list
+     *         is empty if the artifact is not part of the baseline.
+     */
+    public List<ArtifactInformation> getSubtree(ArtifactInformation artifactInformation) {
+        return getSubtree(artifactInformation, new HashSet<ArtifactInformation>());
+    }
+
+    /**
+     * Returns an artifact and all artifacts reachable from it in the baseline
+     * dependency graph which are not part of the given set. The traversal does
+     * not descend into artifacts of the set, so that taking the subtrees of many
+     * overlapping artifacts visits every node only once. The artifacts returned
+     * are added to the set.
+     *
+     * @param artifactInformation is the {@link ArtifactInformation} to look up.
+     * @param checkedArtifacts    is the {@link Set} of artifacts already taken
+     *                            together with their dependencies.
+     * @return A {@link List} of {@link ArtifactInformation} is returned. The list
+     *         is empty if the artifact is not part of the baseline or was already
+     *         taken.
+     */
+    public List<ArtifactInformation> getSubtree(ArtifactInformation artifactInformation,
+            Set<ArtifactInformation> checkedArtifacts) {
+        int id = graph.getId(artifactInformation);
+        if ((id < 0) || !checkedArtifacts.add(artifactInformation)) {
+            return Collections.emptyList();
+        }
+        List<ArtifactInformation> subtree = new ArrayList<>();
+        subtree.add(artifactInformation);
+        int[] stack = new int[16];
+        int size = 0;
+        stack[size++] = id;
+        while (size > 0) {
+            int current = stack[--size];
+            for (int edge = graph.getEdgesStart(current); edge < graph.getEdgesEnd(current); edge++) {
+                int target = graph.getTarget(edge);
+                ArtifactInformation targetArtifact = graph.getArtifact(target);
+                if (checkedArtifacts.add(targetArtifact)) {
+                    subtree.add(targetArtifact);
+                    if (size == stack.length) {
+                        stack = Arrays.copyOf(stack, size * 2);
+                    }
+                    stack[size++] = target;
+                }
+            }
+        }
+        return subtree;
+    }
+
+    /**
+     * Returns the baseline results of an artifact.
+     *
+     * @param artifactInformation is the {@link ArtifactInformation} to look up.
+     * @return A {@link List} of {@link ValidationResult}s is returned. The list is
+     *         empty if there are no results.
+     */
+    public List<ValidationResult> getResults(ArtifactInformation artifactInformation) {
+        List<ValidationResult> artifactResults = results.get(artifactInformation);
+        return artifactResults != null ? artifactResults : Collections.<ValidationResult>emptyList();
+    }
+}
@@ -0,0 +1,196 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+/**
+ * This {@link ResultExporter} distributes the results to several exporters
+ * which are written concurrently. Each exporter has its own thread, so the
+ * order of the results is kept per exporter. The queue of each exporter is
+ * bounded and the validation blocks if an exporter falls behind.
+ *
+ * The first exception of an exporter stops this exporter and is thrown with the
+ * next call.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class ConcurrentResultExporter implements ResultExporter {
+
+    private static final int QUEUE_SIZE = 1024;
+
+    /**
+     * This handler blocks the caller until the queue has space again.
+     */
+    private static final RejectedExecutionHandler BLOCKING_HANDLER = new RejectedExecutionHandler() {
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Exporter was already closed.");
+            }
+            try {
+                executor.getQueue().put(runnable);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for exporter.", e);
+            }
+        }
+    };
+
+    /**
+     * This interface is used for the calls to be run on the exporters.
+     */
+    private interface ExporterCall {
+        public void call(ResultExporter exporter) throws IOException;
+    }
+
+    /**
+     * This class contains a single exporter with its executor.
+     */
+    private static class ExporterThread {
+
+        private final ResultExporter exporter;
+        private final ThreadPoolExecutor executor;
+        private volatile IOException exception = null;
+
+        private ExporterThread(ResultExporter exporter) {
+            this.exporter = exporter;
+            this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<Runnable>(QUEUE_SIZE), BLOCKING_HANDLER);
+        }
+
+        private void submit(final ExporterCall call) throws IOException {
+            checkException();
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (exception != null) {
+                        return;
+                    }
+                    try {
+                        call.call(exporter);
+                    } catch (IOException | RuntimeException e) {
+                        exception = e instanceof IOException ? (IOException) e
+                                : new IOException("Export failed.", e);
+                    }
+                }
+            });
+        }
+
+        private void checkException() throws IOException {
+            if (exception != null) {
+                throw exception;
+            }
+        }
+
+        private void await() throws IOException {
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                    // wait until all queued results are written
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for exporter.", e);
+            }
+            checkException();
+        }
+    }
+
+    private final List<ExporterThread> threads = new ArrayList<>();
+
+    /**
+     * Creates a new concurrent exporter.
+     *
+     * @param exporters is a {@link List} of {@link ResultExporter}s to be written
+     *                  concurrently.
+     */
+    public ConcurrentResultExporter(List<ResultExporter> exporters) {
+        for (ResultExporter exporter : exporters) {
+            threads.add(new ExporterThread(exporter));
+        }
+    }
+
+    @Override
+    public void begin(final ArtifactInformation project) throws IOException {
+        submit(new ExporterCall() {
+            @Override
+            public void call(ResultExporter exporter) throws IOException {
+                exporter.begin(project);
+            }
+        });
+    }
+
+    @Override
+    public void export(final ValidationResult validationResult) throws IOException {
+        submit(new ExporterCall() {
+            @Override
+            public void call(ResultExporter exporter) throws IOException {
+                exporter.export(validationResult);
+            }
+        });
+    }
+
+    @Override
+    public void end() throws IOException {
+        submit(new ExporterCall() {
+            @Override
+            public void call(ResultExporter exporter) throws IOException {
+                exporter.end();
+            }
+        });
+        IOException exception = null;
+        for (ExporterThread thread : threads) {
+            try {
+                thread.await();
+            } catch (IOException e) {
+                if (exception == null) {
+                    exception = e;
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private void submit(ExporterCall call) throws IOException {
+        for (ExporterThread thread : threads) {
+            thread.submit(call);
+        }
+    }
+
+    /**
+     * Closes all exporters. Exporters which are still running are aborted.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException exception = null;
+        for (ExporterThread thread : threads) {
+            thread.executor.shutdownNow();
+            try {
+                thread.executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            try {
+                thread.exporter.close();
+            } catch (IOException e) {
+                if (exception == null) {
+                    exception = e;
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+}
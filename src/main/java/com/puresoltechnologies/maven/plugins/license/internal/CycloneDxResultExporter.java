@@ -0,0 +1,172 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URL;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+/**
+ * This {@link ResultExporter} writes a CycloneDX 1.4 JSON bill of materials
+ * with one component per artifact and its licenses. The validation result of
+ * each component is added as property.
+ *
+ * The package URL is used as <code>bom-ref</code>, so it must be unique within
+ * the document. An artifact can occur several times in the dependency tree
+ * with different scopes, therefore the components are collected by package URL
+ * and written at the end. A component merges the licenses of all occurrences,
+ * is valid only if all occurrences are valid and is required if one of the
+ * occurrences is not in test scope.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class CycloneDxResultExporter extends AbstractArtifactExporter {
+
+    /**
+     * This class contains the data of a single component collected from all
+     * occurrences of its artifact.
+     */
+    private static class Component {
+
+        private final ArtifactInformation artifactInformation;
+        private final Map<String, URL> licenses = new LinkedHashMap<>();
+        private boolean required = false;
+        private boolean valid = true;
+
+        private Component(ArtifactInformation artifactInformation) {
+            this.artifactInformation = artifactInformation;
+        }
+    }
+
+    private final JsonWriter writer;
+    private final Map<String, Component> components = new LinkedHashMap<>();
+
+    public CycloneDxResultExporter(Writer writer) {
+        this.writer = new JsonWriter(writer);
+    }
+
+    @Override
+    public void begin(ArtifactInformation project) throws IOException {
+        writer.beginObject();
+        writer.member("bomFormat", "CycloneDX");
+        writer.member("specVersion", "1.4");
+        writer.name("version").value(1);
+        writer.name("metadata").beginObject();
+        writer.member("timestamp", Instant.now().truncatedTo(ChronoUnit.SECONDS).toString());
+        writer.name("tools").beginArray();
+        writer.beginObject().member("name", "license-maven-plugin").endObject();
+        writer.endArray();
+        writer.name("component").beginObject();
+        writer.member("type", "application");
+        writeCoordinates(project);
+        writer.endObject();
+        writer.endObject();
+    }
+
+    @Override
+    protected void exportArtifact(ArtifactInformation artifactInformation, List<ValidationResult> validationResults)
+            throws IOException {
+        String purl = toPackageURL(artifactInformation);
+        Component component = components.get(purl);
+        if (component == null) {
+            component = new Component(artifactInformation);
+            components.put(purl, component);
+        }
+        component.required |= !"test".equals(artifactInformation.getScope());
+        for (ValidationResult validationResult : validationResults) {
+            component.valid &= validationResult.isValid();
+            String name = validationResult.getOriginalLicenseName();
+            URL url = validationResult.getOriginalLicenseURL();
+            KnownLicense license = validationResult.getLicense();
+            if ((license != null) && (license.getName() != null) && !license.getName().isEmpty()) {
+                name = license.getName();
+                url = license.getUrl();
+            }
+            if ((name != null) && !component.licenses.containsKey(name)) {
+                component.licenses.put(name, url);
+            }
+        }
+    }
+
+    private void writeComponent(Component component) throws IOException {
+        writer.beginObject();
+        writer.member("type", "library");
+        writeCoordinates(component.artifactInformation);
+        writer.member("scope", component.required ? "required" : "excluded");
+        writer.name("licenses").beginArray();
+        for (Entry<String, URL> license : component.licenses.entrySet()) {
+            writer.beginObject();
+            writer.name("license").beginObject();
+            writer.member("name", license.getKey());
+            if (license.getValue() != null) {
+                writer.member("url", license.getValue().toString());
+            }
+            writer.endObject();
+            writer.endObject();
+        }
+        writer.endArray();
+        writer.name("properties").beginArray();
+        writer.beginObject().member("name", "license-maven-plugin:valid")
+                .member("value", String.valueOf(component.valid)).endObject();
+        writer.endArray();
+        writer.endObject();
+    }
+
+    private void writeCoordinates(ArtifactInformation artifactInformation) throws IOException {
+        String purl = toPackageURL(artifactInformation);
+        writer.member("bom-ref", purl);
+        writer.member("group", artifactInformation.getGroupId());
+        writer.member("name", artifactInformation.getArtifactId());
+        writer.member("version", artifactInformation.getVersion());
+        writer.member("purl", purl);
+    }
+
+    /**
+     * Creates the package URL of a Maven artifact.
+     *
+     * @param artifactInformation is the {@link ArtifactInformation} of the
+     *                            artifact.
+     * @return A {@link String} is returned containing the package URL.
+     */
+    static String toPackageURL(ArtifactInformation artifactInformation) {
+        StringBuilder builder = new StringBuilder("pkg:maven/");
+        builder.append(artifactInformation.getGroupId()).append('/').append(artifactInformation.getArtifactId())
+                .append('@').append(artifactInformation.getVersion());
+        String type = artifactInformation.getType();
+        String classifier = artifactInformation.getClassifier();
+        char separator = '?';
+        if ((type != null) && !type.isEmpty() && !"null".equals(type) && !"jar".equals(type)) {
+            builder.append(separator).append("type=").append(type);
+            separator = '&';
+        }
+        if ((classifier != null) && !classifier.isEmpty() && !"null".equals(classifier)) {
+            builder.append(separator).append("classifier=").append(classifier);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    protected void endArtifacts() throws IOException {
+        writer.name("components").beginArray();
+        for (Component component : components.values()) {
+            writeComponent(component);
+        }
+        components.clear();
+        writer.endArray();
+        writer.endObject();
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
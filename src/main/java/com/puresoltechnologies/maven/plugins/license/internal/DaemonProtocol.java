@@ -0,0 +1,283 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * This class contains the protocol between the 'verify' goal and the license
+ * daemon. Every connection carries a single {@link DaemonRequest} and its
+ * {@link DaemonResponse} as serialized objects, each preceded by a magic string
+ * and the protocol version.
+ * <p>
+ * The daemon only listens on the loopback interface, but every local user can
+ * connect to it. Therefore, the daemon writes a random token into a file in
+ * ~/.m2 which can only be read by its owner. Before the request is sent, client
+ * and daemon prove to each other that they know the token with a HMAC over two
+ * nonces, so the token itself is never sent. A request is only deserialized
+ * after the client was authenticated, and only classes of this plugin, of the
+ * JDK collections and URLs are deserialized at all.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class DaemonProtocol {
+
+    /**
+     * This is the default port of the license daemon.
+     */
+    public static final int DEFAULT_PORT = 48650;
+
+    static final String MAGIC = "license-maven-plugin-daemon";
+    static final int VERSION = 2;
+
+    /**
+     * This is the timeout in milliseconds for reading the authentication and the
+     * request on both sides. A client waiting in the backlog of a busy daemon runs
+     * into this timeout, too.
+     */
+    static final int READ_TIMEOUT = 10000;
+
+    private static final int CONNECT_TIMEOUT = 1000;
+
+    private static final int NONCE_LENGTH = 32;
+    private static final String DAEMON_ROLE = "daemon";
+    private static final String CLIENT_ROLE = "client";
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * Returns the file the daemon listening on the given port writes its token
+     * to.
+     *
+     * @param port is the port of the daemon.
+     * @return A {@link File} in ~/.m2 is returned.
+     */
+    public static File getTokenFile(int port) {
+        return new File(new File(System.getProperty("user.home"), ".m2"), "license-daemon-" + port + ".token");
+    }
+
+    /**
+     * Creates a new random token.
+     *
+     * @return The token is returned as hex string.
+     */
+    public static String createToken() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return IOUtilities.toHexString(bytes);
+    }
+
+    /**
+     * This method writes the token into a new file which can only be read and
+     * written by the current user. An existing file is replaced.
+     *
+     * @param tokenFile is the file to write the token to.
+     * @param token     is the token to be written.
+     * @throws IOException is thrown if the file could not be written.
+     */
+    public static void writeToken(File tokenFile, String token) throws IOException {
+        Path path = tokenFile.getAbsoluteFile().toPath();
+        Files.createDirectories(path.getParent());
+        Files.deleteIfExists(path);
+        if (path.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createFile(path);
+            File file = path.toFile();
+            if (!(file.setReadable(false, false) && file.setReadable(true, true) && file.setWritable(false, false)
+                    && file.setWritable(true, true))) {
+                Files.delete(path);
+                throw new IOException("Could not restrict the permissions of token file '" + tokenFile + "'.");
+            }
+        }
+        Files.write(path, token.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * This method reads the token written by {@link #writeToken(File, String)}.
+     *
+     * @param tokenFile is the file to read the token from.
+     * @return The token is returned. <code>null</code> is returned if the file
+     *         does not exist.
+     * @throws IOException is thrown if the file could not be read.
+     */
+    public static String readToken(File tokenFile) throws IOException {
+        if (!tokenFile.isFile()) {
+            return null;
+        }
+        return new String(Files.readAllBytes(tokenFile.toPath()), StandardCharsets.US_ASCII).trim();
+    }
+
+    /**
+     * This method sends a request to the daemon listening on the given port of
+     * the loopback interface and waits for the response.
+     *
+     * @param port    is the port of the daemon.
+     * @param token   is the token of the daemon read with
+     *                {@link #readToken(File)}.
+     * @param request is the {@link DaemonRequest} to be sent.
+     * @param timeout is the time in milliseconds to wait for the response after
+     *                the request was sent.
+     * @return The {@link DaemonResponse} is returned. <code>null</code> is
+     *         returned if no daemon is listening on the port or if the daemon
+     *         did not answer in time.
+     * @throws IOException is thrown in case the communication with the daemon
+     *                     failed or the daemon could not be authenticated.
+     */
+    public static DaemonResponse send(int port, String token, DaemonRequest request, int timeout)
+            throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), CONNECT_TIMEOUT);
+            socket.setSoTimeout(READ_TIMEOUT);
+            ObjectOutputStream output = createOutputStream(socket.getOutputStream());
+            byte[] clientNonce = createNonce();
+            output.write(clientNonce);
+            output.flush();
+            ObjectInputStream input = createInputStream(socket.getInputStream());
+            byte[] daemonNonce = readBytes(input, NONCE_LENGTH);
+            byte[] daemonProof = calculateProof(token, DAEMON_ROLE, clientNonce, daemonNonce);
+            if (!MessageDigest.isEqual(daemonProof, readBytes(input, daemonProof.length))) {
+                throw new IOException("License daemon could not be authenticated.");
+            }
+            output.write(calculateProof(token, CLIENT_ROLE, clientNonce, daemonNonce));
+            output.writeObject(request);
+            output.flush();
+            socket.setSoTimeout(timeout);
+            Object response = input.readObject();
+            if (!(response instanceof DaemonResponse)) {
+                throw new IOException("Unexpected response of license daemon.");
+            }
+            return (DaemonResponse) response;
+        } catch (ConnectException | SocketTimeoutException e) {
+            return null;
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Could not read response of license daemon.", e);
+        }
+    }
+
+    /**
+     * This method runs the daemon side of the authentication on a new
+     * connection. It returns after the client proved that it knows the token.
+     *
+     * @param input  is the stream created with
+     *               {@link #createInputStream(InputStream)}.
+     * @param output is the stream created with
+     *               {@link #createOutputStream(OutputStream)}.
+     * @param token  is the token of the daemon.
+     * @throws IOException is thrown if the client could not be authenticated.
+     */
+    static void authenticateClient(ObjectInputStream input, ObjectOutputStream output, String token)
+            throws IOException {
+        byte[] clientNonce = readBytes(input, NONCE_LENGTH);
+        byte[] daemonNonce = createNonce();
+        output.write(daemonNonce);
+        output.write(calculateProof(token, DAEMON_ROLE, clientNonce, daemonNonce));
+        output.flush();
+        byte[] clientProof = calculateProof(token, CLIENT_ROLE, clientNonce, daemonNonce);
+        if (!MessageDigest.isEqual(clientProof, readBytes(input, clientProof.length))) {
+            throw new IOException("Client of license daemon could not be authenticated.");
+        }
+    }
+
+    private static byte[] createNonce() {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        RANDOM.nextBytes(nonce);
+        return nonce;
+    }
+
+    private static byte[] readBytes(ObjectInputStream input, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Calculates the proof of a peer that it knows the token. The role is part of
+     * the proof, so the proof of the daemon cannot be replayed as proof of the
+     * client.
+     */
+    private static byte[] calculateProof(String token, String role, byte[] clientNonce, byte[] daemonNonce)
+            throws IOException {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(token.getBytes(StandardCharsets.US_ASCII), "HmacSHA256"));
+            mac.update(role.getBytes(StandardCharsets.US_ASCII));
+            mac.update(clientNonce);
+            mac.update(daemonNonce);
+            return mac.doFinal();
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IOException("Could not calculate the license daemon authentication.", e);
+        }
+    }
+
+    /**
+     * Creates the stream to write a request or response to. The magic string and
+     * the version are written immediately.
+     */
+    static ObjectOutputStream createOutputStream(OutputStream outputStream) throws IOException {
+        ObjectOutputStream output = new ObjectOutputStream(new BufferedOutputStream(outputStream));
+        output.writeUTF(MAGIC);
+        output.writeInt(VERSION);
+        return output;
+    }
+
+    /**
+     * Creates the stream to read a request or response from. The magic string
+     * and the version are checked immediately.
+     */
+    static ObjectInputStream createInputStream(InputStream inputStream) throws IOException {
+        ObjectInputStream input = new ObjectInputStream(new BufferedInputStream(inputStream)) {
+            @Override
+            protected Class<?> resolveClass(ObjectStreamClass description) throws IOException, ClassNotFoundException {
+                if (!isAllowed(description.getName())) {
+                    throw new InvalidClassException(description.getName(), "Class is not allowed in license daemon.");
+                }
+                return Class.forName(description.getName(), false, DaemonProtocol.class.getClassLoader());
+            }
+        };
+        if (!MAGIC.equals(input.readUTF())) {
+            throw new IOException("Peer is not a license daemon.");
+        }
+        int version = input.readInt();
+        if (version != VERSION) {
+            throw new IOException("License daemon protocol version " + version + " is not supported.");
+        }
+        return input;
+    }
+
+    private static boolean isAllowed(String className) {
+        String name = className.replaceFirst("^\\[+L?", "").replace(";", "");
+        return name.length() == 1 // primitive arrays
+                || name.startsWith("com.puresoltechnologies.maven.plugins.license.") //
+                || name.startsWith("java.util.") //
+                || name.startsWith("java.lang.") //
+                || name.equals("java.net.URL");
+    }
+
+    /**
+     * Private default constructor to avoid instantiation.
+     */
+    private DaemonProtocol() {
+    }
+}
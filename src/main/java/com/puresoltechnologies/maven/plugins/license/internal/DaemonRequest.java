@@ -0,0 +1,128 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
+import org.apache.maven.artifact.repository.MavenArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+
+/**
+ * This class is a request sent to the license daemon to resolve the dependency
+ * tree of a project. It contains the root artifact with the dependencies and
+ * licenses declared in the project, because the project itself is usually not
+ * installed in a repository, the remote repositories of the project and the
+ * settings of the resolution. The {@link LicensePolicy} is always compiled by
+ * the client itself.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class DaemonRequest implements Serializable {
+
+    private static final long serialVersionUID = -2071513940869745296L;
+
+    /**
+     * This is a remote repository of the project. Only the id, the URL and the
+     * policies are transferred. The authentication and proxy settings are taken
+     * from the daemon's own repository with the same id and URL, if any.
+     */
+    public static class Repository implements Serializable {
+
+        private static final long serialVersionUID = 4318727066204538471L;
+
+        private final String id;
+        private final String url;
+        private final boolean releasesEnabled;
+        private final String releasesUpdatePolicy;
+        private final String releasesChecksumPolicy;
+        private final boolean snapshotsEnabled;
+        private final String snapshotsUpdatePolicy;
+        private final String snapshotsChecksumPolicy;
+
+        public Repository(ArtifactRepository repository) {
+            super();
+            this.id = repository.getId();
+            this.url = repository.getUrl();
+            ArtifactRepositoryPolicy releases = repository.getReleases();
+            this.releasesEnabled = releases.isEnabled();
+            this.releasesUpdatePolicy = releases.getUpdatePolicy();
+            this.releasesChecksumPolicy = releases.getChecksumPolicy();
+            ArtifactRepositoryPolicy snapshots = repository.getSnapshots();
+            this.snapshotsEnabled = snapshots.isEnabled();
+            this.snapshotsUpdatePolicy = snapshots.getUpdatePolicy();
+            this.snapshotsChecksumPolicy = snapshots.getChecksumPolicy();
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * Creates the {@link ArtifactRepository} out of this repository.
+         *
+         * @return A {@link ArtifactRepository} with the default layout is returned.
+         */
+        public ArtifactRepository toArtifactRepository() {
+            return new MavenArtifactRepository(id, url, new DefaultRepositoryLayout(),
+                    new ArtifactRepositoryPolicy(snapshotsEnabled, snapshotsUpdatePolicy, snapshotsChecksumPolicy),
+                    new ArtifactRepositoryPolicy(releasesEnabled, releasesUpdatePolicy, releasesChecksumPolicy));
+        }
+    }
+
+    private final DeclaredDependency root;
+    private final ArtifactMetadata rootMetadata;
+    private final ArrayList<Repository> repositories = new ArrayList<>();
+    private final boolean recursive;
+    private final boolean skipTestScope;
+    private final boolean skipProvidedScope;
+    private final boolean skipOptionals;
+
+    public DaemonRequest(DeclaredDependency root, ArtifactMetadata rootMetadata,
+            List<ArtifactRepository> repositories, boolean recursive, boolean skipTestScope,
+            boolean skipProvidedScope, boolean skipOptionals) {
+        super();
+        this.root = root;
+        this.rootMetadata = rootMetadata;
+        for (ArtifactRepository repository : repositories) {
+            this.repositories.add(new Repository(repository));
+        }
+        this.recursive = recursive;
+        this.skipTestScope = skipTestScope;
+        this.skipProvidedScope = skipProvidedScope;
+        this.skipOptionals = skipOptionals;
+    }
+
+    public DeclaredDependency getRoot() {
+        return root;
+    }
+
+    public ArtifactMetadata getRootMetadata() {
+        return rootMetadata;
+    }
+
+    public List<Repository> getRepositories() {
+        return repositories;
+    }
+
+    public boolean isRecursive() {
+        return recursive;
+    }
+
+    public boolean isSkipTestScope() {
+        return skipTestScope;
+    }
+
+    public boolean isSkipProvidedScope() {
+        return skipProvidedScope;
+    }
+
+    public boolean isSkipOptionals() {
+        return skipOptionals;
+    }
+}
@@ -0,0 +1,141 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+
+/**
+ * This class is the response of the license daemon. It contains the resolved
+ * dependency tree as list of nodes in depth-first pre-order together with their
+ * depth, and the artifacts whose POMs could not be built. These artifacts are
+ * missing in the tree the same way they are during an in-process resolution.
+ * If the request failed, only an error message is contained.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class DaemonResponse implements Serializable {
+
+    private static final long serialVersionUID = 6413962417356101838L;
+
+    /**
+     * This is a single node of the dependency tree. The artifact of the node is
+     * built out of {@link #dependency} and the artifact of its parent node.
+     */
+    private static class Node implements Serializable {
+
+        private static final long serialVersionUID = -4707330939866815335L;
+
+        private final int depth;
+        private final DeclaredDependency dependency;
+        private final List<DeclaredLicense> licenses;
+
+        private Node(int depth, DeclaredDependency dependency, List<DeclaredLicense> licenses) {
+            this.depth = depth;
+            this.dependency = dependency;
+            this.licenses = licenses;
+        }
+    }
+
+    /**
+     * Creates the response for a resolved dependency tree.
+     *
+     * @param dependencyTree is the {@link DependencyTree} resolved. It may be
+     *                       <code>null</code> if the root could not be resolved.
+     * @param failedArtifacts is the {@link List} of artifacts whose POMs could not
+     *                        be built.
+     * @return A {@link DaemonResponse} is returned.
+     */
+    public static DaemonResponse of(DependencyTree dependencyTree, List<String> failedArtifacts) {
+        final List<Node> nodes = new ArrayList<>();
+        if (dependencyTree != null) {
+            dependencyTree.accept(new DependencyTreeVisitor() {
+                @Override
+                public boolean visitEnter(DependencyTree node, int depth) {
+                    nodes.add(new Node(depth, DependencyUtilities.toDeclaredDependency(node.getArtifact()),
+                            node.getLicenses()));
+                    return true;
+                }
+            });
+        }
+        return new DaemonResponse(nodes, failedArtifacts, null);
+    }
+
+    /**
+     * Creates the response for a failed request.
+     *
+     * @param error is the message of the failure.
+     * @return A {@link DaemonResponse} is returned.
+     */
+    public static DaemonResponse failure(String error) {
+        return new DaemonResponse(Collections.<Node>emptyList(), Collections.<String>emptyList(), error);
+    }
+
+    private final List<Node> nodes;
+    private final ArrayList<String> failedArtifacts;
+    private final String error;
+
+    private DaemonResponse(List<Node> nodes, List<String> failedArtifacts, String error) {
+        this.nodes = nodes;
+        this.failedArtifacts = new ArrayList<>(failedArtifacts);
+        this.error = error;
+    }
+
+    /**
+     * Returns the error message of a failed request.
+     *
+     * @return A {@link String} is returned. <code>null</code> is returned if the
+     *         request was successful.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Returns the artifacts whose POMs could not be built by the daemon.
+     *
+     * @return A {@link List} of artifact coordinates is returned.
+     */
+    public List<String> getFailedArtifacts() {
+        return failedArtifacts;
+    }
+
+    public int getNodeCount() {
+        return nodes.size();
+    }
+
+    /**
+     * This method builds the {@link DependencyTree} out of the nodes. The
+     * artifacts are built the same way as during an in-process resolution, so the
+     * tree is equal to the one resolved in-process.
+     *
+     * @param rootArtifact is the {@link Artifact} of the project, which is used
+     *                     as root.
+     * @param dictionary   is the {@link InternDictionary} of the current
+     *                     execution.
+     * @return A {@link DependencyTree} is returned. <code>null</code> is returned
+     *         if the root could not be resolved by the daemon.
+     */
+    public DependencyTree toDependencyTree(Artifact rootArtifact, InternDictionary dictionary) {
+        if (nodes.isEmpty()) {
+            return null;
+        }
+        List<DependencyTree> path = new ArrayList<>();
+        for (Node node : nodes) {
+            Artifact artifact = node.depth == 0 ? rootArtifact
+                    : DependencyUtilities.buildArtifact(path.get(node.depth - 1).getArtifact(), node.dependency);
+            DependencyTree treeNode = new DependencyTree(artifact, dictionary.artifactInformation(artifact),
+                    Collections.<DeclaredDependency>emptyList(), node.licenses);
+            while (path.size() > node.depth) {
+                path.remove(path.size() - 1);
+            }
+            if (node.depth > 0) {
+                path.get(node.depth - 1).addChildNode(treeNode);
+            }
+            path.add(treeNode);
+        }
+        return path.get(0);
+    }
+}
@@ -0,0 +1,117 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * This class is the server of the license daemon. It listens on the loopback
+ * interface only and handles the connections one after another, so the
+ * {@link Handler} does not need to be thread-safe and can keep its caches
+ * without synchronization. Reading from a client times out, so an idle client
+ * cannot block the daemon.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class DaemonServer implements AutoCloseable {
+
+    /**
+     * This is the handler of the requests.
+     */
+    public interface Handler {
+
+        /**
+         * This method handles a single request.
+         *
+         * @param request is the {@link DaemonRequest} to be handled.
+         * @return The {@link DaemonResponse} is returned.
+         * @throws Exception is thrown in case of any failure. The failure is sent
+         *                   to the client as failed response.
+         */
+        DaemonResponse handle(DaemonRequest request) throws Exception;
+    }
+
+    private final Log log;
+    private final String token;
+    private final Handler handler;
+    private final int readTimeout;
+    private final ServerSocket serverSocket;
+
+    /**
+     * Creates the server and binds it to the given port.
+     *
+     * @param log     is the {@link Log} to write failures to.
+     * @param port    is the port to listen on. 0 is used to select a free port.
+     * @param token   is the token clients need to know. See
+     *                {@link DaemonProtocol#createToken()}.
+     * @param handler is the {@link Handler} of the requests.
+     * @throws IOException is thrown if the port could not be bound.
+     */
+    public DaemonServer(Log log, int port, String token, Handler handler) throws IOException {
+        this(log, port, token, handler, DaemonProtocol.READ_TIMEOUT);
+    }
+
+    DaemonServer(Log log, int port, String token, Handler handler, int readTimeout) throws IOException {
+        this.log = log;
+        this.token = token;
+        this.handler = handler;
+        this.readTimeout = readTimeout;
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return The port is returned.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * This method handles connections until the server is closed.
+     */
+    public void run() {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                socket.setSoTimeout(readTimeout);
+                handle(socket);
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.warn("Could not handle license daemon request.", e);
+                }
+            }
+        }
+    }
+
+    private void handle(Socket socket) throws IOException {
+        ObjectInputStream input = DaemonProtocol.createInputStream(socket.getInputStream());
+        ObjectOutputStream output = DaemonProtocol.createOutputStream(socket.getOutputStream());
+        DaemonProtocol.authenticateClient(input, output, token);
+        DaemonResponse response;
+        try {
+            Object request = input.readObject();
+            if (!(request instanceof DaemonRequest)) {
+                throw new IOException("Unexpected license daemon request.");
+            }
+            response = handler.handle((DaemonRequest) request);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            log.warn("License daemon request failed.", e);
+            response = DaemonResponse.failure(String.valueOf(e.getMessage()));
+        }
+        output.writeObject(response);
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+}
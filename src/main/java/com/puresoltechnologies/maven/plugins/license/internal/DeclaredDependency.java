@@ -0,0 +1,73 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.Serializable;
+
+import org.apache.maven.model.Dependency;
+
+/**
+ * This class is the compact form of a {@link Dependency} declared in the POM of
+ * an artifact. Only the coordinates, the scope and the optional flag are kept,
+ * so the Maven model objects with their exclusions, system paths and input
+ * locations can be garbage collected right after the POM was built. Instances
+ * are immutable and created by
+ * {@link InternDictionary#declaredDependencies(java.util.List)}.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class DeclaredDependency implements Serializable {
+
+    private static final long serialVersionUID = -3385473328180217514L;
+
+    private final String groupId;
+    private final String artifactId;
+    private final String version;
+    private final String classifier;
+    private final String type;
+    private final String scope;
+    private final boolean optional;
+
+    public DeclaredDependency(String groupId, String artifactId, String version, String classifier, String type,
+            String scope, boolean optional) {
+        super();
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.version = version;
+        this.classifier = classifier;
+        this.type = type;
+        this.scope = scope;
+        this.optional = optional;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getClassifier() {
+        return classifier;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public boolean isOptional() {
+        return optional;
+    }
+
+    @Override
+    public String toString() {
+        return ArtifactUtilities.toString(this);
+    }
+}
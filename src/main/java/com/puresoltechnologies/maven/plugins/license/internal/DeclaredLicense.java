@@ -0,0 +1,48 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.Serializable;
+import java.net.URL;
+
+import org.apache.maven.model.License;
+
+/**
+ * This class is the compact form of a {@link License} declared in the POM of an
+ * artifact. Only the name and the URL are kept, because nothing else is used for
+ * the validation. Instances are immutable and shared by all artifacts declaring
+ * the same license. They are created by
+ * {@link InternDictionary#declaredLicenses(java.util.List)}.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class DeclaredLicense implements Serializable {
+
+    private static final long serialVersionUID = 8127310961413529061L;
+
+    private final String name;
+    private final URL url;
+
+    public DeclaredLicense(String name, URL url) {
+        super();
+        this.name = name;
+        this.url = url;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the URL of the license.
+     *
+     * @return A {@link URL} is returned. <code>null</code> is returned if the URL
+     *         was missing or malformed.
+     */
+    public URL getUrl() {
+        return url;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + url + ")";
+    }
+}
@@ -0,0 +1,339 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.maven.artifact.Artifact;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+
+/**
+ * This class contains a compact, immutable dependency graph. In contrast to
+ * {@link DependencyTree}, every unique artifact is contained only once and is
+ * identified by an int id. The adjacency is kept in primitive arrays in
+ * compressed sparse row (CSR) layout: the children of node <code>id</code> are
+ * the targets of the edges <code>offsets[id]</code> (inclusive) to
+ * <code>offsets[id + 1]</code> (exclusive). The scope of an edge is stored as
+ * byte code and the optional flags are packed into a {@link BitSet}.
+ *
+ * Instances are created with a {@link Builder} or from a {@link DependencyTree}
+ * with {@link #of(DependencyTree)}. The snapshot of the dependencies of a
+ * validation run is stored as text with
+ * {@link IOUtilities#storeDependencyGraph(java.io.File, DependencyGraph)}.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class DependencyGraph {
+
+    /**
+     * Contains the known scopes. The index of a scope is its byte code.
+     * {@link #SCOPE_OTHER} is used for unknown scopes.
+     */
+    private static final String[] SCOPES = { Artifact.SCOPE_COMPILE, Artifact.SCOPE_RUNTIME,
+            Artifact.SCOPE_PROVIDED, Artifact.SCOPE_TEST, Artifact.SCOPE_SYSTEM, Artifact.SCOPE_IMPORT };
+
+    /**
+     * This is the code for a missing or an unknown scope.
+     */
+    public static final byte SCOPE_OTHER = -1;
+
+    /**
+     * This method creates a {@link DependencyGraph} out of a
+     * {@link DependencyTree}. The children of an artifact are taken from its first
+     * occurrence in the tree.
+     *
+     * @param tree is the {@link DependencyTree} to be converted.
+     * @return A {@link DependencyGraph} is returned containing all unique artifacts
+     *         of the tree. The root of the tree has id 0.
+     */
+    public static DependencyGraph of(DependencyTree tree) {
+        Builder builder = new Builder();
+        BitSet expanded = new BitSet();
+        for (DependencyTree node : tree) {
+            int id = builder.addNode(node.getArtifactInformation());
+            if (expanded.get(id)) {
+                continue;
+            }
+            expanded.set(id);
+            for (DependencyTree child : node.getChildren()) {
+                Artifact artifact = child.getArtifact();
+                builder.addEdge(id, builder.addNode(child.getArtifactInformation()), artifact.getScope(),
+                        artifact.isOptional());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the byte code of a scope.
+     *
+     * @param scope is the name of the scope.
+     * @return The code is returned. {@link #SCOPE_OTHER} is returned for unknown
+     *         scopes.
+     */
+    public static byte getScopeCode(String scope) {
+        for (byte i = 0; i < SCOPES.length; i++) {
+            if (SCOPES[i].equals(scope)) {
+                return i;
+            }
+        }
+        return SCOPE_OTHER;
+    }
+
+    /**
+     * Returns the name of a scope code.
+     *
+     * @param code is the byte code of the scope.
+     * @return The name of the scope is returned. <code>null</code> is returned for
+     *         {@link #SCOPE_OTHER}.
+     */
+    public static String getScopeName(byte code) {
+        return code == SCOPE_OTHER ? null : SCOPES[code];
+    }
+
+    private final ArtifactInformation[] artifacts;
+    private final Map<ArtifactInformation, Integer> ids;
+    private final int[] offsets;
+    private final int[] targets;
+    private final byte[] scopes;
+    private final BitSet optionals;
+
+    private DependencyGraph(ArtifactInformation[] artifacts, Map<ArtifactInformation, Integer> ids, int[] offsets,
+            int[] targets, byte[] scopes, BitSet optionals) {
+        super();
+        this.artifacts = artifacts;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.scopes = scopes;
+        this.optionals = optionals;
+    }
+
+    /**
+     * Returns the number of nodes (unique artifacts).
+     *
+     * @return The number of nodes is returned.
+     */
+    public int getNodeCount() {
+        return artifacts.length;
+    }
+
+    /**
+     * Returns the number of edges.
+     *
+     * @return The number of edges is returned.
+     */
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the id of the given artifact.
+     *
+     * @param artifactInformation is the {@link ArtifactInformation} to look up.
+     * @return The id is returned or -1 if the artifact is not part of the graph.
+     */
+    public int getId(ArtifactInformation artifactInformation) {
+        Integer id = ids.get(artifactInformation);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the artifact of a node.
+     *
+     * @param id is the id of the node.
+     * @return The {@link ArtifactInformation} is returned.
+     */
+    public ArtifactInformation getArtifact(int id) {
+        return artifacts[id];
+    }
+
+    /**
+     * Returns the index of the first edge of a node.
+     *
+     * @param id is the id of the node.
+     * @return The index of the first outgoing edge is returned.
+     */
+    public int getEdgesStart(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * Returns the index after the last edge of a node.
+     *
+     * @param id is the id of the node.
+     * @return The exclusive end index of the outgoing edges is returned.
+     */
+    public int getEdgesEnd(int id) {
+        return offsets[id + 1];
+    }
+
+    /**
+     * Returns the target node of an edge.
+     *
+     * @param edge is the index of the edge.
+     * @return The id of the child node is returned.
+     */
+    public int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns the scope code of an edge.
+     *
+     * @param edge is the index of the edge.
+     * @return The scope code is returned. Use {@link #getScopeName(byte)} to
+     *         convert it.
+     */
+    public byte getScope(int edge) {
+        return scopes[edge];
+    }
+
+    /**
+     * Returns whether an edge is optional.
+     *
+     * @param edge is the index of the edge.
+     * @return <code>true</code> is returned if the dependency is optional.
+     */
+    public boolean isOptional(int edge) {
+        return optionals.get(edge);
+    }
+
+    /**
+     * This method returns all nodes reachable from a start node including the start
+     * node itself. The traversal is iterative and uses a stack of int ids only.
+     *
+     * @param start is the id of the start node.
+     * @return A {@link BitSet} is returned with the ids of all reachable nodes set.
+     */
+    public BitSet getReachable(int start) {
+        BitSet visited = new BitSet(artifacts.length);
+        int[] stack = new int[16];
+        int size = 0;
+        stack[size++] = start;
+        visited.set(start);
+        while (size > 0) {
+            int id = stack[--size];
+            for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+                int target = targets[edge];
+                if (!visited.get(target)) {
+                    visited.set(target);
+                    if (size == stack.length) {
+                        stack = Arrays.copyOf(stack, size * 2);
+                    }
+                    stack[size++] = target;
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * This is the builder for {@link DependencyGraph}. Nodes are added with
+     * {@link #addNode(ArtifactInformation)} and get consecutive ids starting with
+     * 0. Duplicate edges are ignored.
+     */
+    public static class Builder {
+
+        private final Map<ArtifactInformation, Integer> ids = new HashMap<>();
+        private ArtifactInformation[] artifacts = new ArtifactInformation[16];
+        private int nodeCount = 0;
+        private int[] sources = new int[16];
+        private int[] targets = new int[16];
+        private byte[] scopes = new byte[16];
+        private final BitSet optionals = new BitSet();
+        private int edgeCount = 0;
+
+        /**
+         * Adds a node if not already present.
+         *
+         * @param artifactInformation is the artifact of the node.
+         * @return The id of the node is returned.
+         */
+        public int addNode(ArtifactInformation artifactInformation) {
+            Integer id = ids.get(artifactInformation);
+            if (id != null) {
+                return id;
+            }
+            if (nodeCount == artifacts.length) {
+                artifacts = Arrays.copyOf(artifacts, nodeCount * 2);
+            }
+            artifacts[nodeCount] = artifactInformation;
+            ids.put(artifactInformation, nodeCount);
+            return nodeCount++;
+        }
+
+        /**
+         * Adds an edge between two nodes.
+         *
+         * @param from     is the id of the parent node.
+         * @param to       is the id of the child node.
+         * @param scope    is the scope of the dependency.
+         * @param optional specifies whether the dependency is optional.
+         */
+        public void addEdge(int from, int to, String scope, boolean optional) {
+            if (edgeCount == sources.length) {
+                sources = Arrays.copyOf(sources, edgeCount * 2);
+                targets = Arrays.copyOf(targets, edgeCount * 2);
+                scopes = Arrays.copyOf(scopes, edgeCount * 2);
+            }
+            sources[edgeCount] = from;
+            targets[edgeCount] = to;
+            scopes[edgeCount] = getScopeCode(scope);
+            optionals.set(edgeCount, optional);
+            edgeCount++;
+        }
+
+        /**
+         * Builds the immutable {@link DependencyGraph}. The edges are sorted by their
+         * source node with a counting sort, keeping the insertion order of the
+         * children, and duplicates are removed afterwards in a single pass.
+         *
+         * @return A {@link DependencyGraph} is returned.
+         */
+        public DependencyGraph build() {
+            int[] offsets = new int[nodeCount + 1];
+            for (int i = 0; i < edgeCount; i++) {
+                offsets[sources[i] + 1]++;
+            }
+            for (int i = 0; i < nodeCount; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            int[] sortedTargets = new int[edgeCount];
+            byte[] sortedScopes = new byte[edgeCount];
+            BitSet sortedOptionals = new BitSet(edgeCount);
+            int[] positions = Arrays.copyOf(offsets, nodeCount);
+            for (int i = 0; i < edgeCount; i++) {
+                int position = positions[sources[i]]++;
+                sortedTargets[position] = targets[i];
+                sortedScopes[position] = scopes[i];
+                sortedOptionals.set(position, optionals.get(i));
+            }
+            int[] marks = new int[nodeCount];
+            Arrays.fill(marks, -1);
+            int count = 0;
+            int start = 0;
+            for (int id = 0; id < nodeCount; id++) {
+                int end = offsets[id + 1];
+                offsets[id] = count;
+                for (int edge = start; edge < end; edge++) {
+                    int target = sortedTargets[edge];
+                    if (marks[target] != id) {
+                        marks[target] = id;
+                        sortedTargets[count] = target;
+                        sortedScopes[count] = sortedScopes[edge];
+                        sortedOptionals.set(count, sortedOptionals.get(edge));
+                        count++;
+                    }
+                }
+                start = end;
+            }
+            offsets[nodeCount] = count;
+            return new DependencyGraph(Arrays.copyOf(artifacts, nodeCount), new HashMap<>(ids), offsets,
+                    Arrays.copyOf(sortedTargets, count), Arrays.copyOf(sortedScopes, count),
+                    sortedOptionals.get(0, count));
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.puresoltechnologies.maven.plugins.license.internal;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.apache.maven.artifact.Artifact;
-import org.apache.maven.model.Dependency;
-import org.apache.maven.model.License;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
 
 /**
  * This class contains a dependency tree with all its transitive dependencies.
@@ -16,12 +20,18 @@ import org.apache.maven.model.License;
  */
 public class DependencyTree implements Iterable<DependencyTree> {
 
-    private final List<Dependency> dependencies = new ArrayList<>();
+    /**
+     * Contains the declared dependencies of the {@link #artifact} until they were
+     * processed. They are released with {@link #releaseDependencies()}, because
+     * they are not needed anymore afterwards, but are the largest part of the
+     * retained heap of a node.
+     */
+    private List<DeclaredDependency> dependencies;
 
     /**
      * Contains the child dependencies of the current node.
      */
-    private final List<DependencyTree> children = new ArrayList<>();
+    private final ArrayList<DependencyTree> children = new ArrayList<>();
 
     /**
      * Contains the parent dependency.
@@ -34,20 +44,42 @@ public class DependencyTree implements Iterable<DependencyTree> {
     private final Artifact artifact;
 
     /**
-     * This list contains all {@link License}s related to the {@link #artifact}.
+     * Contains the {@link ArtifactInformation} of {@link #artifact}, which is used
+     * as key for results lookups.
+     */
+    private final ArtifactInformation artifactInformation;
+
+    /**
+     * This list contains all {@link DeclaredLicense}s related to the
+     * {@link #artifact}.
      */
-    private final List<License> licenses;
+    private final List<DeclaredLicense> licenses;
 
     /**
      * Initial value constructor.
      *
      * @param artifact is the {@link Artifact}.
-     * @param licenses is the {@link List} of {@link License}.
+     * @param licenses is the {@link List} of {@link DeclaredLicense}.
      */
-    public DependencyTree(Artifact artifact, List<Dependency> dependencies, List<License> licenses) {
+    public DependencyTree(Artifact artifact, List<DeclaredDependency> dependencies, List<DeclaredLicense> licenses) {
+        this(artifact, new ArtifactInformation(artifact), dependencies, licenses);
+    }
+
+    /**
+     * Initial value constructor.
+     *
+     * @param artifact            is the {@link Artifact}.
+     * @param artifactInformation is the {@link ArtifactInformation} of the
+     *                            artifact. It should be the canonical instance
+     *                            provided by an {@link InternDictionary}.
+     * @param licenses            is the {@link List} of {@link DeclaredLicense}.
+     */
+    public DependencyTree(Artifact artifact, ArtifactInformation artifactInformation,
+            List<DeclaredDependency> dependencies, List<DeclaredLicense> licenses) {
         super();
         this.artifact = artifact;
-        this.dependencies.addAll(dependencies);
+        this.artifactInformation = artifactInformation;
+        this.dependencies = dependencies;
         this.licenses = licenses;
     }
 
@@ -69,16 +101,41 @@ public class DependencyTree implements Iterable<DependencyTree> {
         return artifact;
     }
 
-    public List<Dependency> getDependencies() {
+    /**
+     * Returns the {@link ArtifactInformation} of the {@link Artifact}.
+     *
+     * @return A {@link ArtifactInformation} is returned.
+     */
+    public ArtifactInformation getArtifactInformation() {
+        return artifactInformation;
+    }
+
+    /**
+     * Returns the declared dependencies of the {@link Artifact}.
+     *
+     * @return A {@link List} of {@link DeclaredDependency} is returned. The list is
+     *         empty after {@link #releaseDependencies()} was called.
+     */
+    public List<DeclaredDependency> getDependencies() {
         return dependencies;
     }
 
+    /**
+     * This method releases the declared dependencies after they were processed
+     * and trims the list of children to its size, because no children are added
+     * afterwards anymore.
+     */
+    public void releaseDependencies() {
+        dependencies = Collections.emptyList();
+        children.trimToSize();
+    }
+
     /**
      * Returns the license of this node.
      *
-     * @return A {@link License} is returned.
+     * @return A {@link List} of {@link DeclaredLicense} is returned.
      */
-    public List<License> getLicenses() {
+    public List<DeclaredLicense> getLicenses() {
         return licenses;
     }
 
@@ -111,33 +168,106 @@ public class DependencyTree implements Iterable<DependencyTree> {
         return children;
     }
 
+    /**
+     * Returns a lazy iterator over this node and all its transitive children in
+     * depth-first pre-order. The iteration is not recursive and only keeps a stack
+     * proportional to the depth of the tree.
+     */
     @Override
     public Iterator<DependencyTree> iterator() {
-        List<DependencyTree> all = getAllNodes();
-        return all.iterator();
+        return new DepthFirstIterator(this);
+    }
+
+    /**
+     * This method traverses this node and all its transitive children depth-first
+     * without recursion. The visitor can prune subtrees by returning
+     * <code>false</code> in
+     * {@link DependencyTreeVisitor#visitEnter(DependencyTree, int)}.
+     *
+     * @param visitor is the {@link DependencyTreeVisitor} to be called.
+     */
+    public void accept(DependencyTreeVisitor visitor) {
+        Deque<Iterator<DependencyTree>> iterators = new ArrayDeque<>();
+        Deque<DependencyTree> path = new ArrayDeque<>();
+        if (visitor.visitEnter(this, 0)) {
+            path.push(this);
+            iterators.push(children.iterator());
+        } else {
+            visitor.visitLeave(this, 0);
+        }
+        while (!iterators.isEmpty()) {
+            Iterator<DependencyTree> iterator = iterators.peek();
+            if (iterator.hasNext()) {
+                DependencyTree child = iterator.next();
+                int depth = path.size();
+                if (visitor.visitEnter(child, depth)) {
+                    path.push(child);
+                    iterators.push(child.children.iterator());
+                } else {
+                    visitor.visitLeave(child, depth);
+                }
+            } else {
+                iterators.pop();
+                DependencyTree node = path.pop();
+                visitor.visitLeave(node, path.size());
+            }
+        }
     }
 
     /**
-     * This method puts all dependencies into a {@link List}.
+     * This method puts all dependencies into a {@link List}. For traversals
+     * {@link #iterator()} or {@link #accept(DependencyTreeVisitor)} should be used,
+     * which do not copy the whole tree.
      *
      * @return A {@link List} of {@link DependencyTree} is returned.
      */
     public List<DependencyTree> getAllNodes() {
         List<DependencyTree> all = new ArrayList<>();
-        addDependencies(all, this);
+        for (DependencyTree node : this) {
+            all.add(node);
+        }
         return all;
     }
 
     /**
-     * Adds all dependency nodes to a list for {@link #iterator()}.
-     *
-     * @param all    is the list to add all dependencies to.
-     * @param parent is the parent node.
+     * This is the lazy depth-first iterator returned by {@link #iterator()}.
      */
-    private void addDependencies(List<DependencyTree> all, DependencyTree parent) {
-        all.add(parent);
-        for (DependencyTree dependency : parent.getChildren()) {
-            addDependencies(all, dependency);
+    private static class DepthFirstIterator implements Iterator<DependencyTree> {
+
+        private final Deque<Iterator<DependencyTree>> iterators = new ArrayDeque<>();
+        private DependencyTree next;
+
+        private DepthFirstIterator(DependencyTree root) {
+            next = root;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            while (!iterators.isEmpty()) {
+                Iterator<DependencyTree> iterator = iterators.peek();
+                if (iterator.hasNext()) {
+                    next = iterator.next();
+                    return true;
+                }
+                iterators.pop();
+            }
+            return false;
+        }
+
+        @Override
+        public DependencyTree next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            DependencyTree current = next;
+            next = null;
+            if (!current.children.isEmpty()) {
+                iterators.push(current.children.iterator());
+            }
+            return current;
         }
     }
 }
@@ -0,0 +1,32 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+/**
+ * This is the interface for visitors of a {@link DependencyTree}. The visitor is
+ * called by {@link DependencyTree#accept(DependencyTreeVisitor)} for all nodes in
+ * depth-first order.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public interface DependencyTreeVisitor {
+
+    /**
+     * This method is called when a node is entered before any of its children.
+     *
+     * @param node  is the current {@link DependencyTree} node.
+     * @param depth is the depth of the node relative to the node the traversal was
+     *              started at, which has depth 0.
+     * @return <code>true</code> is to be returned if the children of the node are
+     *         to be visited. <code>false</code> prunes the subtree of the node.
+     */
+    boolean visitEnter(DependencyTree node, int depth);
+
+    /**
+     * This method is called when a node is left after all of its children. It is
+     * also called for nodes whose children were pruned.
+     *
+     * @param node  is the current {@link DependencyTree} node.
+     * @param depth is the depth of the node.
+     */
+    default void visitLeave(DependencyTree node, int depth) {
+    }
+}
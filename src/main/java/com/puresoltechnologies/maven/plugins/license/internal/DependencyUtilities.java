@@ -30,16 +30,16 @@ public class DependencyUtilities {
     }
 
     /**
-     * This method builds a new {@link Artifact} from a {@link Dependency}.
+     * This method builds a new {@link Artifact} from a {@link DeclaredDependency}.
      * 
      * @param parentArtifact is a parent Artifact which is used to get an
      *                       {@link ArtifactHandler} from.
-     * @param dependency     is the {@link Dependency} object whose information is
-     *                       to be used to build a new artifact.
-     * @return An {@link Artifact} is returned build from the {@link Dependency}
-     *         parameter.
+     * @param dependency     is the {@link DeclaredDependency} object whose
+     *                       information is to be used to build a new artifact.
+     * @return An {@link Artifact} is returned build from the
+     *         {@link DeclaredDependency} parameter.
      */
-    public static Artifact buildArtifact(Artifact parentArtifact, Dependency dependency) {
+    public static Artifact buildArtifact(Artifact parentArtifact, DeclaredDependency dependency) {
         DefaultArtifact dependencyArtifact = new DefaultArtifact(dependency.getGroupId(), dependency.getArtifactId(),
                 VersionRange.createFromVersion(dependency.getVersion()), dependency.getScope(), dependency.getType(),
                 dependency.getClassifier(), parentArtifact.getArtifactHandler(), dependency.isOptional());
@@ -47,6 +47,19 @@ public class DependencyUtilities {
         return dependencyArtifact;
     }
 
+    /**
+     * This method converts an {@link Artifact} back into the
+     * {@link DeclaredDependency} it can be built from with
+     * {@link #buildArtifact(Artifact, DeclaredDependency)}.
+     * 
+     * @param artifact is the {@link Artifact} to be converted.
+     * @return A {@link DeclaredDependency} is returned.
+     */
+    public static DeclaredDependency toDeclaredDependency(Artifact artifact) {
+        return new DeclaredDependency(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion(),
+                artifact.getClassifier(), artifact.getType(), artifact.getScope(), artifact.isOptional());
+    }
+
     /**
      * Private default constructor to avoid instantiation.
      */
@@ -0,0 +1,69 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import org.apache.maven.artifact.Artifact;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+
+/**
+ * This interface is used to emit profiling events around the resolution, the
+ * license matching and the writing of results. Every event is started with a
+ * begin method, which returns a token, and committed with the token. The token
+ * is <code>null</code> if the event is not recorded, so a disabled recorder
+ * neither allocates nor formats anything. An instance is retrieved with
+ * {@link EventRecorders#get()}.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public interface EventRecorder {
+
+    /**
+     * Starts the event of the POM resolution of an artifact.
+     *
+     * @return A token is returned which is to be committed.
+     */
+    public Object beginResolution();
+
+    /**
+     * Commits the event of the POM resolution of an artifact.
+     *
+     * @param token    is the token returned by {@link #beginResolution()}.
+     * @param artifact is the {@link Artifact} whose POM was resolved.
+     * @param success  is <code>true</code> if the POM was resolved.
+     */
+    public void commitResolution(Object token, Artifact artifact, boolean success);
+
+    /**
+     * Starts the event of the license matching of an artifact.
+     *
+     * @return A token is returned which is to be committed.
+     */
+    public Object beginMatching();
+
+    /**
+     * Commits the event of the license matching of an artifact.
+     *
+     * @param token               is the token returned by
+     *                            {@link #beginMatching()}.
+     * @param artifactInformation is the {@link ArtifactInformation} of the
+     *                            artifact matched.
+     * @param results             is the number of results.
+     * @param valid               is <code>true</code> if all results are valid.
+     */
+    public void commitMatching(Object token, ArtifactInformation artifactInformation, int results, boolean valid);
+
+    /**
+     * Starts the event of writing a result.
+     *
+     * @return A token is returned which is to be committed.
+     */
+    public Object beginWriting();
+
+    /**
+     * Commits the event of writing a result.
+     *
+     * @param token               is the token returned by {@link #beginWriting()}.
+     * @param artifactInformation is the {@link ArtifactInformation} of the
+     *                            artifact whose result was written.
+     */
+    public void commitWriting(Object token, ArtifactInformation artifactInformation);
+}
@@ -0,0 +1,71 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import org.apache.maven.artifact.Artifact;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+
+/**
+ * This class provides the {@link EventRecorder} of the current JVM. Java Flight
+ * Recorder events are only used if the JFR API is available. The JFR classes are
+ * only loaded in this case, so the plugin still runs on JVMs without JFR.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class EventRecorders {
+
+    /**
+     * This recorder is used if JFR is not available. It does nothing.
+     */
+    private static class NoEventRecorder implements EventRecorder {
+
+        @Override
+        public Object beginResolution() {
+            return null;
+        }
+
+        @Override
+        public void commitResolution(Object token, Artifact artifact, boolean success) {
+        }
+
+        @Override
+        public Object beginMatching() {
+            return null;
+        }
+
+        @Override
+        public void commitMatching(Object token, ArtifactInformation artifactInformation, int results,
+                boolean valid) {
+        }
+
+        @Override
+        public Object beginWriting() {
+            return null;
+        }
+
+        @Override
+        public void commitWriting(Object token, ArtifactInformation artifactInformation) {
+        }
+    }
+
+    private static final EventRecorder RECORDER = createRecorder();
+
+    private static EventRecorder createRecorder() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder", false, EventRecorders.class.getClassLoader());
+            return (EventRecorder) Class
+                    .forName(EventRecorders.class.getPackage().getName() + ".JfrEventRecorder")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new NoEventRecorder();
+        }
+    }
+
+    /**
+     * Returns the {@link EventRecorder} of this JVM.
+     *
+     * @return An {@link EventRecorder} is returned.
+     */
+    public static EventRecorder get() {
+        return RECORDER;
+    }
+}
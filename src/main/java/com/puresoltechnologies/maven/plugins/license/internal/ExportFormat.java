@@ -0,0 +1,77 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.Writer;
+
+/**
+ * This enum contains the formats supported for the export of validation
+ * results together with the name of the file written.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public enum ExportFormat {
+
+    /**
+     * JSON with one object per validation result.
+     */
+    JSON("licenses.json"),
+
+    /**
+     * SPDX 2.2 in tag-value format.
+     */
+    SPDX("licenses.spdx"),
+
+    /**
+     * CycloneDX 1.4 in JSON format.
+     */
+    CYCLONEDX("licenses.cdx.json");
+
+    private final String fileName;
+
+    private ExportFormat(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * Returns the name of the file the export is written to.
+     *
+     * @return A {@link String} is returned containing the file name.
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Creates a new {@link ResultExporter} for this format.
+     *
+     * @param writer is the {@link Writer} the exporter writes to.
+     * @return A {@link ResultExporter} is returned.
+     */
+    public ResultExporter createExporter(Writer writer) {
+        switch (this) {
+        case JSON:
+            return new JsonResultExporter(writer);
+        case SPDX:
+            return new SpdxResultExporter(writer);
+        case CYCLONEDX:
+            return new CycloneDxResultExporter(writer);
+        default:
+            throw new IllegalStateException("Export format '" + this + "' is not supported.");
+        }
+    }
+
+    /**
+     * Looks up an {@link ExportFormat} by its name ignoring the case.
+     *
+     * @param name is the name of the format.
+     * @return An {@link ExportFormat} is returned or <code>null</code> if the
+     *         format is not known.
+     */
+    public static ExportFormat fromName(String name) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name.trim())) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
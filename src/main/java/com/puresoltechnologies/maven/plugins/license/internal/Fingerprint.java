@@ -0,0 +1,76 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * This class calculates a SHA-256 fingerprint over files and values. It is used
+ * to check whether the inputs of a generated output have changed since the
+ * output was generated.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class Fingerprint {
+
+    private final MessageDigest digest;
+    private final byte[] buffer = new byte[8192];
+
+    public Fingerprint() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported.", e);
+        }
+    }
+
+    /**
+     * This method adds the content of a file to the fingerprint. A missing file
+     * is added as a marker, so it is distinguished from an empty file.
+     *
+     * @param file is the file to be added.
+     * @return This {@link Fingerprint} is returned.
+     * @throws IOException is thrown in case the file could not be read.
+     */
+    public Fingerprint add(File file) throws IOException {
+        if (!file.isFile()) {
+            return add("<missing file " + file.getName() + ">");
+        }
+        add(file.getName());
+        try (InputStream inputStream = new FileInputStream(file)) {
+            int length;
+            while ((length = inputStream.read(buffer)) >= 0) {
+                digest.update(buffer, 0, length);
+            }
+        }
+        digest.update((byte) 0);
+        return this;
+    }
+
+    /**
+     * This method adds a value to the fingerprint.
+     *
+     * @param value is the value to be added.
+     * @return This {@link Fingerprint} is returned.
+     */
+    public Fingerprint add(String value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        return this;
+    }
+
+    /**
+     * This method finishes the calculation. The fingerprint must not be used
+     * afterwards.
+     *
+     * @return A {@link String} is returned containing the fingerprint as hex
+     *         string.
+     */
+    public String getValue() {
+        return IOUtilities.toHexString(digest.digest());
+    }
+}
@@ -0,0 +1,507 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.puresoltechnologies.maven.plugins.license.internal.LicenseSummary.LicenseUsage;
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+/**
+ * This class writes the license report as HTML directly into a {@link Writer}.
+ * It is the only renderer of the report: standalone runs write complete pages
+ * with {@link #write(DependencyTree)}, and site generations put the fragment
+ * written by {@link #writeBody(DependencyTree)} into the body of the site page.
+ * The markup follows the one of the Doxia XHTML sink, so the site skin styles
+ * the report as before.
+ *
+ * A writer is not thread-safe, but several writers can share the same results,
+ * summary and index to write pages in parallel.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class HtmlReportWriter {
+
+    /**
+     * This is the title of the license report.
+     */
+    public static final String REPORT_TITLE = "Licenses Report";
+
+    private final Writer writer;
+    private final Map<ArtifactInformation, List<ValidationResult>> results;
+    private final LicenseSummary licenseSummary;
+    private final LicenseIndex licenseIndex;
+    private boolean collapseHierarchy = false;
+    private int maxHierarchyDepth = 0;
+    private List<String> pageNames = null;
+
+    /**
+     * Creates a new writer.
+     *
+     * @param writer         is the {@link Writer} to write to. It should be
+     *                       buffered.
+     * @param results        is the {@link Map} of {@link ValidationResult}s of all
+     *                       artifacts.
+     * @param licenseSummary is the {@link LicenseSummary} for the license tables.
+     *                       It may be <code>null</code> if only
+     *                       {@link #writeAggregate(List, List)} or
+     *                       {@link #writeDependencyPage(DependencyTree, String)}
+     *                       is used.
+     * @param licenseIndex   is the {@link LicenseIndex} for the artifacts by
+     *                       license.
+     */
+    public HtmlReportWriter(Writer writer, Map<ArtifactInformation, List<ValidationResult>> results,
+            LicenseSummary licenseSummary, LicenseIndex licenseIndex) {
+        this.writer = writer;
+        this.results = results;
+        this.licenseSummary = licenseSummary;
+        this.licenseIndex = licenseIndex;
+    }
+
+    /**
+     * Sets whether or not the dependency hierarchy is collapsed.
+     *
+     * @param collapseHierarchy is <code>true</code> to render the dependencies of
+     *                          each artifact only at its first occurrence.
+     */
+    public void setCollapseHierarchy(boolean collapseHierarchy) {
+        this.collapseHierarchy = collapseHierarchy;
+    }
+
+    /**
+     * Sets the maximum depth of the rendered dependency hierarchy.
+     *
+     * @param maxHierarchyDepth is the maximum depth. 0 renders the complete
+     *                          hierarchy.
+     */
+    public void setMaxHierarchyDepth(int maxHierarchyDepth) {
+        this.maxHierarchyDepth = maxHierarchyDepth;
+    }
+
+    /**
+     * Sets the names of the pages of the direct dependencies. If set, the
+     * hierarchy is replaced by links to these pages.
+     *
+     * @param pageNames is a {@link List} with one page name per direct dependency
+     *                  in the order of the dependency tree.
+     */
+    public void setPageNames(List<String> pageNames) {
+        this.pageNames = pageNames;
+    }
+
+    /**
+     * This method writes the complete report as standalone HTML page.
+     *
+     * @param dependencyTree is the {@link DependencyTree} of the project.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public void write(DependencyTree dependencyTree) throws IOException {
+        writeHeader(REPORT_TITLE);
+        writeBody(dependencyTree);
+        writeFooter();
+    }
+
+    /**
+     * This method writes the sections of the report without the surrounding
+     * document. It is used for the body of the site page.
+     *
+     * @param dependencyTree is the {@link DependencyTree} of the project.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public void writeBody(DependencyTree dependencyTree) throws IOException {
+        writer.write("<div class=\"section\">\n<h2>" + REPORT_TITLE + "</h2>\n");
+        writer.write("<p>This report contains an overview of all licenses related to the project "
+                + "and a validation whether these licenses are approved or not.</p>\n");
+
+        beginSection("Directly Used Licenses");
+        writer.write("<p>This section contains a list of all licenses which are directly referenced to "
+                + "with dependencies of this maven project.</p>\n");
+        writeLicenseTable(licenseSummary.getDirectLicenses(), true);
+        endSection();
+
+        beginSection("Transitively Used Licenses");
+        writer.write("<p>This section contains a list of all licenses which are not directly referenced to "
+                + "with dependencies of this maven project. All these licenses are coming in transitively "
+                + "via dependencies of the direct project dependencies.</p>\n");
+        writeLicenseTable(licenseSummary.getTransitiveLicenses(), false);
+        endSection();
+
+        beginSection("Artifacts by License");
+        writeArtifactsByLicense();
+        endSection();
+
+        beginSection("Dependency Hierarchy");
+        if (pageNames != null) {
+            writeDependencyPageLinks(dependencyTree);
+        } else {
+            writeDependencyHierarchy(dependencyTree);
+        }
+        endSection();
+        writer.write("</div>\n");
+        writer.flush();
+    }
+
+    /**
+     * This method writes the standalone page containing the hierarchy of a single
+     * direct dependency of a paged report.
+     *
+     * @param directDependency is the {@link DependencyTree} of the direct
+     *                         dependency.
+     * @param reportName       is the file name of the report page linked to.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public void writeDependencyPage(DependencyTree directDependency, String reportName) throws IOException {
+        String title = REPORT_TITLE + ": " + directDependency.getArtifactInformation().toString();
+        writeHeader(title);
+        writer.write("<div class=\"section\">\n<h2>");
+        writeText(title);
+        writer.write("</h2>\n<p><a href=\"");
+        writeText(reportName);
+        writer.write("\">Back to " + REPORT_TITLE + "</a></p>\n<ul>\n");
+        writeHierarchy(directDependency, 1);
+        writer.write("</ul>\n</div>\n");
+        writeFooter();
+    }
+
+    /**
+     * This method writes the aggregated report of several modules. It contains
+     * the artifacts by license and all artifacts with their validation results.
+     *
+     * @param modules   is a {@link List} of the names of the modules merged.
+     * @param artifacts is a {@link List} of all artifacts in the order to be
+     *                  shown.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public void writeAggregate(List<String> modules, List<ArtifactInformation> artifacts) throws IOException {
+        writeHeader("Aggregated " + REPORT_TITLE);
+        writer.write("<div class=\"section\">\n<h2>Aggregated " + REPORT_TITLE + "</h2>\n");
+        writer.write("<p>This report contains the licenses of all modules of the project merged into a single "
+                + "overview.</p>\n");
+
+        beginSection("Modules");
+        writer.write("<ul>\n");
+        for (String module : modules) {
+            writer.write("<li>");
+            writeText(module);
+            writer.write("</li>\n");
+        }
+        writer.write("</ul>\n");
+        endSection();
+
+        beginSection("Artifacts by License");
+        writeArtifactsByLicense();
+        endSection();
+
+        beginSection("Artifacts");
+        writer.write("<table class=\"bodyTable\">\n<caption>Artifacts</caption>\n");
+        writer.write("<tr><th>Artifact</th><th>License from Artifact</th><th>License</th><th>Validation</th></tr>\n");
+        for (ArtifactInformation artifactInformation : artifacts) {
+            for (ValidationResult result : results.get(artifactInformation)) {
+                writer.write("<tr><td>");
+                writeText(artifactInformation.toString());
+                writer.write("</td><td>");
+                writeLink(result.getOriginalLicenseURL(), result.getOriginalLicenseName());
+                writer.write("</td><td>");
+                writeLicenseLink(result.getLicense());
+                writer.write("</td><td>");
+                writer.write(result.isValid() ? "valid" : "invalid");
+                writer.write("</td></tr>\n");
+            }
+        }
+        writer.write("</table>\n");
+        endSection();
+        writer.write("</div>\n");
+        writeFooter();
+    }
+
+    private void writeHeader(String title) throws IOException {
+        writer.write("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\" />\n<title>");
+        writeText(title);
+        writer.write("</title>\n</head>\n<body>\n");
+    }
+
+    private void writeFooter() throws IOException {
+        writer.write("</body>\n</html>\n");
+        writer.flush();
+    }
+
+    private void beginSection(String title) throws IOException {
+        writer.write("<div class=\"section\">\n<h3>");
+        writeText(title);
+        writer.write("</h3>\n");
+    }
+
+    private void endSection() throws IOException {
+        writer.write("</div>\n");
+    }
+
+    private void writeLicenseTable(List<LicenseUsage> usages, boolean direct) throws IOException {
+        writer.write("<table class=\"bodyTable\">\n<caption>Licenses</caption>\n");
+        writer.write("<tr><th>License from Artifact</th><th>License</th><th>Validation</th><th>Artifacts</th></tr>\n");
+        for (LicenseUsage usage : usages) {
+            ValidationResult validationResult = usage.getValidationResult();
+            writer.write("<tr><td>");
+            writeLink(validationResult.getOriginalLicenseURL(), usage.getOriginalLicenseName());
+            writer.write("</td><td>");
+            writeLicenseLink(validationResult.getLicense());
+            writer.write("</td><td>");
+            writer.write(usage.isValid() ? "valid" : "invalid");
+            writer.write("</td><td>");
+            writer.write(String.valueOf(direct ? usage.getDirectArtifacts() : usage.getTransitiveArtifacts()));
+            writer.write("</td></tr>\n");
+        }
+        writer.write("</table>\n");
+    }
+
+    private void writeArtifactsByLicense() throws IOException {
+        writer.write("<p>This section contains all artifacts grouped by their license. The same information is "
+                + "written to " + IOUtilities.LICENSE_INDEX_FILE + ".</p>\n");
+        for (String licenseName : licenseIndex.getLicenseNames()) {
+            Collection<ArtifactInformation> artifacts = licenseIndex.getArtifacts(licenseName);
+            writer.write("<div class=\"section\">\n<h4>");
+            if (LicenseIndex.UNKNOWN_LICENSE.equals(licenseName)) {
+                writer.write("Unknown License");
+            } else {
+                writeLicenseLink(licenseIndex.getLicense(licenseName));
+            }
+            writer.write(" (" + artifacts.size() + ")</h4>\n<ul>\n");
+            for (ArtifactInformation artifactInformation : artifacts) {
+                writer.write("<li>");
+                writeText(artifactInformation.toString());
+                writer.write("</li>\n");
+            }
+            writer.write("</ul>\n</div>\n");
+        }
+    }
+
+    private void writeDependencyPageLinks(DependencyTree dependencyTree) throws IOException {
+        writer.write("<p>This section contains the direct dependencies and their licenses. "
+                + "The hierarchy of each direct dependency is shown on a separate page.</p>\n");
+        List<DependencyTree> directDependencies = dependencyTree.getChildren();
+        if (directDependencies.isEmpty()) {
+            return;
+        }
+        writer.write("<ul>\n");
+        for (int i = 0; i < directDependencies.size(); i++) {
+            ArtifactInformation artifactInformation = directDependencies.get(i).getArtifactInformation();
+            writer.write("<li><a href=\"");
+            writeText(pageNames.get(i));
+            writer.write("\"><b>");
+            writeText(artifactInformation.toString());
+            writer.write("</b></a>");
+            writeValidationResults(artifactInformation);
+            writer.write("</li>\n");
+        }
+        writer.write("</ul>\n");
+    }
+
+    private void writeDependencyHierarchy(DependencyTree dependencyTree) throws IOException {
+        if (collapseHierarchy) {
+            writer.write("<p>This section contains the hierarchy of dependencies, its licenses and their validation "
+                    + "result. The dependencies of each artifact are shown only at its first occurrence. "
+                    + "All further occurrences link to the first one.</p>\n");
+        } else {
+            writer.write("<p>This section contains the full hierarchy of dependencies, its licenses and their "
+                    + "validation result.</p>\n");
+        }
+        writeHierarchy(dependencyTree, 0);
+    }
+
+    private void writeHierarchy(DependencyTree dependencyTree, int baseDepth) throws IOException {
+        HierarchyWriter hierarchyWriter = new HierarchyWriter(baseDepth);
+        dependencyTree.accept(hierarchyWriter);
+        if (hierarchyWriter.exception != null) {
+            throw hierarchyWriter.exception;
+        }
+    }
+
+    /**
+     * This visitor writes the dependency hierarchy iteratively. If
+     * {@link HtmlReportWriter#collapseHierarchy} is set, the subtree of each
+     * artifact is written only once and later occurrences link to it. The
+     * hierarchy is cut at {@link HtmlReportWriter#maxHierarchyDepth}. As a
+     * {@link DependencyTreeVisitor} cannot throw checked exceptions, the first
+     * {@link IOException} is kept and the traversal is stopped.
+     */
+    private class HierarchyWriter implements DependencyTreeVisitor {
+
+        private final Map<ArtifactInformation, Integer> anchors = new HashMap<>();
+        /**
+         * Contains per depth whether the current node at that depth opened a list
+         * for its children.
+         */
+        private final BitSet openLists = new BitSet();
+        /**
+         * Contains the depth of the visited node within the complete dependency
+         * tree. It is 0 for the project itself and 1 for direct dependencies.
+         */
+        private final int baseDepth;
+        private IOException exception = null;
+
+        private HierarchyWriter(int baseDepth) {
+            this.baseDepth = baseDepth;
+        }
+
+        @Override
+        public boolean visitEnter(DependencyTree node, int depth) {
+            if (exception != null) {
+                return false;
+            }
+            depth += baseDepth;
+            try {
+                if (depth == 0) {
+                    writer.write("<ul>\n");
+                    return true;
+                }
+                writer.write("<li>");
+                openLists.clear(depth);
+                ArtifactInformation artifactInformation = node.getArtifactInformation();
+                boolean cut = (maxHierarchyDepth > 0) && (depth >= maxHierarchyDepth);
+                if (collapseHierarchy) {
+                    Integer anchor = anchors.get(artifactInformation);
+                    if (anchor != null) {
+                        writer.write("<a href=\"#dependency-" + anchor + "\"><b>");
+                        writeText(artifactInformation.toString());
+                        writer.write("</b></a>");
+                        if (!node.getChildren().isEmpty()) {
+                            writer.write(" (dependencies are shown above)");
+                        }
+                        return false;
+                    }
+                    // a node cut at the maximum depth does not show its dependencies, so it is not linked to
+                    if (!cut || node.getChildren().isEmpty()) {
+                        anchor = anchors.size();
+                        anchors.put(artifactInformation, anchor);
+                        writer.write("<a name=\"dependency-" + anchor + "\"></a>");
+                    }
+                }
+                writer.write("<b>");
+                writeText(artifactInformation.toString());
+                writer.write("</b>");
+                writeValidationResults(artifactInformation);
+                if (node.getChildren().isEmpty()) {
+                    return false;
+                }
+                if (cut) {
+                    writer.write("<br />...");
+                    return false;
+                }
+                openLists.set(depth);
+                writer.write("\n<ul>\n");
+                return true;
+            } catch (IOException e) {
+                exception = e;
+                return false;
+            }
+        }
+
+        @Override
+        public void visitLeave(DependencyTree node, int depth) {
+            if (exception != null) {
+                return;
+            }
+            depth += baseDepth;
+            try {
+                if (depth == 0) {
+                    writer.write("</ul>\n");
+                    return;
+                }
+                if (openLists.get(depth)) {
+                    writer.write("</ul>\n");
+                }
+                writer.write("</li>\n");
+            } catch (IOException e) {
+                exception = e;
+            }
+        }
+    }
+
+    private void writeValidationResults(ArtifactInformation artifactInformation) throws IOException {
+        List<ValidationResult> validationResults = results.get(artifactInformation);
+        if (validationResults == null) {
+            return;
+        }
+        for (ValidationResult result : validationResults) {
+            writer.write("<br /><i>");
+            writer.write(result.isValid() ? "valid" : "invalid");
+            writer.write(": ");
+            writeLink(result.getOriginalLicenseURL(), result.getOriginalLicenseName());
+            writer.write(" / ");
+            writeLicenseLink(result.getLicense());
+            writer.write("</i>");
+        }
+    }
+
+    private void writeLicenseLink(KnownLicense license) throws IOException {
+        if (license == null) {
+            return;
+        }
+        writeLink(license.getUrl(), license.getName());
+    }
+
+    private void writeLink(URL url, String text) throws IOException {
+        if (url == null) {
+            writeText(text);
+        } else {
+            writer.write("<a href=\"");
+            writeText(url.toString());
+            writer.write("\">");
+            writeText(text);
+            writer.write("</a>");
+        }
+    }
+
+    private void writeText(String text) throws IOException {
+        writeText(writer, text);
+    }
+
+    /**
+     * This method escapes the HTML special characters of a text.
+     *
+     * @param text is the text to be escaped. It may be <code>null</code>.
+     * @return A {@link String} is returned which can be written into HTML
+     *         content and attribute values.
+     */
+    public static String escape(String text) {
+        StringWriter stringWriter = new StringWriter();
+        try {
+            writeText(stringWriter, text);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not escape text.", e);
+        }
+        return stringWriter.toString();
+    }
+
+    private static void writeText(Writer writer, String text) throws IOException {
+        if (text == null) {
+            return;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+            case '<':
+                writer.write("&lt;");
+                break;
+            case '>':
+                writer.write("&gt;");
+                break;
+            case '&':
+                writer.write("&amp;");
+                break;
+            case '"':
+                writer.write("&quot;");
+                break;
+            default:
+                writer.write(c);
+            }
+        }
+    }
+}
@@ -1,18 +1,24 @@
 package com.puresoltechnologies.maven.plugins.license.internal;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Serializable;
 import java.io.Writer;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 
 import org.apache.maven.plugin.MojoExecutionException;
@@ -39,6 +45,17 @@ public class IOUtilities {
      */
     public static final String LICENSE_SETTINGS_FILE = "settings.properties";
 
+    /**
+     * This is the constant for the license index file written by the report.
+     */
+    public static final String LICENSE_INDEX_FILE = "license-index.csv";
+
+    /**
+     * This is the constant for the snapshot of the dependency graph written by
+     * the validation.
+     */
+    public static final String DEPENDENCY_GRAPH_FILE = "dependency-graph.csv";
+
     /**
      * Creates a new and empty results file.
      *
@@ -57,6 +74,27 @@ public class IOUtilities {
         return resultsFile;
     }
 
+    /**
+     * Creates a new and empty partial results file of a shard.
+     *
+     * @param log             is the {@link Log} to write to.
+     * @param outputDirectory is the directory for the output file.
+     * @param shardIndex      is the index of the shard.
+     * @param shardCount      is the total number of shards.
+     * @return A {@link File} object is returned pointing to the newly created
+     *         results file.
+     * @throws MojoExecutionException is thrown in case the file could not be
+     *                                created.
+     */
+    public static File createNewShardResultsFile(Log log, File outputDirectory, int shardIndex, int shardCount)
+            throws MojoExecutionException {
+        createDirectoryIfNotPresent(log, outputDirectory);
+        File resultsFile = new File(outputDirectory, ShardUtilities.getResultsFileName(shardIndex, shardCount));
+        deleteFileIfPresent(log, resultsFile);
+        createFileIfNotPresent(log, resultsFile);
+        return resultsFile;
+    }
+
     /**
      * Returns the position of the results file.
      *
@@ -220,14 +258,20 @@ public class IOUtilities {
 
     /**
      * Reads a single CSV line from a {@link BufferedReader} and converts it into a
-     * {@link ValidationResult}.
+     * {@link ValidationResult}. All strings, URLs and licenses are canonicalized
+     * with the given {@link InternDictionary}, so that results read with the same
+     * dictionary share equal values.
      *
      * @param bufferedReader is the {@link BufferedReader} to read from.
+     * @param dictionary     is the {@link InternDictionary} to canonicalize the
+     *                       values read.
      * @return A {@link ValidationResult} is returned containing the read
      *         information.
-     * @throws MojoExecutionException is thrown in case of IO issues.
+     * @throws MojoExecutionException is thrown in case of IO issues or if the line
+     *                                is malformed.
      */
-    public static ValidationResult readResult(Log log, BufferedReader bufferedReader) throws MojoExecutionException {
+    public static ValidationResult readResult(Log log, BufferedReader bufferedReader, InternDictionary dictionary)
+            throws MojoExecutionException {
         try {
             if (bufferedReader == null) {
                 throw new IllegalArgumentException("Reader must not be null!");
@@ -236,7 +280,15 @@ public class IOUtilities {
             if (line == null) {
                 return null;
             }
-            String[] splits = IOUtilities.split(line);
+            String[] splits;
+            try {
+                splits = IOUtilities.split(line);
+            } catch (IndexOutOfBoundsException e) {
+                throw new MojoExecutionException("Malformed result line '" + line + "' was found.", e);
+            }
+            if (splits.length < 12) {
+                throw new MojoExecutionException("Malformed result line '" + line + "' was found.");
+            }
             String groupId = splits[0];
             String artifactId = splits[1];
             String version = splits[2];
@@ -246,23 +298,22 @@ public class IOUtilities {
             String licenseName = splits[6];
             URL licenseURL = null;
             try {
-                licenseURL = new URL(splits[7]);
+                licenseURL = dictionary.url(splits[7]);
             } catch (MalformedURLException e) {
                 log.warn("Malformed license URL '" + splits[7] + "' was found.");
             }
-            String originalLicenseName = splits[8];
+            String originalLicenseName = dictionary.intern(splits[8]);
             URL originalLicenseURL = null;
             try {
-                originalLicenseURL = new URL(splits[9]);
+                originalLicenseURL = dictionary.url(splits[9]);
             } catch (MalformedURLException e) {
                 log.warn("Malformed original license URL '" + splits[9] + "' was found.");
             }
-            String comment = splits[10];
+            String comment = dictionary.intern(splits[10]);
             boolean valid = Boolean.valueOf(splits[11]);
-            ArtifactInformation artifactInformation = new ArtifactInformation(groupId, artifactId, version, classifier,
-                    type, scope);
-            KnownLicense license = new KnownLicense(licenseName, licenseURL, valid, new HashSet<String>(),
-                    new HashSet<String>());
+            ArtifactInformation artifactInformation = dictionary.artifactInformation(groupId, artifactId, version,
+                    classifier, type, scope);
+            KnownLicense license = dictionary.knownLicense(licenseName, licenseURL, valid);
             ValidationResult validationResult = new ValidationResult(artifactInformation, license, originalLicenseName,
                     originalLicenseURL, comment, valid);
             return validationResult;
@@ -309,9 +360,135 @@ public class IOUtilities {
      * @throws IOException is thrown in cases of IO issues.
      */
     public static void storeObject(File file, Serializable object) throws IOException {
-        try (FileOutputStream fileOutputStream = new FileOutputStream(file);
-                ObjectOutputStream objectOutputStream = new ObjectOutputStream(fileOutputStream)) {
-            objectOutputStream.writeObject(object);
+        File temporaryFile = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+        try {
+            try (FileOutputStream fileOutputStream = new FileOutputStream(temporaryFile);
+                    ObjectOutputStream objectOutputStream = new ObjectOutputStream(fileOutputStream)) {
+                objectOutputStream.writeObject(object);
+            }
+            replaceFile(temporaryFile, file);
+        } finally {
+            Files.deleteIfExists(temporaryFile.toPath());
+        }
+    }
+
+    /**
+     * Stores a {@link DependencyGraph} as text file. The file contains one line
+     * per node in the order of the node ids with the coordinates of the artifact
+     * (<code>N,groupId,artifactId,"version",classifier,type,scope</code>)
+     * followed by one line per edge (<code>E,from,to,scope,optional</code>).
+     * Missing scopes are written as empty fields.
+     *
+     * @param file  is the file where the graph is to be stored to.
+     * @param graph is the {@link DependencyGraph} to be stored.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public static void storeDependencyGraph(File file, DependencyGraph graph) throws IOException {
+        File temporaryFile = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+        try {
+            try (FileOutputStream fileOutputStream = new FileOutputStream(temporaryFile);
+                    BufferedWriter writer = new BufferedWriter(
+                            new OutputStreamWriter(fileOutputStream, StandardCharsets.UTF_8))) {
+                for (int id = 0; id < graph.getNodeCount(); id++) {
+                    ArtifactInformation artifactInformation = graph.getArtifact(id);
+                    writer.write("N," + artifactInformation.getGroupId() + "," + artifactInformation.getArtifactId()
+                            + ",\"" + artifactInformation.getVersion() + "\"," + artifactInformation.getClassifier()
+                            + "," + artifactInformation.getType() + "," + toField(artifactInformation.getScope())
+                            + "\n");
+                }
+                for (int id = 0; id < graph.getNodeCount(); id++) {
+                    for (int edge = graph.getEdgesStart(id); edge < graph.getEdgesEnd(id); edge++) {
+                        writer.write("E," + id + "," + graph.getTarget(edge) + ","
+                                + toField(DependencyGraph.getScopeName(graph.getScope(edge))) + ","
+                                + graph.isOptional(edge) + "\n");
+                    }
+                }
+            }
+            replaceFile(temporaryFile, file);
+        } finally {
+            Files.deleteIfExists(temporaryFile.toPath());
+        }
+    }
+
+    /**
+     * Reads a {@link DependencyGraph} former stored with
+     * {@link #storeDependencyGraph(File, DependencyGraph)}. Only the text format
+     * is parsed, no objects are deserialized.
+     *
+     * @param file       is the file to read the graph from.
+     * @param dictionary is the {@link InternDictionary} to canonicalize the
+     *                   artifacts read.
+     * @return A {@link DependencyGraph} is returned.
+     * @throws IOException is thrown in cases of IO issues or if the file is
+     *                     malformed.
+     */
+    public static DependencyGraph restoreDependencyGraph(File file, InternDictionary dictionary) throws IOException {
+        DependencyGraph.Builder builder = new DependencyGraph.Builder();
+        int nodeCount = 0;
+        try (FileInputStream fileInputStream = new FileInputStream(file);
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(fileInputStream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] splits;
+                try {
+                    splits = split(line);
+                } catch (IndexOutOfBoundsException e) {
+                    throw new IOException("Malformed dependency graph line '" + line + "' was found.", e);
+                }
+                if (((splits.length == 6) || (splits.length == 7)) && "N".equals(splits[0])) {
+                    // a missing scope is the empty last field, which is not split
+                    String scope = splits.length == 7 ? fromField(splits[6]) : null;
+                    ArtifactInformation artifactInformation = dictionary.artifactInformation(splits[1], splits[2],
+                            splits[3], splits[4], splits[5], scope);
+                    if (builder.addNode(artifactInformation) != nodeCount) {
+                        throw new IOException("Duplicate dependency graph node '" + line + "' was found.");
+                    }
+                    nodeCount++;
+                } else if ((splits.length == 5) && "E".equals(splits[0])) {
+                    int from;
+                    int to;
+                    try {
+                        from = Integer.parseInt(splits[1]);
+                        to = Integer.parseInt(splits[2]);
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Malformed dependency graph line '" + line + "' was found.", e);
+                    }
+                    if ((from < 0) || (from >= nodeCount) || (to < 0) || (to >= nodeCount)) {
+                        throw new IOException("Dependency graph edge '" + line + "' refers to an unknown node.");
+                    }
+                    builder.addEdge(from, to, fromField(splits[3]), Boolean.parseBoolean(splits[4]));
+                } else {
+                    throw new IOException("Malformed dependency graph line '" + line + "' was found.");
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static String toField(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String fromField(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Replaces a file by another one. The file is moved atomically if supported
+     * by the file system, so that concurrent processes reading the file either see
+     * the former or the new content, but never a partially written file.
+     *
+     * @param source is the new file to be moved.
+     * @param target is the file to be replaced.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public static void replaceFile(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
@@ -335,6 +512,21 @@ public class IOUtilities {
 
     }
 
+    /**
+     * Converts a byte array like a digest into a lower case hex {@link String}.
+     *
+     * @param bytes is the byte array to be converted.
+     * @return A {@link String} is returned containing two hex digits per byte.
+     */
+    public static String toHexString(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+            builder.append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
     /**
      * Private default constructor to avoid instantiation.
      */
@@ -0,0 +1,320 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.License;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+
+/**
+ * This class is a dictionary for all values which are repeated many times in
+ * validation results like group ids, license names, URLs and comments. Equal
+ * values are canonicalized to a single shared instance, so that large results
+ * sets do not keep thousands of copies of the same value on the heap.
+ * Additionally, {@link ArtifactInformation} keys are canonicalized, so that
+ * lookups of results for dependency tree nodes are identity checks.
+ *
+ * The dictionary is not thread-safe. It is meant to be used for the duration of
+ * a single Mojo execution and to be shared by all results read and all
+ * dependency tree nodes created.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class InternDictionary {
+
+    /**
+     * Contains the canonical {@link String} instances.
+     */
+    private final Map<String, String> strings = new HashMap<>();
+
+    /**
+     * Contains the canonical {@link URL} instances keyed by their string
+     * representation. {@link URL#equals(Object)} is not used on purpose, because
+     * it resolves host names.
+     */
+    private final Map<String, URL> urls = new HashMap<>();
+
+    /**
+     * Contains the canonical {@link KnownLicense} instances.
+     */
+    private final Map<LicenseKey, KnownLicense> licenses = new HashMap<>();
+
+    /**
+     * Contains the canonical {@link ArtifactInformation} instances.
+     */
+    private final Map<ArtifactInformation, ArtifactInformation> artifacts = new HashMap<>();
+
+    /**
+     * Contains the canonical {@link DeclaredLicense} instances keyed by name and
+     * URL.
+     */
+    private final Map<DeclaredLicenseKey, DeclaredLicense> declaredLicenses = new HashMap<>();
+
+    /**
+     * This method returns the canonical instance of the given {@link String}.
+     *
+     * @param string is the {@link String} to be looked up. <code>null</code> is
+     *               allowed.
+     * @return The shared {@link String} instance is returned.
+     */
+    public String intern(String string) {
+        if (string == null) {
+            return null;
+        }
+        String canonical = strings.get(string);
+        if (canonical == null) {
+            strings.put(string, string);
+            canonical = string;
+        }
+        return canonical;
+    }
+
+    /**
+     * This method returns the canonical {@link URL} for the given specification.
+     *
+     * @param spec is the {@link String} representation of the URL.
+     * @return The shared {@link URL} instance is returned.
+     * @throws MalformedURLException is thrown if the specification is not a valid
+     *                               URL.
+     */
+    public URL url(String spec) throws MalformedURLException {
+        URL url = urls.get(spec);
+        if (url == null) {
+            url = new URL(spec);
+            urls.put(intern(spec), url);
+        }
+        return url;
+    }
+
+    /**
+     * This method returns the canonical {@link KnownLicense} for the given values.
+     * The license returned is shared and must not be modified. It does not contain
+     * any aliases or approved dependencies.
+     *
+     * @param name  is the name of the license.
+     * @param url   is the {@link URL} of the license text.
+     * @param valid specifies whether the license is valid or not.
+     * @return The shared {@link KnownLicense} instance is returned.
+     */
+    public KnownLicense knownLicense(String name, URL url, boolean valid) {
+        LicenseKey key = new LicenseKey(intern(name), url, valid);
+        KnownLicense license = licenses.get(key);
+        if (license == null) {
+            Set<String> empty = Collections.emptySet();
+            license = new KnownLicense(key.name, url, valid, empty, empty);
+            licenses.put(key, license);
+        }
+        return license;
+    }
+
+    /**
+     * This method returns the canonical {@link ArtifactInformation} for the given
+     * coordinates.
+     *
+     * @param groupId    is the group id of the artifact.
+     * @param artifactId is the artifact id of the artifact.
+     * @param version    is the version of the artifact.
+     * @param classifier is the classifier of the artifact.
+     * @param type       is the type of the artifact.
+     * @param scope      is the scope of the artifact.
+     * @return The shared {@link ArtifactInformation} instance is returned.
+     */
+    public ArtifactInformation artifactInformation(String groupId, String artifactId, String version,
+            String classifier, String type, String scope) {
+        ArtifactInformation artifactInformation = new ArtifactInformation(intern(groupId), intern(artifactId),
+                intern(version), intern(classifier), intern(type), intern(scope));
+        ArtifactInformation canonical = artifacts.get(artifactInformation);
+        if (canonical == null) {
+            artifacts.put(artifactInformation, artifactInformation);
+            canonical = artifactInformation;
+        }
+        return canonical;
+    }
+
+    /**
+     * This method returns the canonical {@link ArtifactInformation} for the given
+     * {@link Artifact}.
+     *
+     * @param artifact is the {@link Artifact} to be looked up.
+     * @return The shared {@link ArtifactInformation} instance is returned.
+     */
+    public ArtifactInformation artifactInformation(Artifact artifact) {
+        return artifactInformation(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion(),
+                artifact.getClassifier(), artifact.getType(), artifact.getScope());
+    }
+
+    /**
+     * This method converts the {@link Dependency}s declared in a POM into their
+     * compact form. The {@link Dependency} objects are not referenced afterwards.
+     *
+     * @param dependencies is the {@link List} of {@link Dependency}s to be
+     *                     converted.
+     * @return An immutable {@link List} of {@link DeclaredDependency}s is
+     *         returned.
+     */
+    public List<DeclaredDependency> declaredDependencies(List<Dependency> dependencies) {
+        DeclaredDependency[] declaredDependencies = new DeclaredDependency[dependencies.size()];
+        for (int i = 0; i < declaredDependencies.length; i++) {
+            Dependency dependency = dependencies.get(i);
+            declaredDependencies[i] = new DeclaredDependency(intern(dependency.getGroupId()),
+                    intern(dependency.getArtifactId()), intern(dependency.getVersion()),
+                    intern(dependency.getClassifier()), intern(dependency.getType()), intern(dependency.getScope()),
+                    dependency.isOptional());
+        }
+        return toList(declaredDependencies);
+    }
+
+    /**
+     * This method converts the {@link License}s declared in a POM into their
+     * canonical compact form. The {@link License} objects are not referenced
+     * afterwards.
+     *
+     * @param licenses is the {@link List} of {@link License}s to be converted.
+     * @return An immutable {@link List} of shared {@link DeclaredLicense}s is
+     *         returned.
+     */
+    public List<DeclaredLicense> declaredLicenses(List<License> licenses) {
+        DeclaredLicense[] result = new DeclaredLicense[licenses.size()];
+        for (int i = 0; i < result.length; i++) {
+            License license = licenses.get(i);
+            result[i] = declaredLicense(license.getName(), license.getUrl());
+        }
+        return toList(result);
+    }
+
+    /**
+     * This method returns the canonical {@link DeclaredLicense} for the given
+     * values.
+     *
+     * @param name is the name of the license.
+     * @param url  is the URL of the license. A missing or malformed URL is kept as
+     *             <code>null</code>.
+     * @return The shared {@link DeclaredLicense} instance is returned.
+     */
+    public DeclaredLicense declaredLicense(String name, String url) {
+        DeclaredLicenseKey key = new DeclaredLicenseKey(name, url);
+        DeclaredLicense declaredLicense = declaredLicenses.get(key);
+        if (declaredLicense == null) {
+            URL licenseURL;
+            try {
+                licenseURL = url == null ? null : url(url);
+            } catch (MalformedURLException e) {
+                licenseURL = null;
+            }
+            declaredLicense = new DeclaredLicense(intern(name), licenseURL);
+            declaredLicenses.put(key, declaredLicense);
+        }
+        return declaredLicense;
+    }
+
+    private static <T> List<T> toList(T[] elements) {
+        switch (elements.length) {
+        case 0:
+            return Collections.emptyList();
+        case 1:
+            return Collections.singletonList(elements[0]);
+        default:
+            return Collections.unmodifiableList(Arrays.asList(elements));
+        }
+    }
+
+    /**
+     * Returns the number of unique artifacts canonicalized so far.
+     *
+     * @return The number of artifacts is returned.
+     */
+    public int getArtifactCount() {
+        return artifacts.size();
+    }
+
+    /**
+     * This is the key for {@link InternDictionary#licenses}.
+     */
+    private static final class LicenseKey {
+
+        private final String name;
+        private final String url;
+        private final boolean valid;
+        private final int hashCode;
+
+        private LicenseKey(String name, URL url, boolean valid) {
+            this.name = name;
+            this.url = url == null ? null : url.toString();
+            this.valid = valid;
+            int result = 1;
+            result = (31 * result) + ((name == null) ? 0 : name.hashCode());
+            result = (31 * result) + ((this.url == null) ? 0 : this.url.hashCode());
+            result = (31 * result) + (valid ? 1231 : 1237);
+            this.hashCode = result;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof LicenseKey)) {
+                return false;
+            }
+            LicenseKey other = (LicenseKey) obj;
+            return (valid == other.valid) && (hashCode == other.hashCode) && equal(name, other.name)
+                    && equal(url, other.url);
+        }
+    }
+
+    /**
+     * This is the key for {@link InternDictionary#declaredLicenses}. The URL is
+     * kept as declared, because malformed URLs are canonicalized as well.
+     */
+    private static final class DeclaredLicenseKey {
+
+        private final String name;
+        private final String url;
+        private final int hashCode;
+
+        private DeclaredLicenseKey(String name, String url) {
+            this.name = name;
+            this.url = url;
+            int result = 1;
+            result = (31 * result) + ((name == null) ? 0 : name.hashCode());
+            result = (31 * result) + ((url == null) ? 0 : url.hashCode());
+            this.hashCode = result;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof DeclaredLicenseKey)) {
+                return false;
+            }
+            DeclaredLicenseKey other = (DeclaredLicenseKey) obj;
+            return (hashCode == other.hashCode) && equal(name, other.name) && equal(url, other.url);
+        }
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -0,0 +1,135 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import org.apache.maven.artifact.Artifact;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This is the {@link EventRecorder} emitting Java Flight Recorder events. It is
+ * only instantiated by {@link EventRecorders} if JFR is available. The event
+ * objects are only created while the event type is enabled in a running
+ * recording. Compiling this class requires a JDK which contains the jdk.jfr
+ * API, which is enforced in the build.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class JfrEventRecorder implements EventRecorder {
+
+    private static final String CATEGORY = "License Maven Plugin";
+
+    @Name("com.puresoltechnologies.license.Resolution")
+    @Label("POM Resolution")
+    @Description("Builds the Maven project of an artifact out of its POM.")
+    @Category(CATEGORY)
+    static class ResolutionEvent extends Event {
+        @Label("Artifact")
+        String artifact;
+        @Label("Success")
+        boolean success;
+    }
+
+    @Name("com.puresoltechnologies.license.Matching")
+    @Label("License Matching")
+    @Description("Matches the licenses of an artifact against the license policy.")
+    @Category(CATEGORY)
+    static class MatchingEvent extends Event {
+        @Label("Artifact")
+        String artifact;
+        @Label("Results")
+        int results;
+        @Label("Valid")
+        boolean valid;
+    }
+
+    @Name("com.puresoltechnologies.license.ResultWriting")
+    @Label("Result Writing")
+    @Description("Writes the validation result of an artifact into the results file.")
+    @Category(CATEGORY)
+    static class ResultWritingEvent extends Event {
+        @Label("Artifact")
+        String artifact;
+    }
+
+    private final EventType resolutionType = EventType.getEventType(ResolutionEvent.class);
+    private final EventType matchingType = EventType.getEventType(MatchingEvent.class);
+    private final EventType writingType = EventType.getEventType(ResultWritingEvent.class);
+
+    @Override
+    public Object beginResolution() {
+        if (!resolutionType.isEnabled()) {
+            return null;
+        }
+        ResolutionEvent event = new ResolutionEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitResolution(Object token, Artifact artifact, boolean success) {
+        if (token == null) {
+            return;
+        }
+        ResolutionEvent event = (ResolutionEvent) token;
+        event.end();
+        if (event.shouldCommit()) {
+            event.artifact = ArtifactUtilities.toString(artifact);
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginMatching() {
+        if (!matchingType.isEnabled()) {
+            return null;
+        }
+        MatchingEvent event = new MatchingEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitMatching(Object token, ArtifactInformation artifactInformation, int results, boolean valid) {
+        if (token == null) {
+            return;
+        }
+        MatchingEvent event = (MatchingEvent) token;
+        event.end();
+        if (event.shouldCommit()) {
+            event.artifact = artifactInformation.toString();
+            event.results = results;
+            event.valid = valid;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginWriting() {
+        if (!writingType.isEnabled()) {
+            return null;
+        }
+        ResultWritingEvent event = new ResultWritingEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitWriting(Object token, ArtifactInformation artifactInformation) {
+        if (token == null) {
+            return;
+        }
+        ResultWritingEvent event = (ResultWritingEvent) token;
+        event.end();
+        if (event.shouldCommit()) {
+            event.artifact = artifactInformation.toString();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+
+import com.puresoltechnologies.maven.plugins.license.internal.LicenseSummary.LicenseUsage;
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+/**
+ * This class writes the license report as JSON with a {@link JsonWriter}. The
+ * document contains the aggregated licenses and the validation results of all
+ * artifacts.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class JsonReportWriter {
+
+    private final JsonWriter writer;
+
+    public JsonReportWriter(JsonWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * This method writes the complete report. The artifacts are sorted by their
+     * coordinates, so the document does not depend on the order of the results
+     * map.
+     *
+     * @param results        is the {@link Map} of {@link ValidationResult}s of all
+     *                       artifacts.
+     * @param licenseSummary is the {@link LicenseSummary} of the project.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public void write(Map<ArtifactInformation, List<ValidationResult>> results, LicenseSummary licenseSummary)
+            throws IOException {
+        writer.beginObject();
+        writer.name("licenses").beginArray();
+        for (LicenseUsage usage : licenseSummary.getLicenses()) {
+            writer.beginObject();
+            writer.member("originalLicenseName", usage.getOriginalLicenseName());
+            writeLicense(usage.getValidationResult().getLicense());
+            writer.name("valid").value(usage.isValid());
+            writer.name("firstDepth").value(usage.getFirstDepth());
+            writer.name("directArtifacts").value(usage.getDirectArtifacts());
+            writer.name("transitiveArtifacts").value(usage.getTransitiveArtifacts());
+            writer.endObject();
+        }
+        writer.endArray();
+        writer.name("artifacts").beginArray();
+        for (ArtifactInformation artifactInformation : ResultsMerger.sortArtifacts(results.keySet())) {
+            writer.beginObject();
+            writeArtifact(writer, artifactInformation);
+            writer.name("results").beginArray();
+            for (ValidationResult validationResult : results.get(artifactInformation)) {
+                writer.beginObject();
+                writeLicense(validationResult.getLicense());
+                writer.member("originalLicenseName", validationResult.getOriginalLicenseName());
+                writer.member("originalLicenseUrl", toString(validationResult.getOriginalLicenseURL()));
+                writer.member("comment", validationResult.getComment());
+                writer.name("valid").value(validationResult.isValid());
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+        writer.endArray();
+        writer.endObject();
+        writer.flush();
+    }
+
+    /**
+     * Writes the coordinates of an artifact as members of the current object.
+     *
+     * @param writer              is the {@link JsonWriter} to write to.
+     * @param artifactInformation is the {@link ArtifactInformation} to be
+     *                            written.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public static void writeArtifact(JsonWriter writer, ArtifactInformation artifactInformation) throws IOException {
+        writer.member("groupId", artifactInformation.getGroupId());
+        writer.member("artifactId", artifactInformation.getArtifactId());
+        writer.member("version", artifactInformation.getVersion());
+        writer.member("classifier", artifactInformation.getClassifier());
+        writer.member("type", artifactInformation.getType());
+        writer.member("scope", artifactInformation.getScope());
+    }
+
+    private void writeLicense(KnownLicense license) throws IOException {
+        if ((license == null) || (license.getName() == null) || license.getName().isEmpty()) {
+            writer.member("license", null);
+            writer.member("licenseUrl", null);
+        } else {
+            writer.member("license", license.getName());
+            writer.member("licenseUrl", toString(license.getUrl()));
+        }
+    }
+
+    private static String toString(URL url) {
+        return url == null ? null : url.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URL;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+/**
+ * This {@link ResultExporter} writes all {@link ValidationResult}s as a JSON
+ * document with one object per result.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class JsonResultExporter implements ResultExporter {
+
+    private final JsonWriter writer;
+
+    public JsonResultExporter(Writer writer) {
+        this.writer = new JsonWriter(writer);
+    }
+
+    @Override
+    public void begin(ArtifactInformation project) throws IOException {
+        writer.beginObject();
+        writer.name("project").beginObject();
+        JsonReportWriter.writeArtifact(writer, project);
+        writer.endObject();
+        writer.name("results").beginArray();
+    }
+
+    @Override
+    public void export(ValidationResult validationResult) throws IOException {
+        writer.beginObject();
+        JsonReportWriter.writeArtifact(writer, validationResult.getArtifactInformation());
+        KnownLicense license = validationResult.getLicense();
+        writer.member("license", license != null ? license.getName() : null);
+        writer.member("licenseUrl", license != null ? toString(license.getUrl()) : null);
+        writer.member("originalLicenseName", validationResult.getOriginalLicenseName());
+        writer.member("originalLicenseUrl", toString(validationResult.getOriginalLicenseURL()));
+        writer.member("comment", validationResult.getComment());
+        writer.name("valid").value(validationResult.isValid());
+        writer.endObject();
+    }
+
+    @Override
+    public void end() throws IOException {
+        writer.endArray();
+        writer.endObject();
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static String toString(URL url) {
+        return url == null ? null : url.toString();
+    }
+}
@@ -0,0 +1,210 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.BitSet;
+
+/**
+ * This is a minimal streaming JSON writer. Values are written directly to the
+ * underlying {@link Writer}, so memory use does not depend on the size of the
+ * document. Only the nesting state is kept.
+ *
+ * The writer does not validate the document structure. The caller is
+ * responsible for balanced objects and arrays and for writing names only within
+ * objects.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class JsonWriter implements Flushable, Closeable {
+
+    private final Writer writer;
+    /**
+     * Contains per nesting level whether a value was already written at this
+     * level and a comma is needed before the next one.
+     */
+    private final BitSet hasValue = new BitSet();
+    private int level = 0;
+    private boolean afterName = false;
+
+    public JsonWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * This method starts a new JSON object.
+     *
+     * @return This {@link JsonWriter} is returned.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        writer.write('{');
+        level++;
+        hasValue.clear(level);
+        return this;
+    }
+
+    /**
+     * This method finishes the current JSON object.
+     *
+     * @return This {@link JsonWriter} is returned.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public JsonWriter endObject() throws IOException {
+        level--;
+        writer.write('}');
+        return this;
+    }
+
+    /**
+     * This method starts a new JSON array.
+     *
+     * @return This {@link JsonWriter} is returned.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        writer.write('[');
+        level++;
+        hasValue.clear(level);
+        return this;
+    }
+
+    /**
+     * This method finishes the current JSON array.
+     *
+     * @return This {@link JsonWriter} is returned.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public JsonWriter endArray() throws IOException {
+        level--;
+        writer.write(']');
+        return this;
+    }
+
+    /**
+     * This method writes the name of the next member of the current object.
+     *
+     * @param name is the name of the member.
+     * @return This {@link JsonWriter} is returned.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public JsonWriter name(String name) throws IOException {
+        beforeValue();
+        writeString(name);
+        writer.write(':');
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * This method writes a string value. <code>null</code> is written as JSON
+     * null.
+     *
+     * @param value is the value to be written.
+     * @return This {@link JsonWriter} is returned.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public JsonWriter value(String value) throws IOException {
+        beforeValue();
+        if (value == null) {
+            writer.write("null");
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+
+    /**
+     * This method writes a boolean value.
+     *
+     * @param value is the value to be written.
+     * @return This {@link JsonWriter} is returned.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        writer.write(String.valueOf(value));
+        return this;
+    }
+
+    /**
+     * This method writes a number value.
+     *
+     * @param value is the value to be written.
+     * @return This {@link JsonWriter} is returned.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        writer.write(String.valueOf(value));
+        return this;
+    }
+
+    /**
+     * This is a convenience method to write a member with a string value.
+     *
+     * @param name  is the name of the member.
+     * @param value is the value to be written.
+     * @return This {@link JsonWriter} is returned.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public JsonWriter member(String name, String value) throws IOException {
+        return name(name).value(value);
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (hasValue.get(level)) {
+            writer.write(',');
+        } else {
+            hasValue.set(level);
+        }
+    }
+
+    private void writeString(String string) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            switch (c) {
+            case '"':
+                writer.write("\\\"");
+                break;
+            case '\\':
+                writer.write("\\\\");
+                break;
+            case '\n':
+                writer.write("\\n");
+                break;
+            case '\r':
+                writer.write("\\r");
+                break;
+            case '\t':
+                writer.write("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    writer.write(String.format("\\u%04x", (int) c));
+                } else {
+                    writer.write(c);
+                }
+            }
+        }
+        writer.write('"');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,91 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+/**
+ * This class is a histogram of latencies with a fixed memory footprint. The
+ * latencies are recorded in micro seconds into buckets with a logarithmic scale.
+ * Every power of two is split into {@value #SUB_BUCKETS} linear sub buckets, so
+ * the percentiles have a relative error of less than 2% independent of the
+ * number of values recorded. This class is not thread-safe.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[(64 - SUB_BUCKET_BITS) * SUB_BUCKETS];
+    private long count = 0;
+    private long max = 0;
+
+    /**
+     * This method records a latency.
+     *
+     * @param nanos is the latency in nano seconds.
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts[getBucket(micros)]++;
+        count++;
+        max = Math.max(max, micros);
+    }
+
+    /**
+     * Returns the number of latencies recorded.
+     *
+     * @return The number is returned.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the largest latency recorded.
+     *
+     * @return The latency is returned in micro seconds.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * This method returns the latency below or equal to which the given percentage
+     * of all recorded latencies are.
+     *
+     * @param percentile is the percentile between 0 and 100.
+     * @return The upper bound of the bucket containing the percentile is returned
+     *         in micro seconds, but never more than the maximum latency. 0 is
+     *         returned if no latency was recorded.
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(100.0, percentile) / 100.0));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(max, getUpperBound(bucket));
+            }
+        }
+        return max;
+    }
+
+    private static int getBucket(long micros) {
+        if (micros < 2 * SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (micros >>> shift) - SUB_BUCKETS;
+    }
+
+    private static long getUpperBound(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowerBound = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,147 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+/**
+ * This class contains an inverted index from the names of the
+ * {@link KnownLicense}s to the artifacts using them. Results without a known
+ * license are indexed under {@link #UNKNOWN_LICENSE}.
+ *
+ * The index can be written into a small CSV file with one line per license and
+ * artifact, sorted by license name and artifact. The file can be queried with
+ * {@link #findArtifacts(BufferedReader, String)} without loading the complete
+ * results.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class LicenseIndex {
+
+    /**
+     * This is the name under which all artifacts without known license are
+     * indexed.
+     */
+    public static final String UNKNOWN_LICENSE = "";
+
+    private final Map<String, Map<String, ArtifactInformation>> artifacts = new TreeMap<>();
+    private final Map<String, KnownLicense> licenses = new HashMap<>();
+
+    /**
+     * This method adds a single {@link ValidationResult} to the index.
+     *
+     * @param validationResult is the {@link ValidationResult} to be added.
+     */
+    public void add(ValidationResult validationResult) {
+        KnownLicense license = validationResult.getLicense();
+        String licenseName = getLicenseName(license);
+        Map<String, ArtifactInformation> licenseArtifacts = artifacts.get(licenseName);
+        if (licenseArtifacts == null) {
+            licenseArtifacts = new TreeMap<>();
+            artifacts.put(licenseName, licenseArtifacts);
+            licenses.put(licenseName, license);
+        }
+        ArtifactInformation artifactInformation = validationResult.getArtifactInformation();
+        licenseArtifacts.put(artifactInformation.toString(), artifactInformation);
+    }
+
+    private static String getLicenseName(KnownLicense license) {
+        if ((license == null) || (license.getName() == null)) {
+            return UNKNOWN_LICENSE;
+        }
+        return license.getName();
+    }
+
+    /**
+     * Returns the names of all indexed licenses in alphabetical order.
+     *
+     * @return A {@link List} of {@link String} is returned.
+     */
+    public List<String> getLicenseNames() {
+        return new ArrayList<>(artifacts.keySet());
+    }
+
+    /**
+     * Returns the {@link KnownLicense} first indexed for the given name.
+     *
+     * @param licenseName is the name of the license.
+     * @return A {@link KnownLicense} is returned or <code>null</code> if the
+     *         license is not known.
+     */
+    public KnownLicense getLicense(String licenseName) {
+        return licenses.get(licenseName);
+    }
+
+    /**
+     * Returns all artifacts using the given license sorted by their coordinates.
+     *
+     * @param licenseName is the name of the license.
+     * @return A {@link Collection} of {@link ArtifactInformation} is returned. The
+     *         collection is empty if the license was not indexed.
+     */
+    public Collection<ArtifactInformation> getArtifacts(String licenseName) {
+        Map<String, ArtifactInformation> licenseArtifacts = artifacts.get(licenseName);
+        if (licenseArtifacts == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableCollection(licenseArtifacts.values());
+    }
+
+    /**
+     * This method writes the index as sorted CSV lines:
+     *
+     * "${licenseName}",${groupId},${artifactId},"${version}",${classifier},${type},${scope}
+     *
+     * @param writer is the {@link Writer} to write to.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public void write(Writer writer) throws IOException {
+        for (Entry<String, Map<String, ArtifactInformation>> entry : artifacts.entrySet()) {
+            String licenseName = entry.getKey();
+            for (ArtifactInformation artifactInformation : entry.getValue().values()) {
+                writer.write("\"" + licenseName + "\"," + artifactInformation.getGroupId() + ","
+                        + artifactInformation.getArtifactId() + ",\"" + artifactInformation.getVersion() + "\","
+                        + artifactInformation.getClassifier() + "," + artifactInformation.getType() + ","
+                        + artifactInformation.getScope() + "\n");
+            }
+        }
+    }
+
+    /**
+     * This method reads all artifacts of a single license out of an index written
+     * with {@link #write(Writer)}. Because the index is sorted, reading stops after
+     * the lines of the license.
+     *
+     * @param bufferedReader is the {@link BufferedReader} to read the index from.
+     * @param licenseName    is the name of the license to look for.
+     * @return A {@link List} of {@link ArtifactInformation} is returned.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public static List<ArtifactInformation> findArtifacts(BufferedReader bufferedReader, String licenseName)
+            throws IOException {
+        List<ArtifactInformation> found = new ArrayList<>();
+        String prefix = "\"" + licenseName + "\",";
+        String line;
+        while ((line = bufferedReader.readLine()) != null) {
+            if (line.startsWith(prefix)) {
+                String[] splits = IOUtilities.split(line);
+                found.add(new ArtifactInformation(splits[1], splits[2], splits[3], splits[4], splits[5], splits[6]));
+            } else if (!found.isEmpty()) {
+                break;
+            }
+        }
+        return found;
+    }
+}
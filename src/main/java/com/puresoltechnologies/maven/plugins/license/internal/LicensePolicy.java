@@ -0,0 +1,265 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.Serializable;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.apache.maven.plugin.MojoFailureException;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+/**
+ * This class contains the compiled, immutable license policy. It is built once
+ * per execution out of the configured {@link KnownLicense}s and contains an
+ * index of all license names and aliases and the compiled patterns of all
+ * approved dependencies. The configuration a policy was compiled from is
+ * identified by {@link #getConfigurationHash()}. The policy is
+ * {@link Serializable}, so the license daemon can send it to the 'verify' goal.
+ *
+ * The lookups do not depend on the configuration order: exact license names
+ * take precedence over aliases, and if several licenses share a name, an alias
+ * or approve the same artifact, the first license in name order wins.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class LicensePolicy implements Serializable {
+
+    private static final long serialVersionUID = -2418839018471539627L;
+
+    /**
+     * This method compiles a new policy.
+     *
+     * @param knownLicenses is the {@link Collection} of configured
+     *                      {@link KnownLicense}s.
+     * @return A {@link LicensePolicy} is returned.
+     * @throws MojoFailureException is thrown in case the configuration is invalid.
+     */
+    public static LicensePolicy compile(Collection<KnownLicense> knownLicenses) throws MojoFailureException {
+        List<KnownLicense> licenses = sort(knownLicenses);
+        Map<String, KnownLicense> names = new HashMap<>();
+        List<Pattern> approvalPatterns = new ArrayList<>();
+        List<KnownLicense> approvalLicenses = new ArrayList<>();
+        for (KnownLicense knownLicense : licenses) {
+            if (!names.containsKey(knownLicense.getName())) {
+                names.put(knownLicense.getName(), knownLicense);
+            }
+        }
+        for (KnownLicense knownLicense : licenses) {
+            for (String alias : knownLicense.getAliases()) {
+                if ((alias == null) || (alias.isEmpty())) {
+                    throw new MojoFailureException("An alias was found without identifier.");
+                }
+                if (!names.containsKey(alias)) {
+                    names.put(alias, knownLicense);
+                }
+            }
+            for (String approvedDependency : new TreeSet<>(knownLicense.getApprovedDependencies())) {
+                if ((approvedDependency == null) || (approvedDependency.isEmpty())) {
+                    throw new MojoFailureException("An approved dependency was found without identifier.");
+                }
+                try {
+                    approvalPatterns.add(Pattern.compile(approvedDependency));
+                } catch (PatternSyntaxException e) {
+                    throw new MojoFailureException(
+                            "Approved dependency '" + approvedDependency + "' is not a valid regular expression.", e);
+                }
+                approvalLicenses.add(knownLicense);
+            }
+        }
+        return new LicensePolicy(calculateConfigurationHash(licenses), licenses, names,
+                approvalPatterns.toArray(new Pattern[approvalPatterns.size()]),
+                approvalLicenses.toArray(new KnownLicense[approvalLicenses.size()]));
+    }
+
+    /**
+     * This method calculates the hash of a license configuration. The hash does not
+     * depend on the order of the licenses, aliases and approved dependencies.
+     *
+     * @param knownLicenses is the {@link Collection} of configured
+     *                      {@link KnownLicense}s.
+     * @return A hex {@link String} is returned containing the SHA-256 hash.
+     */
+    public static String calculateConfigurationHash(Collection<KnownLicense> knownLicenses) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (KnownLicense knownLicense : sort(knownLicenses)) {
+                update(digest, knownLicense.getName());
+                URL url = knownLicense.getUrl();
+                update(digest, url == null ? null : url.toString());
+                update(digest, String.valueOf(knownLicense.isValid()));
+                for (String alias : new TreeSet<>(knownLicense.getAliases())) {
+                    update(digest, "alias:" + alias);
+                }
+                for (String approvedDependency : new TreeSet<>(knownLicense.getApprovedDependencies())) {
+                    update(digest, "approved:" + approvedDependency);
+                }
+            }
+            return IOUtilities.toHexString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Creates immutable copies of the licenses sorted by name and URL to make
+     * compilation and hashing independent from the configuration order.
+     */
+    private static List<KnownLicense> sort(Collection<KnownLicense> knownLicenses) {
+        List<KnownLicense> licenses = new ArrayList<>();
+        for (KnownLicense knownLicense : knownLicenses) {
+            licenses.add(new KnownLicense(knownLicense.getName(), knownLicense.getUrl(), knownLicense.isValid(),
+                    knownLicense.getAliases(), knownLicense.getApprovedDependencies()));
+        }
+        Collections.sort(licenses, new Comparator<KnownLicense>() {
+            @Override
+            public int compare(KnownLicense o1, KnownLicense o2) {
+                int result = compareStrings(o1.getName(), o2.getName());
+                if (result != 0) {
+                    return result;
+                }
+                return compareStrings(String.valueOf(o1.getUrl()), String.valueOf(o2.getUrl()));
+            }
+
+            private int compareStrings(String s1, String s2) {
+                if (s1 == null) {
+                    return s2 == null ? 0 : -1;
+                }
+                return s2 == null ? 1 : s1.compareTo(s2);
+            }
+        });
+        return licenses;
+    }
+
+    private final String configurationHash;
+    private final List<KnownLicense> licenses;
+    private final Map<String, KnownLicense> names;
+    private final Pattern[] approvalPatterns;
+    private final KnownLicense[] approvalLicenses;
+
+    private LicensePolicy(String configurationHash, List<KnownLicense> licenses, Map<String, KnownLicense> names,
+            Pattern[] approvalPatterns, KnownLicense[] approvalLicenses) {
+        super();
+        this.configurationHash = configurationHash;
+        this.licenses = Collections.unmodifiableList(licenses);
+        this.names = names;
+        this.approvalPatterns = approvalPatterns;
+        this.approvalLicenses = approvalLicenses;
+    }
+
+    /**
+     * Returns the hash of the configuration this policy was compiled from.
+     *
+     * @return A hex {@link String} is returned.
+     */
+    public String getConfigurationHash() {
+        return configurationHash;
+    }
+
+    /**
+     * Returns all licenses of this policy.
+     *
+     * @return An unmodifiable {@link List} of {@link KnownLicense} is returned.
+     */
+    public List<KnownLicense> getLicenses() {
+        return licenses;
+    }
+
+    /**
+     * This method looks up a license by its name or one of its aliases. A license
+     * with the exact name is preferred over a license with an equal alias.
+     *
+     * @param licenseName is the name of the license as found in the POM.
+     * @return A {@link KnownLicense} is returned or <code>null</code> if the
+     *         license is not known.
+     */
+    public KnownLicense findKnownLicense(String licenseName) {
+        return names.get(licenseName);
+    }
+
+    /**
+     * This method looks up the license of an artifact which is approved
+     * explicitly. The approved dependencies are evaluated in the name order of
+     * the licenses and, within a license, in lexicographic order.
+     *
+     * @param artifactInformation is the {@link ArtifactInformation} of the artifact
+     *                            to be looked up.
+     * @return A {@link KnownLicense} is returned or <code>null</code> if the
+     *         artifact is not approved.
+     */
+    public KnownLicense findApprovedLicense(ArtifactInformation artifactInformation) {
+        String identifier = artifactInformation.getIdentifier();
+        for (int i = 0; i < approvalPatterns.length; i++) {
+            if (approvalPatterns[i].matcher(identifier).matches()) {
+                return approvalLicenses[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This method validates the licenses of a single artifact. An artifact which
+     * is approved explicitly is valid with all its licenses. Otherwise, every
+     * license needs to be known. An artifact without licenses is only valid if it
+     * is approved.
+     *
+     * @param artifactInformation is the {@link ArtifactInformation} of the artifact
+     *                            to be validated.
+     * @param artifactLicenses    is the {@link List} of {@link DeclaredLicense}s
+     *                            found in the POM of the artifact.
+     * @return A {@link List} of {@link ValidationResult}s is returned containing
+     *         one result per license or a single result if there are no licenses.
+     */
+    public List<ValidationResult> validate(ArtifactInformation artifactInformation,
+            List<DeclaredLicense> artifactLicenses) {
+        KnownLicense approvedLicense = findApprovedLicense(artifactInformation);
+        if (artifactLicenses.isEmpty()) {
+            if (approvedLicense != null) {
+                return Collections.singletonList(new ValidationResult(artifactInformation, approvedLicense, null,
+                        null, "no license found, but dependency is approved", true));
+            } else {
+                return Collections.singletonList(new ValidationResult(artifactInformation, null, null, null,
+                        "no license found and artifact is not approved", false));
+            }
+        }
+        List<ValidationResult> results = new ArrayList<>(artifactLicenses.size());
+        for (DeclaredLicense license : artifactLicenses) {
+            String licenseName = license.getName();
+            URL licenseURL = license.getUrl();
+            if (approvedLicense != null) {
+                results.add(new ValidationResult(artifactInformation, approvedLicense, licenseName, licenseURL,
+                        "license is approved by artifact", true));
+            } else {
+                KnownLicense knownLicense = findKnownLicense(licenseName);
+                if (knownLicense != null) {
+                    results.add(new ValidationResult(artifactInformation, knownLicense, licenseName, licenseURL,
+                            "license is approved", true));
+                } else {
+                    results.add(new ValidationResult(artifactInformation, null, licenseName, licenseURL,
+                            "license is not approved", false));
+                }
+            }
+        }
+        return results;
+    }
+}
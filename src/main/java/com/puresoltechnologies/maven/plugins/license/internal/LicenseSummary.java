@@ -0,0 +1,233 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+/**
+ * This class contains the aggregated license information of a
+ * {@link DependencyTree} for the report. It is built in a single traversal of the
+ * tree and contains for every original license name the depth it was seen
+ * first, the number of direct and transitive artifacts using it and its overall
+ * validity.
+ *
+ * Direct licenses are the licenses of the direct dependencies (depth 1).
+ * Transitive licenses are the licenses of all dependencies of the direct
+ * dependencies (depth 2 and deeper). A license can be both.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class LicenseSummary {
+
+    /**
+     * This method aggregates the licenses of a {@link DependencyTree}. An artifact
+     * which is found again at the same or a greater depth is not expanded again,
+     * because its subtree cannot contribute anything new.
+     *
+     * @param dependencyTree is the {@link DependencyTree} to be aggregated.
+     * @param results        is the {@link Map} of {@link ValidationResult}s of all
+     *                       artifacts.
+     * @return A {@link LicenseSummary} is returned.
+     */
+    public static LicenseSummary aggregate(DependencyTree dependencyTree,
+            final Map<ArtifactInformation, List<ValidationResult>> results) {
+        final LicenseSummary summary = new LicenseSummary();
+        final Map<ArtifactInformation, ArtifactState> artifacts = new HashMap<>();
+        dependencyTree.accept(new DependencyTreeVisitor() {
+            @Override
+            public boolean visitEnter(DependencyTree node, int depth) {
+                if (depth == 0) {
+                    return true;
+                }
+                ArtifactInformation artifactInformation = node.getArtifactInformation();
+                ArtifactState state = artifacts.get(artifactInformation);
+                if (state == null) {
+                    state = new ArtifactState(depth);
+                    artifacts.put(artifactInformation, state);
+                } else if (state.expandedDepth <= depth) {
+                    summary.add(results.get(artifactInformation), state, depth);
+                    return false;
+                } else {
+                    state.expandedDepth = depth;
+                }
+                summary.add(results.get(artifactInformation), state, depth);
+                return true;
+            }
+        });
+        return summary;
+    }
+
+    /**
+     * This is the state kept per artifact during aggregation.
+     */
+    private static class ArtifactState {
+
+        private int expandedDepth;
+        private boolean direct = false;
+        private boolean transitive = false;
+
+        private ArtifactState(int expandedDepth) {
+            this.expandedDepth = expandedDepth;
+        }
+    }
+
+    private final Map<String, LicenseUsage> licenses = new TreeMap<>();
+
+    private LicenseSummary() {
+    }
+
+    private void add(List<ValidationResult> validationResults, ArtifactState state, int depth) {
+        boolean newDirect = (depth == 1) && !state.direct;
+        boolean newTransitive = (depth > 1) && !state.transitive;
+        state.direct |= newDirect;
+        state.transitive |= newTransitive;
+        if (validationResults == null) {
+            return;
+        }
+        for (ValidationResult validationResult : validationResults) {
+            String originalLicenseName = validationResult.getOriginalLicenseName();
+            if (originalLicenseName == null) {
+                originalLicenseName = "";
+            }
+            LicenseUsage usage = licenses.get(originalLicenseName);
+            if (usage == null) {
+                usage = new LicenseUsage(originalLicenseName, validationResult, depth);
+                licenses.put(originalLicenseName, usage);
+            }
+            usage.update(validationResult, depth, newDirect, newTransitive);
+        }
+    }
+
+    /**
+     * Returns all licenses sorted by their original name.
+     *
+     * @return A {@link List} of {@link LicenseUsage} is returned.
+     */
+    public List<LicenseUsage> getLicenses() {
+        return Collections.unmodifiableList(new ArrayList<>(licenses.values()));
+    }
+
+    /**
+     * Returns the licenses of the direct dependencies sorted by their original
+     * name.
+     *
+     * @return A {@link List} of {@link LicenseUsage} is returned.
+     */
+    public List<LicenseUsage> getDirectLicenses() {
+        List<LicenseUsage> direct = new ArrayList<>();
+        for (LicenseUsage usage : licenses.values()) {
+            if (usage.getDirectArtifacts() > 0) {
+                direct.add(usage);
+            }
+        }
+        return direct;
+    }
+
+    /**
+     * Returns the licenses of the transitive dependencies sorted by their original
+     * name.
+     *
+     * @return A {@link List} of {@link LicenseUsage} is returned.
+     */
+    public List<LicenseUsage> getTransitiveLicenses() {
+        List<LicenseUsage> transitive = new ArrayList<>();
+        for (LicenseUsage usage : licenses.values()) {
+            if (usage.getTransitiveArtifacts() > 0) {
+                transitive.add(usage);
+            }
+        }
+        return transitive;
+    }
+
+    /**
+     * This class contains the aggregated information of a single original license
+     * name.
+     */
+    public static class LicenseUsage {
+
+        private final String originalLicenseName;
+        private final ValidationResult validationResult;
+        private int firstDepth;
+        private int directArtifacts = 0;
+        private int transitiveArtifacts = 0;
+        private boolean valid = true;
+
+        private LicenseUsage(String originalLicenseName, ValidationResult validationResult, int firstDepth) {
+            this.originalLicenseName = originalLicenseName;
+            this.validationResult = validationResult;
+            this.firstDepth = firstDepth;
+        }
+
+        private void update(ValidationResult result, int depth, boolean newDirect, boolean newTransitive) {
+            firstDepth = Math.min(firstDepth, depth);
+            if (newDirect) {
+                directArtifacts++;
+            }
+            if (newTransitive) {
+                transitiveArtifacts++;
+            }
+            valid &= result.isValid();
+        }
+
+        /**
+         * Returns the original license name as found in the POMs.
+         *
+         * @return A {@link String} is returned.
+         */
+        public String getOriginalLicenseName() {
+            return originalLicenseName;
+        }
+
+        /**
+         * Returns the first {@link ValidationResult} found for this license. It is
+         * used to render the license information.
+         *
+         * @return A {@link ValidationResult} is returned.
+         */
+        public ValidationResult getValidationResult() {
+            return validationResult;
+        }
+
+        /**
+         * Returns the smallest depth the license was found at.
+         *
+         * @return The depth is returned. 1 is the depth of direct dependencies.
+         */
+        public int getFirstDepth() {
+            return firstDepth;
+        }
+
+        /**
+         * Returns the number of unique direct dependencies using this license.
+         *
+         * @return The number of artifacts is returned.
+         */
+        public int getDirectArtifacts() {
+            return directArtifacts;
+        }
+
+        /**
+         * Returns the number of unique transitive dependencies using this license.
+         *
+         * @return The number of artifacts is returned.
+         */
+        public int getTransitiveArtifacts() {
+            return transitiveArtifacts;
+        }
+
+        /**
+         * Returns whether the license was validated as valid for all artifacts.
+         *
+         * @return <code>true</code> is returned if all validations were valid.
+         */
+        public boolean isValid() {
+            return valid;
+        }
+    }
+}
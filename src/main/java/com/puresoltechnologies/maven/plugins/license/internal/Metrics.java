@@ -0,0 +1,164 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * This class collects the per phase timings and the counters of a single goal
+ * execution. The phases and counters are kept in the order of their first use.
+ * The metrics are written as JSON file to be scraped by CI dashboards and as a
+ * one-line summary to the build log. This class is not thread-safe and is only
+ * to be used by the thread executing the goal.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class Metrics {
+
+    /**
+     * This is a running timer of a phase. The elapsed time is added to the phase
+     * with {@link #close()}, so it is used with try-with-resources.
+     */
+    public class Timer implements AutoCloseable {
+
+        private final String phase;
+        private final long start = System.nanoTime();
+
+        private Timer(String phase) {
+            this.phase = phase;
+        }
+
+        @Override
+        public void close() {
+            addTime(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * This method returns the name of the metrics file of a goal.
+     *
+     * @param goal is the name of the goal.
+     * @return The file name is returned.
+     */
+    public static String getFileName(String goal) {
+        return "metrics-" + goal + ".json";
+    }
+
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+
+    /**
+     * This method starts a timer for a phase. Phases timed more than once are
+     * accumulated.
+     *
+     * @param phase is the name of the phase.
+     * @return A {@link Timer} is returned which needs to be closed at the end of
+     *         the phase.
+     */
+    public Timer time(String phase) {
+        return new Timer(phase);
+    }
+
+    /**
+     * This method adds the time measured for a phase. It is used in hot paths
+     * instead of {@link #time(String)} to avoid the creation of timers.
+     *
+     * @param phase is the name of the phase.
+     * @param nanos is the time to be added in nano seconds.
+     */
+    public void addTime(String phase, long nanos) {
+        Long time = phases.get(phase);
+        phases.put(phase, time == null ? nanos : time + nanos);
+    }
+
+    /**
+     * Returns the accumulated time of a phase.
+     *
+     * @param phase is the name of the phase.
+     * @return The time is returned in nano seconds.
+     */
+    public long getTime(String phase) {
+        Long time = phases.get(phase);
+        return time == null ? 0 : time;
+    }
+
+    /**
+     * This method increments a counter by one.
+     *
+     * @param counter is the name of the counter.
+     */
+    public void increment(String counter) {
+        add(counter, 1);
+    }
+
+    /**
+     * This method adds a value to a counter.
+     *
+     * @param counter is the name of the counter.
+     * @param value   is the value to be added.
+     */
+    public void add(String counter, long value) {
+        Long count = counters.get(counter);
+        counters.put(counter, count == null ? value : count + value);
+    }
+
+    /**
+     * Returns the value of a counter.
+     *
+     * @param counter is the name of the counter.
+     * @return The value is returned. 0 is returned for unused counters.
+     */
+    public long getCount(String counter) {
+        Long count = counters.get(counter);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * This method writes the metrics as JSON object with the phase times in
+     * milliseconds and the counters.
+     *
+     * @param writer is the {@link Writer} to write to.
+     * @param goal   is the name of the goal the metrics were collected for.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public void write(Writer writer, String goal) throws IOException {
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.beginObject();
+        jsonWriter.member("goal", goal);
+        jsonWriter.name("phases").beginObject();
+        for (Entry<String, Long> phase : phases.entrySet()) {
+            jsonWriter.name(phase.getKey()).value(phase.getValue() / 1000000);
+        }
+        jsonWriter.endObject();
+        jsonWriter.name("counters").beginObject();
+        for (Entry<String, Long> counter : counters.entrySet()) {
+            jsonWriter.name(counter.getKey()).value(counter.getValue());
+        }
+        jsonWriter.endObject();
+        jsonWriter.endObject();
+        jsonWriter.flush();
+    }
+
+    /**
+     * Returns a one-line summary of all metrics for the build log.
+     *
+     * @param goal is the name of the goal the metrics were collected for.
+     * @return A {@link String} is returned.
+     */
+    public String getSummary(String goal) {
+        StringBuilder builder = new StringBuilder("License metrics (" + goal + "):");
+        String separator = " ";
+        for (Entry<String, Long> phase : phases.entrySet()) {
+            builder.append(separator).append(phase.getKey()).append('=').append(phase.getValue() / 1000000)
+                    .append("ms");
+            separator = ", ";
+        }
+        for (Entry<String, Long> counter : counters.entrySet()) {
+            builder.append(separator).append(counter.getKey()).append('=').append(counter.getValue());
+            separator = ", ";
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,113 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * This class logs the progress of the dependency graph walk at a fixed
+ * interval. The walking thread only publishes its counters with
+ * {@link #update(long, long, int, int)}, which costs a few volatile writes per
+ * node. The logging is done by a separate daemon thread, so the progress is
+ * also reported while a single slow POM is resolved.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class ProgressReporter implements AutoCloseable {
+
+    private final Log log;
+    private final ScheduledExecutorService executor;
+    private final long startTime;
+
+    private volatile long nodes = 0;
+    private volatile long pomBuilds = 0;
+    private volatile int uniqueArtifacts = 0;
+    private volatile int pending = 0;
+
+    private long lastTime;
+    private long lastPomBuilds = 0;
+
+    /**
+     * Creates a new reporter and starts the reporting.
+     *
+     * @param log             is the {@link Log} to write the progress to.
+     * @param intervalSeconds is the interval between two progress messages in
+     *                        seconds. 0 switches the reporting off.
+     */
+    public ProgressReporter(Log log, int intervalSeconds) {
+        this.log = log;
+        this.startTime = System.nanoTime();
+        this.lastTime = startTime;
+        if (intervalSeconds > 0) {
+            executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "license-progress");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            executor.scheduleAtFixedRate(new Runnable() {
+                @Override
+                public void run() {
+                    report();
+                }
+            }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        } else {
+            executor = null;
+        }
+    }
+
+    /**
+     * This method publishes the current state of the graph walk. It is called by
+     * the walking thread only.
+     *
+     * @param nodes           is the number of nodes resolved so far.
+     * @param pomBuilds       is the number of POMs built so far.
+     * @param uniqueArtifacts is the number of unique artifacts found so far.
+     * @param pending         is the number of nodes whose dependencies are still
+     *                        to be processed.
+     */
+    public void update(long nodes, long pomBuilds, int uniqueArtifacts, int pending) {
+        this.nodes = nodes;
+        this.pomBuilds = pomBuilds;
+        this.uniqueArtifacts = uniqueArtifacts;
+        this.pending = pending;
+    }
+
+    /**
+     * This method logs the current progress. The POM throughput is calculated
+     * since the last report.
+     */
+    public synchronized void report() {
+        log.info(getMessage(System.nanoTime()));
+    }
+
+    /**
+     * Returns the progress message and starts a new throughput interval.
+     *
+     * @param now is the current time in nano seconds.
+     * @return A {@link String} is returned.
+     */
+    synchronized String getMessage(long now) {
+        long currentPomBuilds = pomBuilds;
+        double seconds = Math.max(1, now - lastTime) / 1e9;
+        double pomsPerSecond = (currentPomBuilds - lastPomBuilds) / seconds;
+        lastTime = now;
+        lastPomBuilds = currentPomBuilds;
+        return String.format(Locale.US,
+                "Resolving dependencies (%ds): %d nodes, %d unique artifacts, %.1f POMs/s, %d pending",
+                (now - startTime) / 1000000000L, nodes, uniqueArtifacts, pomsPerSecond, pending);
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+/**
+ * This is the interface for exporters of {@link ValidationResult}s into
+ * machine-readable formats. An exporter receives the results in the order of
+ * the validation, all results of one artifact in a row, and writes them as a
+ * stream.
+ *
+ * The life cycle is {@link #begin(ArtifactInformation)}, any number of
+ * {@link #export(ValidationResult)} calls, {@link #end()} and finally
+ * {@link #close()}. {@link #close()} without {@link #end()} aborts the export.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public interface ResultExporter extends Closeable {
+
+    /**
+     * This method starts the export.
+     *
+     * @param project is the {@link ArtifactInformation} of the validated project.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public void begin(ArtifactInformation project) throws IOException;
+
+    /**
+     * This method exports a single {@link ValidationResult}.
+     *
+     * @param validationResult is the {@link ValidationResult} to be exported.
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public void export(ValidationResult validationResult) throws IOException;
+
+    /**
+     * This method finishes the export.
+     *
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public void end() throws IOException;
+
+}
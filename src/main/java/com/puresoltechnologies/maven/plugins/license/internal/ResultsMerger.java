@@ -0,0 +1,190 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+/**
+ * This class merges {@link ValidationResult}s of one or more results files into
+ * a single deduplicated model. The results are kept in a hash map keyed by the
+ * canonical {@link ArtifactInformation} of an {@link InternDictionary}, so the
+ * memory used depends on the number of unique artifacts and results and not on
+ * the number of lines read.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class ResultsMerger {
+
+    private final Log log;
+    private final InternDictionary dictionary;
+    private final Map<ArtifactInformation, List<ValidationResult>> results = new HashMap<>();
+    private final LicenseIndex licenseIndex = new LicenseIndex();
+    private int readResults = 0;
+    private int mergedResults = 0;
+    private boolean valid = true;
+
+    /**
+     * Creates a new merger.
+     *
+     * @param log        is the {@link Log} to write to.
+     * @param dictionary is the {@link InternDictionary} used to canonicalize the
+     *                   results read.
+     */
+    public ResultsMerger(Log log, InternDictionary dictionary) {
+        this.log = log;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * This method reads all results of a results file and merges them.
+     *
+     * @param resultsFile is the results file to be read.
+     * @throws MojoExecutionException is thrown in case the file could not be read.
+     */
+    public void merge(File resultsFile) throws MojoExecutionException {
+        try (FileInputStream fileInputStream = new FileInputStream(resultsFile);
+                InputStreamReader inputStreamReader = new InputStreamReader(fileInputStream, Charset.defaultCharset());
+                BufferedReader bufferedReader = new BufferedReader(inputStreamReader);) {
+            for (;;) {
+                ValidationResult validationResult = IOUtilities.readResult(log, bufferedReader, dictionary);
+                if (validationResult == null) {
+                    break;
+                }
+                add(validationResult);
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not read license validation results from file '" + resultsFile
+                    + "'.", e);
+        }
+    }
+
+    /**
+     * This method merges a single {@link ValidationResult}.
+     *
+     * @param validationResult is the {@link ValidationResult} to be merged.
+     * @return <code>true</code> is returned if the result was not merged before.
+     */
+    public boolean add(ValidationResult validationResult) {
+        readResults++;
+        valid &= validationResult.isValid();
+        ArtifactInformation artifactInformation = validationResult.getArtifactInformation();
+        List<ValidationResult> artifactResults = results.get(artifactInformation);
+        if (artifactResults == null) {
+            artifactResults = new ArrayList<>(1);
+            results.put(artifactInformation, artifactResults);
+        }
+        if (artifactResults.contains(validationResult)) {
+            return false;
+        }
+        artifactResults.add(validationResult);
+        licenseIndex.add(validationResult);
+        mergedResults++;
+        return true;
+    }
+
+    /**
+     * Returns the merged results per artifact.
+     *
+     * @return A {@link Map} of {@link ValidationResult}s is returned.
+     */
+    public Map<ArtifactInformation, List<ValidationResult>> getResults() {
+        return results;
+    }
+
+    /**
+     * Returns the {@link LicenseIndex} of the merged results.
+     *
+     * @return A {@link LicenseIndex} is returned.
+     */
+    public LicenseIndex getLicenseIndex() {
+        return licenseIndex;
+    }
+
+    /**
+     * Returns the number of results read including duplicates.
+     *
+     * @return The number of results is returned.
+     */
+    public int getReadResults() {
+        return readResults;
+    }
+
+    /**
+     * Returns the number of unique results merged.
+     *
+     * @return The number of results is returned.
+     */
+    public int getMergedResults() {
+        return mergedResults;
+    }
+
+    /**
+     * Returns whether all results read were valid.
+     *
+     * @return <code>true</code> is returned if no invalid result was read.
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Returns all artifacts sorted by their coordinates.
+     *
+     * @return A {@link List} of {@link ArtifactInformation} is returned.
+     */
+    public List<ArtifactInformation> getSortedArtifacts() {
+        return sortArtifacts(results.keySet());
+    }
+
+    /**
+     * Returns the given artifacts sorted by their coordinates. It is used by all
+     * writers which need an output independent of the iteration order of a hash
+     * map.
+     *
+     * @param artifacts is a {@link Collection} of the artifacts to be sorted.
+     * @return A new {@link List} of {@link ArtifactInformation} is returned.
+     */
+    public static List<ArtifactInformation> sortArtifacts(Collection<ArtifactInformation> artifacts) {
+        List<ArtifactInformation> sortedArtifacts = new ArrayList<>(artifacts);
+        Collections.sort(sortedArtifacts, new Comparator<ArtifactInformation>() {
+            @Override
+            public int compare(ArtifactInformation o1, ArtifactInformation o2) {
+                return o1.toString().compareTo(o2.toString());
+            }
+        });
+        return sortedArtifacts;
+    }
+
+    /**
+     * This method writes the merged results in the format of the results file.
+     * The artifacts are sorted by their coordinates, so the output does not depend
+     * on the order of the merged files.
+     *
+     * @param writer is the {@link Writer} to write to.
+     * @throws MojoExecutionException is thrown in cases of IO issues.
+     */
+    public void write(Writer writer) throws MojoExecutionException {
+        for (ArtifactInformation artifactInformation : getSortedArtifacts()) {
+            for (ValidationResult validationResult : results.get(artifactInformation)) {
+                IOUtilities.writeResult(writer, validationResult);
+            }
+        }
+    }
+}
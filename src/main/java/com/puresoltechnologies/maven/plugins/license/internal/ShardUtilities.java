@@ -0,0 +1,65 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+
+/**
+ * This class contains the helpers to partition the validation of the artifacts
+ * into shards which can be run by different processes. The partition only
+ * depends on the artifact coordinates, so every process computes the same
+ * partition for the same dependency tree.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class ShardUtilities {
+
+    /**
+     * This method returns the shard an artifact belongs to. {@link String#hashCode()}
+     * is used, because its value is specified and does not change between JVMs.
+     *
+     * @param artifactInformation is the {@link ArtifactInformation} of the
+     *                            artifact.
+     * @param shardCount          is the total number of shards.
+     * @return The index of the shard is returned in the range from 0 to
+     *         <code>shardCount - 1</code>.
+     */
+    public static int getShard(ArtifactInformation artifactInformation, int shardCount) {
+        return Math.floorMod(artifactInformation.toString().hashCode(), shardCount);
+    }
+
+    /**
+     * This method checks whether a shard configuration is valid.
+     *
+     * @param shardIndex is the index of the shard.
+     * @param shardCount is the total number of shards.
+     * @return <code>true</code> is returned if the shard count is positive and the
+     *         index is within the range from 0 to <code>shardCount - 1</code>.
+     */
+    public static boolean isValidShard(int shardIndex, int shardCount) {
+        return (shardCount > 0) && (shardIndex >= 0) && (shardIndex < shardCount);
+    }
+
+    /**
+     * This method returns the name of the partial results file of a shard.
+     *
+     * @param shardIndex is the index of the shard.
+     * @param shardCount is the total number of shards.
+     * @return The file name is returned.
+     */
+    public static String getResultsFileName(int shardIndex, int shardCount) {
+        return "licenses-shard-" + shardIndex + "-of-" + shardCount + ".csv";
+    }
+
+    /**
+     * This method returns the name of the metrics file of a shard, so that shards
+     * running in parallel on the same output directory do not overwrite each
+     * other's metrics.
+     *
+     * @param goal       is the name of the goal.
+     * @param shardIndex is the index of the shard.
+     * @param shardCount is the total number of shards.
+     * @return The file name is returned.
+     */
+    public static String getMetricsFileName(String goal, int shardIndex, int shardCount) {
+        return "metrics-" + goal + "-shard-" + shardIndex + "-of-" + shardCount + ".json";
+    }
+}
@@ -0,0 +1,108 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+import org.codehaus.doxia.sink.Sink;
+
+/**
+ * This {@link Writer} forwards the text written to it in chunks of at most
+ * {@link #BUFFER_SIZE} characters as raw text into a {@link Sink}, so a report
+ * body does not need to be kept in memory completely before it is put into the
+ * sink. A high surrogate at the end of a chunk is kept for the next chunk, so
+ * no chunk contains a split character. Closing the writer flushes the
+ * remaining text, but does not close the sink.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class SinkWriter extends Writer {
+
+    /**
+     * This is the maximum number of characters forwarded with a single
+     * {@link Sink#rawText(String)} call.
+     */
+    public static final int BUFFER_SIZE = 8192;
+
+    private final Sink sink;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int size = 0;
+
+    public SinkWriter(Sink sink) {
+        super();
+        this.sink = sink;
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        while (length > 0) {
+            int count = Math.min(length, buffer.length - size);
+            System.arraycopy(chars, offset, buffer, size, count);
+            size += count;
+            offset += count;
+            length -= count;
+            if (size == buffer.length) {
+                forward(Character.isHighSurrogate(buffer[size - 1]) ? size - 1 : size);
+            }
+        }
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        buffer[size++] = (char) c;
+        if (size == buffer.length) {
+            forward(Character.isHighSurrogate(buffer[size - 1]) ? size - 1 : size);
+        }
+    }
+
+    @Override
+    public void write(String string, int offset, int length) throws IOException {
+        while (length > 0) {
+            int count = Math.min(length, buffer.length - size);
+            string.getChars(offset, offset + count, buffer, size);
+            size += count;
+            offset += count;
+            length -= count;
+            if (size == buffer.length) {
+                forward(Character.isHighSurrogate(buffer[size - 1]) ? size - 1 : size);
+            }
+        }
+    }
+
+    /**
+     * This method copies all text of a {@link Reader} into the sink.
+     *
+     * @param reader is the {@link Reader} to be copied. It is not closed.
+     * @throws IOException is thrown in case the reader could not be read.
+     */
+    public void copy(Reader reader) throws IOException {
+        char[] chunk = new char[BUFFER_SIZE];
+        int length;
+        while ((length = reader.read(chunk)) >= 0) {
+            write(chunk, 0, length);
+        }
+    }
+
+    @Override
+    public void flush() {
+        forward(size);
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Forwards the given number of characters of the buffer and moves the
+     * remaining ones to its start.
+     */
+    private void forward(int count) {
+        if (count == 0) {
+            return;
+        }
+        sink.rawText(new String(buffer, 0, count));
+        System.arraycopy(buffer, count, buffer, 0, size - count);
+        size -= count;
+    }
+}
@@ -0,0 +1,91 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * This class keeps the artifacts with the largest latencies out of all
+ * latencies recorded. Only the given number of artifacts is kept, so the memory
+ * needed does not grow with the size of the dependency graph. This class is not
+ * thread-safe.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class SlowestArtifacts {
+
+    /**
+     * This is a single artifact with its latency.
+     */
+    public static class Entry {
+
+        private final String artifact;
+        private final long nanos;
+
+        private Entry(String artifact, long nanos) {
+            this.artifact = artifact;
+            this.nanos = nanos;
+        }
+
+        public String getArtifact() {
+            return artifact;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    private static final Comparator<Entry> FASTEST_FIRST = new Comparator<Entry>() {
+        @Override
+        public int compare(Entry o1, Entry o2) {
+            return Long.compare(o1.nanos, o2.nanos);
+        }
+    };
+
+    private final int size;
+    private final PriorityQueue<Entry> entries;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param size is the number of artifacts to be kept.
+     */
+    public SlowestArtifacts(int size) {
+        this.size = Math.max(0, size);
+        this.entries = new PriorityQueue<>(this.size + 1, FASTEST_FIRST);
+    }
+
+    /**
+     * This method records the latency of an artifact. The artifact is only kept
+     * if it is one of the slowest artifacts.
+     *
+     * @param artifact is the name of the artifact.
+     * @param nanos    is the latency in nano seconds.
+     */
+    public void record(String artifact, long nanos) {
+        if (size == 0) {
+            return;
+        }
+        if (entries.size() < size) {
+            entries.add(new Entry(artifact, nanos));
+        } else if (entries.peek().nanos < nanos) {
+            entries.poll();
+            entries.add(new Entry(artifact, nanos));
+        }
+    }
+
+    /**
+     * Returns the slowest artifacts.
+     *
+     * @return A {@link List} of {@link Entry} is returned with the slowest
+     *         artifact first.
+     */
+    public List<Entry> getEntries() {
+        List<Entry> result = new ArrayList<>(entries);
+        Collections.sort(result, Collections.reverseOrder(FASTEST_FIRST));
+        return result;
+    }
+}
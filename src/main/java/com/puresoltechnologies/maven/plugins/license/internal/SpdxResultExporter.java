@@ -0,0 +1,185 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URL;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+/**
+ * This {@link ResultExporter} writes an SPDX 2.2 document in tag-value format
+ * with one package per artifact.
+ *
+ * Only license names contained in {@link #SPDX_LICENSE_IDS} are exported as
+ * SPDX license identifiers. The list contains the commonly used identifiers of
+ * the SPDX license list, all other names are exported as
+ * <code>LicenseRef-</code> references. A reference is unique per license name,
+ * so two names which are equal after replacing the invalid characters get
+ * references with a different counter suffix. The references are described at
+ * the end of the document, so only the distinct licenses are kept in memory.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class SpdxResultExporter extends AbstractArtifactExporter {
+
+    /**
+     * Contains the SPDX license identifiers which are exported as they are.
+     */
+    static final List<String> SPDX_LICENSE_IDS = Arrays.asList("0BSD", "AFL-3.0", "AGPL-3.0-only",
+            "AGPL-3.0-or-later", "Apache-1.1", "Apache-2.0", "APSL-2.0", "Artistic-2.0", "BlueOak-1.0.0",
+            "BSD-1-Clause", "BSD-2-Clause", "BSD-3-Clause", "BSD-4-Clause", "BSL-1.0", "CC-BY-3.0", "CC-BY-4.0",
+            "CC-BY-SA-3.0", "CC-BY-SA-4.0", "CC0-1.0", "CDDL-1.0", "CDDL-1.1", "CPL-1.0", "EPL-1.0", "EPL-2.0",
+            "EUPL-1.1", "EUPL-1.2", "GPL-2.0-only", "GPL-2.0-or-later", "GPL-3.0-only", "GPL-3.0-or-later", "ISC",
+            "LGPL-2.1-only", "LGPL-2.1-or-later", "LGPL-3.0-only", "LGPL-3.0-or-later", "MIT", "MIT-0", "MPL-1.0",
+            "MPL-1.1", "MPL-2.0", "MPL-2.0-no-copyleft-exception", "MS-PL", "MS-RL", "NCSA", "ODbL-1.0", "OFL-1.1",
+            "OpenSSL", "PostgreSQL", "Python-2.0", "Unicode-DFS-2016", "Unlicense", "UPL-1.0", "W3C", "WTFPL", "X11",
+            "Zlib", "ZPL-2.1");
+    /**
+     * Maps the lower case SPDX license identifiers to their canonical spelling,
+     * because SPDX identifiers are matched case-insensitively.
+     */
+    private static final Map<String, String> CANONICAL_LICENSE_IDS = new HashMap<>();
+    static {
+        for (String licenseId : SPDX_LICENSE_IDS) {
+            CANONICAL_LICENSE_IDS.put(licenseId.toLowerCase(Locale.ROOT), licenseId);
+        }
+    }
+    private static final String NOASSERTION = "NOASSERTION";
+
+    private final Writer writer;
+    /**
+     * Contains the license references used with the name and URL of the
+     * referenced license.
+     */
+    private final Map<String, String[]> licenseReferences = new TreeMap<>();
+    /**
+     * Contains the license reference assigned to each license name.
+     */
+    private final Map<String, String> licenseReferenceIds = new HashMap<>();
+    private int packageCount = 0;
+
+    public SpdxResultExporter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void begin(ArtifactInformation project) throws IOException {
+        writer.write("SPDXVersion: SPDX-2.2\n");
+        writer.write("DataLicense: CC0-1.0\n");
+        writer.write("SPDXID: SPDXRef-DOCUMENT\n");
+        writer.write("DocumentName: " + project.getIdentifier() + "\n");
+        writer.write("DocumentNamespace: http://spdx.org/spdxdocs/" + project.getGroupId() + "-"
+                + project.getArtifactId() + "-" + project.getVersion() + "\n");
+        writer.write("Creator: Tool: license-maven-plugin\n");
+        writer.write("Created: " + Instant.now().truncatedTo(ChronoUnit.SECONDS).toString() + "\n");
+    }
+
+    @Override
+    protected void exportArtifact(ArtifactInformation artifactInformation, List<ValidationResult> validationResults)
+            throws IOException {
+        packageCount++;
+        Set<String> declared = new LinkedHashSet<>();
+        Set<String> concluded = new LinkedHashSet<>();
+        boolean valid = true;
+        StringBuilder comment = new StringBuilder();
+        for (ValidationResult validationResult : validationResults) {
+            valid &= validationResult.isValid();
+            addLicenseId(declared, validationResult.getOriginalLicenseName(), validationResult.getOriginalLicenseURL());
+            KnownLicense license = validationResult.getLicense();
+            if (license != null) {
+                addLicenseId(concluded, license.getName(), license.getUrl());
+            }
+            if (comment.length() > 0) {
+                comment.append("; ");
+            }
+            comment.append(validationResult.getComment());
+        }
+        writer.write("\n");
+        writer.write("PackageName: " + artifactInformation.getArtifactId() + "\n");
+        writer.write("SPDXID: SPDXRef-Package-" + packageCount + "\n");
+        writer.write("PackageVersion: " + artifactInformation.getVersion() + "\n");
+        writer.write("PackageSupplier: Organization: " + artifactInformation.getGroupId() + "\n");
+        writer.write("PackageDownloadLocation: " + NOASSERTION + "\n");
+        writer.write("FilesAnalyzed: false\n");
+        writer.write("PackageLicenseConcluded: " + (valid ? toExpression(concluded) : NOASSERTION) + "\n");
+        writer.write("PackageLicenseDeclared: " + toExpression(declared) + "\n");
+        writer.write("PackageCopyrightText: " + NOASSERTION + "\n");
+        writer.write("PackageComment: <text>" + (valid ? "valid" : "invalid") + ": " + comment + "</text>\n");
+        writer.write("ExternalRef: PACKAGE-MANAGER purl " + CycloneDxResultExporter.toPackageURL(artifactInformation)
+                + "\n");
+    }
+
+    private void addLicenseId(Set<String> licenseIds, String licenseName, URL licenseURL) {
+        if ((licenseName == null) || licenseName.isEmpty()) {
+            return;
+        }
+        licenseIds.add(toLicenseId(licenseName, licenseURL));
+    }
+
+    private static String toExpression(Set<String> licenseIds) {
+        if (licenseIds.isEmpty()) {
+            return NOASSERTION;
+        }
+        StringBuilder expression = new StringBuilder();
+        for (String licenseId : licenseIds) {
+            if (expression.length() > 0) {
+                expression.append(" AND ");
+            }
+            expression.append(licenseId);
+        }
+        return expression.toString();
+    }
+
+    private String toLicenseId(String licenseName, URL licenseURL) {
+        String canonicalId = CANONICAL_LICENSE_IDS.get(licenseName.toLowerCase(Locale.ROOT));
+        if (canonicalId != null) {
+            return canonicalId;
+        }
+        String licenseId = licenseReferenceIds.get(licenseName);
+        if (licenseId != null) {
+            return licenseId;
+        }
+        String baseId = "LicenseRef-" + licenseName.replaceAll("[^A-Za-z0-9.\\-]+", "-");
+        licenseId = baseId;
+        for (int suffix = 2; licenseReferences.containsKey(licenseId); suffix++) {
+            licenseId = baseId + "-" + suffix;
+        }
+        licenseReferenceIds.put(licenseName, licenseId);
+        licenseReferences.put(licenseId,
+                new String[] { licenseName, licenseURL != null ? licenseURL.toString() : null });
+        return licenseId;
+    }
+
+    @Override
+    protected void endArtifacts() throws IOException {
+        for (Entry<String, String[]> licenseReference : licenseReferences.entrySet()) {
+            String[] license = licenseReference.getValue();
+            writer.write("\n");
+            writer.write("LicenseID: " + licenseReference.getKey() + "\n");
+            writer.write("ExtractedText: <text>" + NOASSERTION + "</text>\n");
+            writer.write("LicenseName: " + license[0] + "\n");
+            if (license[1] != null) {
+                writer.write("LicenseCrossReference: " + license[1] + "\n");
+            }
+        }
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -5,7 +5,12 @@ import java.io.Serializable;
 import org.apache.maven.artifact.Artifact;
 
 /**
- * This class contains artifact information to identify it.
+ * This class contains artifact information to identify it. Instances are
+ * immutable and cache their hash code, because they are used as keys for
+ * results lookups. Use
+ * {@link com.puresoltechnologies.maven.plugins.license.internal.InternDictionary#artifactInformation(Artifact)}
+ * to obtain canonical instances, so that lookups are reduced to identity checks
+ * in most cases.
  *
  * @author Rick-Rainer Ludwig
  */
@@ -19,6 +24,7 @@ public class ArtifactInformation implements Serializable {
     private final String classifier;
     private final String type;
     private final String scope;
+    private final int hashCode;
 
     public ArtifactInformation(String groupId, String artifactId, String version, String classifier, String type,
             String scope) {
@@ -29,6 +35,7 @@ public class ArtifactInformation implements Serializable {
         this.classifier = classifier == null ? "" : classifier;
         this.type = type;
         this.scope = scope;
+        this.hashCode = calculateHashCode();
     }
 
     public ArtifactInformation(Artifact artifact) {
@@ -89,6 +96,10 @@ public class ArtifactInformation implements Serializable {
 
     @Override
     public int hashCode() {
+        return hashCode;
+    }
+
+    private int calculateHashCode() {
         final int prime = 31;
         int result = 1;
         result = (prime * result) + ((artifactId == null) ? 0 : artifactId.hashCode());
@@ -112,6 +123,9 @@ public class ArtifactInformation implements Serializable {
             return false;
         }
         ArtifactInformation other = (ArtifactInformation) obj;
+        if (hashCode != other.hashCode) {
+            return false;
+        }
         if (artifactId == null) {
             if (other.artifactId != null) {
                 return false;
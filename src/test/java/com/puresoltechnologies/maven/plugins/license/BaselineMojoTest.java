@@ -0,0 +1,199 @@
+package com.puresoltechnologies.maven.plugins.license;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
+import org.apache.maven.artifact.repository.MavenArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.MavenProjectBuilder;
+import org.codehaus.plexus.ContainerConfiguration;
+import org.codehaus.plexus.DefaultContainerConfiguration;
+import org.codehaus.plexus.DefaultPlexusContainer;
+import org.codehaus.plexus.PlexusConstants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.internal.IOUtilities;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+
+/**
+ * This test runs the 'verify' goal twice on a diamond dependency graph. The
+ * second run uses the output of the first run as baseline.
+ *
+ * <pre>
+ * root -&gt; released -&gt; snapshot -&gt; shared
+ * root -&gt; snapshot -&gt; shared
+ * </pre>
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class BaselineMojoTest {
+
+    private static final String GROUP_ID = "org.diamond";
+    private static final String VERSION = "1.0.0";
+    private static final String SNAPSHOT_VERSION = "1.0.0-SNAPSHOT";
+
+    private Path directory;
+    private File repositoryDirectory;
+    private File baselineDirectory;
+    private File outputDirectory;
+    private DefaultPlexusContainer container;
+
+    @Before
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("baseline");
+        repositoryDirectory = new File(directory.toFile(), "repository");
+        baselineDirectory = new File(directory.toFile(), "baseline");
+        outputDirectory = new File(directory.toFile(), "licenses");
+        ContainerConfiguration configuration = new DefaultContainerConfiguration()
+                .setClassPathScanning(PlexusConstants.SCANNING_INDEX).setAutoWiring(true);
+        container = new DefaultPlexusContainer(configuration);
+        writePom("root", VERSION, "released:" + VERSION, "snapshot:" + SNAPSHOT_VERSION);
+        writePom("released", VERSION, "snapshot:" + SNAPSHOT_VERSION);
+        writePom("snapshot", SNAPSHOT_VERSION, "shared:" + VERSION);
+        writePom("shared", VERSION);
+    }
+
+    @After
+    public void destroy() throws IOException {
+        container.dispose();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testDiamondIsReportedOnce() throws Exception {
+        createValidatorMojo(baselineDirectory, null).execute();
+        List<String> expected = readSortedLines(new File(baselineDirectory, IOUtilities.LICENSE_RESULTS_FILE));
+        assertEquals(3, expected.size());
+
+        createValidatorMojo(outputDirectory, baselineDirectory).execute();
+        List<String> lines = readSortedLines(new File(outputDirectory, IOUtilities.LICENSE_RESULTS_FILE));
+        assertEquals(expected, lines);
+        assertEquals(lines.size(), new HashSet<>(lines).size());
+        String export = new String(Files.readAllBytes(new File(outputDirectory, "licenses.json").toPath()),
+                StandardCharsets.UTF_8);
+        assertTrue(export, export.contains("\"snapshot\""));
+        assertEquals(export, export.indexOf("\"snapshot\""), export.lastIndexOf("\"snapshot\""));
+    }
+
+    private static List<String> readSortedLines(File file) throws IOException {
+        List<String> lines = new ArrayList<>(Files.readAllLines(file.toPath(), Charset.defaultCharset()));
+        Collections.sort(lines);
+        return lines;
+    }
+
+    /**
+     * Writes a POM with MIT license. The dependencies are given as
+     * <code>artifactId:version</code>.
+     */
+    private void writePom(String artifactId, String version, String... dependencies) throws IOException {
+        File pomDirectory = new File(repositoryDirectory,
+                GROUP_ID.replace('.', File.separatorChar) + File.separator + artifactId + File.separator + version);
+        if (!pomDirectory.isDirectory() && !pomDirectory.mkdirs()) {
+            throw new IOException("Could not create directory '" + pomDirectory + "'.");
+        }
+        File pomFile = new File(pomDirectory, artifactId + "-" + version + ".pom");
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(pomFile), StandardCharsets.UTF_8))) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            writer.write("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n");
+            writer.write("  <modelVersion>4.0.0</modelVersion>\n");
+            writer.write("  <groupId>" + GROUP_ID + "</groupId>\n");
+            writer.write("  <artifactId>" + artifactId + "</artifactId>\n");
+            writer.write("  <version>" + version + "</version>\n");
+            writer.write("  <licenses>\n");
+            writer.write("    <license>\n");
+            writer.write("      <name>MIT</name>\n");
+            writer.write("      <url>http://licenses.test/MIT</url>\n");
+            writer.write("    </license>\n");
+            writer.write("  </licenses>\n");
+            writer.write("  <dependencies>\n");
+            for (String dependency : dependencies) {
+                String[] coordinates = dependency.split(":");
+                writer.write("    <dependency>\n");
+                writer.write("      <groupId>" + GROUP_ID + "</groupId>\n");
+                writer.write("      <artifactId>" + coordinates[0] + "</artifactId>\n");
+                writer.write("      <version>" + coordinates[1] + "</version>\n");
+                writer.write("    </dependency>\n");
+            }
+            writer.write("  </dependencies>\n");
+            writer.write("</project>\n");
+        }
+    }
+
+    private ValidatorMojo createValidatorMojo(File output, File baseline) throws Exception {
+        ArtifactRepositoryPolicy policy = new ArtifactRepositoryPolicy(true,
+                ArtifactRepositoryPolicy.UPDATE_POLICY_NEVER, ArtifactRepositoryPolicy.CHECKSUM_POLICY_IGNORE);
+        ArtifactRepository localRepository = new MavenArtifactRepository("local",
+                repositoryDirectory.toURI().toString(), new DefaultRepositoryLayout(), policy, policy);
+
+        Model model = new Model();
+        model.setGroupId(GROUP_ID);
+        model.setArtifactId("root");
+        model.setVersion(VERSION);
+        MavenProject project = new MavenProject(model);
+        Artifact artifact = new DefaultArtifact(GROUP_ID, "root", VERSION, Artifact.SCOPE_COMPILE, "jar", null,
+                new DefaultArtifactHandler("jar"));
+        project.setArtifact(artifact);
+
+        Set<KnownLicense> knownLicenses = new HashSet<>();
+        knownLicenses.add(new KnownLicense("MIT", new URL("http://licenses.test/MIT"), true,
+                Collections.<String>emptySet(), Collections.<String>emptySet()));
+
+        ValidatorMojo mojo = new ValidatorMojo();
+        setField(AbstractValidationMojo.class, mojo, "mavenProject", project);
+        setField(AbstractValidationMojo.class, mojo, "mavenProjectBuilder",
+                container.lookup(MavenProjectBuilder.class));
+        setField(AbstractValidationMojo.class, mojo, "remoteArtifactRepositories",
+                new ArrayList<ArtifactRepository>());
+        setField(AbstractValidationMojo.class, mojo, "localRepository", localRepository);
+        setField(ValidatorMojo.class, mojo, "knownLicenses", knownLicenses);
+        setField(ValidatorMojo.class, mojo, "outputDirectory", output);
+        setField(ValidatorMojo.class, mojo, "recursive", true);
+        setField(ValidatorMojo.class, mojo, "skipTestScope", true);
+        setField(ValidatorMojo.class, mojo, "skipProvidedScope", true);
+        setField(ValidatorMojo.class, mojo, "skipOptionals", true);
+        setField(ValidatorMojo.class, mojo, "shardIndex", 0);
+        setField(ValidatorMojo.class, mojo, "shardCount", 1);
+        setField(ValidatorMojo.class, mojo, "baselineDirectory", baseline);
+        setField(ValidatorMojo.class, mojo, "exportFormats", Collections.singleton("json"));
+        return mojo;
+    }
+
+    private static void setField(Class<?> type, Object mojo, String name, Object value)
+            throws ReflectiveOperationException {
+        Field field = type.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mojo, value);
+    }
+}
@@ -0,0 +1,244 @@
+package com.puresoltechnologies.maven.plugins.license;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
+import org.apache.maven.artifact.repository.MavenArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.License;
+import org.apache.maven.project.MavenProjectBuilder;
+import org.codehaus.plexus.ContainerConfiguration;
+import org.codehaus.plexus.DefaultContainerConfiguration;
+import org.codehaus.plexus.DefaultPlexusContainer;
+import org.codehaus.plexus.PlexusConstants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.internal.ArtifactMetadata;
+import com.puresoltechnologies.maven.plugins.license.internal.DaemonProtocol;
+import com.puresoltechnologies.maven.plugins.license.internal.DaemonRequest;
+import com.puresoltechnologies.maven.plugins.license.internal.DaemonResponse;
+import com.puresoltechnologies.maven.plugins.license.internal.DaemonServer;
+import com.puresoltechnologies.maven.plugins.license.internal.DependencyTree;
+import com.puresoltechnologies.maven.plugins.license.internal.DependencyUtilities;
+import com.puresoltechnologies.maven.plugins.license.internal.InternDictionary;
+
+/**
+ * This test runs the {@link DaemonMojo} on localhost against a
+ * {@link SyntheticRepository} and checks that repeated requests are served out
+ * of the warm metadata cache with the repositories of the request.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class DaemonMojoTest {
+
+    private Path repositoryDirectory;
+    private DefaultPlexusContainer container;
+    private final String token = DaemonProtocol.createToken();
+    private DaemonServer server;
+    private Thread serverThread;
+
+    @Before
+    public void createContainer() throws Exception {
+        repositoryDirectory = Files.createTempDirectory("synthetic-repository");
+        ContainerConfiguration configuration = new DefaultContainerConfiguration()
+                .setClassPathScanning(PlexusConstants.SCANNING_INDEX).setAutoWiring(true);
+        container = new DefaultPlexusContainer(configuration);
+    }
+
+    @After
+    public void destroy() throws Exception {
+        if (server != null) {
+            server.close();
+            serverThread.join(10000);
+        }
+        container.dispose();
+        try (Stream<Path> paths = Files.walk(repositoryDirectory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testRepeatedRequests() throws Exception {
+        SyntheticRepository repository = new SyntheticRepository(repositoryDirectory.toFile(), 40, 3, 3, 4,
+                "Apache-2.0", "MIT", "");
+        repository.generate();
+        final DaemonMojo mojo = createMojo(repositoryDirectory);
+        startServer(mojo);
+
+        Artifact rootArtifact = new DefaultArtifact(SyntheticRepository.GROUP_ID, "project",
+                SyntheticRepository.VERSION, null, "jar", null, new DefaultArtifactHandler("jar"));
+        DaemonRequest request = createRequest(rootArtifact);
+
+        DaemonResponse first = DaemonProtocol.send(server.getPort(), token, request, 60000);
+        assertNull(first.getError());
+        long pomBuilds = mojo.getMetrics().getCount("pomBuilds");
+
+        DaemonResponse second = DaemonProtocol.send(server.getPort(), token, request, 60000);
+        assertNull(second.getError());
+        assertEquals(first.getNodeCount(), second.getNodeCount());
+        // the metrics only cover the second request
+        assertEquals("no POM is built again", 0, mojo.getMetrics().getCount("pomBuilds"));
+        assertEquals(0, mojo.getMetrics().getCount("metadataCacheMisses"));
+        assertEquals(0, mojo.getMetrics().getCount("resolutionP50Micros"));
+
+        DependencyTree tree = second.toDependencyTree(rootArtifact, new InternDictionary());
+        assertNotNull(tree);
+        assertEquals(rootArtifact, tree.getArtifact());
+        int nodes = 0;
+        Set<String> artifacts = new HashSet<>();
+        for (DependencyTree node : tree) {
+            nodes++;
+            artifacts.add(node.getArtifact().getArtifactId());
+        }
+        assertEquals(second.getNodeCount(), nodes);
+        assertEquals(3, tree.getChildren().size());
+        // every artifact besides the project is only built once, even within the first request
+        assertEquals(artifacts.size() - 1, pomBuilds);
+    }
+
+    @Test
+    public void testCacheSwitchedOff() throws Exception {
+        SyntheticRepository repository = new SyntheticRepository(repositoryDirectory.toFile(), 20, 2, 3, 2,
+                "Apache-2.0", "MIT");
+        repository.generate();
+        DaemonMojo mojo = createMojo(repositoryDirectory);
+        setField(DaemonMojo.class, mojo, "daemonCacheSize", 0);
+        Artifact rootArtifact = new DefaultArtifact(SyntheticRepository.GROUP_ID, "project",
+                SyntheticRepository.VERSION, null, "jar", null, new DefaultArtifactHandler("jar"));
+
+        DaemonResponse first = mojo.handle(createRequest(rootArtifact));
+        long pomBuilds = mojo.getMetrics().getCount("pomBuilds");
+        assertTrue(pomBuilds > 0);
+        DaemonResponse second = mojo.handle(createRequest(rootArtifact));
+        assertEquals(first.getNodeCount(), second.getNodeCount());
+        assertEquals("all POMs are built again, but only counted once", pomBuilds,
+                mojo.getMetrics().getCount("pomBuilds"));
+        assertEquals(0, mojo.getMetrics().getCount("metadataCacheHits"));
+        assertEquals("the cache is not used at all", 0, mojo.getMetrics().getCount("metadataCacheMisses"));
+    }
+
+    @Test
+    public void testRepositoriesOfRequest() throws Exception {
+        SyntheticRepository repository = new SyntheticRepository(repositoryDirectory.toFile(), 10, 2, 2, 2,
+                "Apache-2.0", "MIT");
+        repository.generate();
+        Files.write(repositoryDirectory.resolve("org/synthetic/artifact2/1.0.0/artifact2-1.0.0.pom"),
+                "<project>".getBytes(StandardCharsets.UTF_8));
+        // the daemon itself neither has the artifacts in its local repository nor knows the remote repository
+        Path localRepositoryDirectory = Files.createTempDirectory("local-repository");
+        try {
+            final DaemonMojo mojo = createMojo(localRepositoryDirectory);
+            startServer(mojo);
+            Artifact rootArtifact = new DefaultArtifact(SyntheticRepository.GROUP_ID, "project",
+                    SyntheticRepository.VERSION, null, "jar", null, new DefaultArtifactHandler("jar"));
+
+            DaemonResponse withoutRepository = DaemonProtocol.send(server.getPort(), token,
+                    createRequest(rootArtifact, new ArrayList<ArtifactRepository>()), 60000);
+            assertNull(withoutRepository.getError());
+            // missing POMs are replaced by empty ones, so no transitive dependency is found
+            assertEquals(4, withoutRepository.getNodeCount());
+
+            List<ArtifactRepository> repositories = new ArrayList<>();
+            repositories.add(createRepository("synthetic", repositoryDirectory));
+            for (int i = 0; i < 2; i++) {
+                DaemonResponse withRepository = DaemonProtocol.send(server.getPort(), token,
+                        createRequest(rootArtifact, repositories), 60000);
+                assertNull(withRepository.getError());
+                assertTrue("the empty POMs of the first request are not used", withRepository.getNodeCount() > 4);
+                assertEquals(1, withRepository.getFailedArtifacts().size());
+                assertTrue(withRepository.getFailedArtifacts().get(0).startsWith("org.synthetic:artifact2:1.0.0"));
+                assertEquals("the artifact with the broken POM is missing", 2,
+                        withRepository.toDependencyTree(rootArtifact, new InternDictionary()).getChildren().size());
+            }
+        } finally {
+            try (Stream<Path> paths = Files.walk(localRepositoryDirectory)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    private void startServer(DaemonMojo mojo) throws IOException {
+        server = new DaemonServer(mojo.getLog(), 0, token, mojo);
+        serverThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                server.run();
+            }
+        });
+        serverThread.start();
+    }
+
+    private static DaemonRequest createRequest(Artifact rootArtifact) {
+        return createRequest(rootArtifact, new ArrayList<ArtifactRepository>());
+    }
+
+    /**
+     * Creates the request of a project which is not installed in the repository
+     * and depends on the first three artifacts of the repository.
+     */
+    private static DaemonRequest createRequest(Artifact rootArtifact, List<ArtifactRepository> repositories) {
+        InternDictionary dictionary = new InternDictionary();
+        ArrayList<Dependency> dependencies = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Dependency dependency = new Dependency();
+            dependency.setGroupId(SyntheticRepository.GROUP_ID);
+            dependency.setArtifactId("artifact" + i);
+            dependency.setVersion(SyntheticRepository.VERSION);
+            dependencies.add(dependency);
+        }
+        ArtifactMetadata metadata = new ArtifactMetadata(dictionary.declaredDependencies(dependencies),
+                dictionary.declaredLicenses(new ArrayList<License>()));
+        return new DaemonRequest(DependencyUtilities.toDeclaredDependency(rootArtifact), metadata, repositories,
+                true, true, true, true);
+    }
+
+    private DaemonMojo createMojo(Path localRepositoryDirectory) throws Exception {
+        DaemonMojo mojo = new DaemonMojo();
+        setField(mojo, "mavenProjectBuilder", container.lookup(MavenProjectBuilder.class));
+        setField(mojo, "remoteArtifactRepositories", new ArrayList<ArtifactRepository>());
+        setField(mojo, "localRepository", createRepository("local", localRepositoryDirectory));
+        return mojo;
+    }
+
+    private static ArtifactRepository createRepository(String id, Path directory) {
+        ArtifactRepositoryPolicy policy = new ArtifactRepositoryPolicy(true,
+                ArtifactRepositoryPolicy.UPDATE_POLICY_NEVER, ArtifactRepositoryPolicy.CHECKSUM_POLICY_IGNORE);
+        return new MavenArtifactRepository(id, directory.toUri().toString(), new DefaultRepositoryLayout(), policy,
+                policy);
+    }
+
+    private static void setField(AbstractValidationMojo mojo, String name, Object value)
+            throws ReflectiveOperationException {
+        setField(AbstractValidationMojo.class, mojo, name, value);
+    }
+
+    private static void setField(Class<?> type, AbstractValidationMojo mojo, String name, Object value)
+            throws ReflectiveOperationException {
+        Field field = type.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mojo, value);
+    }
+}
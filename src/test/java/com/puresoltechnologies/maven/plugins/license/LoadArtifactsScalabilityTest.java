@@ -0,0 +1,249 @@
+package com.puresoltechnologies.maven.plugins.license;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
+import org.apache.maven.artifact.repository.MavenArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.MavenProjectBuilder;
+import org.codehaus.plexus.ContainerConfiguration;
+import org.codehaus.plexus.DefaultContainerConfiguration;
+import org.codehaus.plexus.DefaultPlexusContainer;
+import org.codehaus.plexus.PlexusConstants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.internal.DependencyGraph;
+import com.puresoltechnologies.maven.plugins.license.internal.DependencyTree;
+import com.puresoltechnologies.maven.plugins.license.internal.Metrics;
+
+/**
+ * This test runs {@link AbstractValidationMojo#loadArtifacts(boolean, boolean,
+ * boolean, boolean)} offline against a {@link SyntheticRepository}. The wall
+ * time, the number of POM builds, the number of tree nodes and unique artifacts
+ * and the peak heap are added to the {@link Metrics} of the mojo, which are
+ * logged and written to 'metrics-load-artifacts.json' in the directory given by
+ * the system property 'synthetic.outputDirectory' (default 'target'). The peak
+ * heap is reported twice: 'peakHeapSampledMiB' is the maximum of the heap usage
+ * sampled every 10ms and therefore a lower bound, 'peakHeapUpperBoundMiB' is
+ * the sum of the peaks of all heap pools, which are not reached at the same
+ * time. The size of the repository can be changed with the system properties
+ * 'synthetic.artifacts', 'synthetic.fanOut', 'synthetic.depth' and
+ * 'synthetic.parents' to reproduce production graph sizes. If
+ * 'synthetic.maxMillis' is set, the test fails if the resolution takes longer:
+ *
+ * <pre>
+ * mvn test -Dtest=LoadArtifactsScalabilityTest -Dsynthetic.artifacts=5000 -Dsynthetic.maxMillis=60000
+ * </pre>
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class LoadArtifactsScalabilityTest {
+
+    /**
+     * This mojo only exposes the artifact loading.
+     */
+    private static class LoadArtifactsMojo extends AbstractValidationMojo {
+        @Override
+        public void execute() {
+        }
+    }
+
+    private Path repositoryDirectory;
+    private DefaultPlexusContainer container;
+
+    @Before
+    public void createContainer() throws Exception {
+        repositoryDirectory = Files.createTempDirectory("synthetic-repository");
+        ContainerConfiguration configuration = new DefaultContainerConfiguration()
+                .setClassPathScanning(PlexusConstants.SCANNING_INDEX).setAutoWiring(true);
+        container = new DefaultPlexusContainer(configuration);
+    }
+
+    @After
+    public void destroy() throws IOException {
+        container.dispose();
+        try (Stream<Path> paths = Files.walk(repositoryDirectory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testLoadArtifacts() throws Exception {
+        SyntheticRepository repository = new SyntheticRepository(repositoryDirectory.toFile(),
+                Integer.getInteger("synthetic.artifacts", 200), Integer.getInteger("synthetic.fanOut", 3),
+                Integer.getInteger("synthetic.depth", 4), Integer.getInteger("synthetic.parents", 10),
+                "Apache-2.0", "MIT", "BSD-3-Clause", "EPL-1.0", "LGPL-2.1", "");
+        repository.generate();
+
+        AtomicInteger pomBuilds = new AtomicInteger();
+        LoadArtifactsMojo mojo = createMojo(pomBuilds);
+        resetPeakHeap();
+        DependencyTree tree;
+        long nanos;
+        long sampledPeakHeap;
+        try (HeapSampler sampler = new HeapSampler()) {
+            long start = System.nanoTime();
+            tree = mojo.loadArtifacts(true, true, true, true);
+            nanos = System.nanoTime() - start;
+            sampledPeakHeap = sampler.getPeak();
+        }
+        long millis = nanos / 1000000;
+        long peakHeapUpperBound = getPeakHeapUpperBound();
+
+        int nodes = 0;
+        for (@SuppressWarnings("unused")
+        DependencyTree node : tree) {
+            nodes++;
+        }
+        int uniqueArtifacts = DependencyGraph.of(tree).getNodeCount();
+        Metrics metrics = mojo.getMetrics();
+        metrics.addTime("wallTime", nanos);
+        metrics.add("artifacts", repository.getArtifactCount());
+        metrics.add("edges", repository.getDependencyCount());
+        metrics.add("treeNodes", nodes);
+        metrics.add("uniqueArtifacts", uniqueArtifacts);
+        metrics.add("peakHeapSampledMiB", sampledPeakHeap / (1024 * 1024));
+        metrics.add("peakHeapUpperBoundMiB", peakHeapUpperBound / (1024 * 1024));
+        mojo.writeMetrics("load-artifacts", new File(System.getProperty("synthetic.outputDirectory", "target")));
+        String summary = metrics.getSummary("load-artifacts");
+
+        // the root project is contained in addition to the generated artifacts
+        assertEquals(summary, repository.getArtifactCount() + 1, uniqueArtifacts);
+        assertEquals(summary, nodes, pomBuilds.get());
+        Long maxMillis = Long.getLong("synthetic.maxMillis");
+        if (maxMillis != null) {
+            assertTrue("Only " + maxMillis + "ms are allowed. " + summary, millis <= maxMillis);
+        }
+    }
+
+    private LoadArtifactsMojo createMojo(AtomicInteger pomBuilds) throws Exception {
+        final MavenProjectBuilder projectBuilder = container.lookup(MavenProjectBuilder.class);
+        MavenProjectBuilder countingProjectBuilder = (MavenProjectBuilder) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { MavenProjectBuilder.class }, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if ("buildFromRepository".equals(method.getName())) {
+                            pomBuilds.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(projectBuilder, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                });
+        ArtifactRepositoryPolicy policy = new ArtifactRepositoryPolicy(true,
+                ArtifactRepositoryPolicy.UPDATE_POLICY_NEVER, ArtifactRepositoryPolicy.CHECKSUM_POLICY_IGNORE);
+        ArtifactRepository localRepository = new MavenArtifactRepository("local",
+                repositoryDirectory.toUri().toString(), new DefaultRepositoryLayout(), policy, policy);
+
+        Model model = new Model();
+        model.setGroupId(SyntheticRepository.GROUP_ID);
+        model.setArtifactId(SyntheticRepository.ROOT_ARTIFACT_ID);
+        model.setVersion(SyntheticRepository.VERSION);
+        MavenProject project = new MavenProject(model);
+        Artifact artifact = new DefaultArtifact(SyntheticRepository.GROUP_ID, SyntheticRepository.ROOT_ARTIFACT_ID,
+                SyntheticRepository.VERSION, Artifact.SCOPE_COMPILE, "jar", null, new DefaultArtifactHandler("jar"));
+        project.setArtifact(artifact);
+
+        LoadArtifactsMojo mojo = new LoadArtifactsMojo();
+        setField(mojo, "mavenProject", project);
+        setField(mojo, "mavenProjectBuilder", countingProjectBuilder);
+        setField(mojo, "remoteArtifactRepositories", new ArrayList<ArtifactRepository>());
+        setField(mojo, "localRepository", localRepository);
+        return mojo;
+    }
+
+    private static void setField(AbstractValidationMojo mojo, String name, Object value)
+            throws ReflectiveOperationException {
+        Field field = AbstractValidationMojo.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mojo, value);
+    }
+
+    private static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Returns the sum of the peak usages of all heap pools. The pools reach their
+     * peaks at different times, so the sum is an upper bound of the peak heap.
+     */
+    private static long getPeakHeapUpperBound() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * This class samples the used heap every 10ms in the background and keeps the
+     * maximum. Peaks between two samples are missed, so the maximum is a lower
+     * bound of the peak heap.
+     */
+    private static class HeapSampler implements AutoCloseable {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final AtomicLong peak = new AtomicLong();
+        private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+        private HeapSampler() {
+            executor.scheduleAtFixedRate(this::sample, 0, 10, TimeUnit.MILLISECONDS);
+        }
+
+        private void sample() {
+            long used = memory.getHeapMemoryUsage().getUsed();
+            peak.accumulateAndGet(used, Math::max);
+        }
+
+        private long getPeak() {
+            sample();
+            return peak.get();
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.puresoltechnologies.maven.plugins.license;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
+import org.apache.maven.artifact.repository.MavenArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.MavenProjectBuilder;
+import org.codehaus.plexus.ContainerConfiguration;
+import org.codehaus.plexus.DefaultContainerConfiguration;
+import org.codehaus.plexus.DefaultPlexusContainer;
+import org.codehaus.plexus.PlexusConstants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.internal.IOUtilities;
+import com.puresoltechnologies.maven.plugins.license.internal.ShardUtilities;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+
+/**
+ * This test runs the 'verify' goal in several shards on the same output
+ * directory against a {@link SyntheticRepository} and merges the shards with
+ * the {@link MergeShardsMojo}.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class MergeShardsMojoTest {
+
+    private static final int SHARD_COUNT = 3;
+
+    private Path directory;
+    private File repositoryDirectory;
+    private File outputDirectory;
+    private DefaultPlexusContainer container;
+
+    @Before
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("merge-shards");
+        repositoryDirectory = new File(directory.toFile(), "repository");
+        outputDirectory = new File(directory.toFile(), "licenses");
+        ContainerConfiguration configuration = new DefaultContainerConfiguration()
+                .setClassPathScanning(PlexusConstants.SCANNING_INDEX).setAutoWiring(true);
+        container = new DefaultPlexusContainer(configuration);
+        new SyntheticRepository(repositoryDirectory, 30, 2, 3, 2, "Apache-2.0", "MIT").generate();
+    }
+
+    @After
+    public void destroy() throws IOException {
+        container.dispose();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testMergedShardsEqualUnshardedRun() throws Exception {
+        File resultsFile = new File(outputDirectory, IOUtilities.LICENSE_RESULTS_FILE);
+        createValidatorMojo(0, 1).execute();
+        List<String> unsharded = readSortedLines(resultsFile);
+        assertTrue(unsharded.size() > 10);
+        assertTrue(resultsFile.delete());
+
+        for (int shardIndex = 0; shardIndex < SHARD_COUNT; shardIndex++) {
+            createValidatorMojo(shardIndex, SHARD_COUNT).execute();
+        }
+        assertFalse(resultsFile.exists());
+        int shardLines = 0;
+        for (int shardIndex = 0; shardIndex < SHARD_COUNT; shardIndex++) {
+            List<String> lines = readSortedLines(shardFile(shardIndex));
+            assertTrue("every shard validates a part of the artifacts", lines.size() < unsharded.size());
+            shardLines += lines.size();
+        }
+        assertEquals(unsharded.size(), shardLines);
+        for (int shardIndex = 0; shardIndex < SHARD_COUNT; shardIndex++) {
+            assertTrue(new File(outputDirectory, ShardUtilities.getMetricsFileName("verify", shardIndex, SHARD_COUNT))
+                    .isFile());
+        }
+
+        createMergeShardsMojo().execute();
+        // the merged results are sorted by coordinates, the unsharded ones are in tree order
+        List<String> merged = readSortedLines(resultsFile);
+        assertEquals(unsharded, merged);
+        assertEquals(new HashSet<>(unsharded).size(), merged.size());
+        // the settings of all shards were replaced without leaving temporary files
+        for (String name : outputDirectory.list()) {
+            assertFalse(name, name.endsWith(".tmp"));
+        }
+    }
+
+    @Test
+    public void testMergedShardsWithBaseline() throws Exception {
+        File baselineDirectory = new File(directory.toFile(), "baseline");
+        createValidatorMojo(baselineDirectory, 0, 1, null).execute();
+        List<String> unsharded = readSortedLines(new File(baselineDirectory, IOUtilities.LICENSE_RESULTS_FILE));
+
+        for (int shardIndex = 0; shardIndex < SHARD_COUNT; shardIndex++) {
+            createValidatorMojo(outputDirectory, shardIndex, SHARD_COUNT, baselineDirectory).execute();
+        }
+        int shardLines = 0;
+        for (int shardIndex = 0; shardIndex < SHARD_COUNT; shardIndex++) {
+            List<String> lines = readSortedLines(shardFile(shardIndex));
+            assertTrue("every shard takes a part of the baseline results", lines.size() < unsharded.size());
+            shardLines += lines.size();
+        }
+        assertEquals(unsharded.size(), shardLines);
+
+        createMergeShardsMojo().execute();
+        assertEquals(unsharded, readSortedLines(new File(outputDirectory, IOUtilities.LICENSE_RESULTS_FILE)));
+    }
+
+    @Test
+    public void testMissingShard() throws Exception {
+        createValidatorMojo(0, SHARD_COUNT).execute();
+        createValidatorMojo(2, SHARD_COUNT).execute();
+        assertMergeFails("Results of shard 1 of 3 are not present");
+    }
+
+    @Test
+    public void testMalformedShard() throws Exception {
+        for (int shardIndex = 0; shardIndex < SHARD_COUNT; shardIndex++) {
+            createValidatorMojo(shardIndex, SHARD_COUNT).execute();
+        }
+        Files.write(shardFile(1).toPath(), "org.synthetic,artifact1,1.0.0\n".getBytes(Charset.defaultCharset()));
+        assertMergeFails("Results of shard 1 of 3 in");
+    }
+
+    @Test
+    public void testShardWithForeignArtifacts() throws Exception {
+        for (int shardIndex = 0; shardIndex < SHARD_COUNT; shardIndex++) {
+            createValidatorMojo(shardIndex, SHARD_COUNT).execute();
+        }
+        // shard 0 reports the results of shard 2
+        Files.copy(shardFile(2).toPath(), shardFile(0).toPath(), StandardCopyOption.REPLACE_EXISTING);
+        assertMergeFails("of another shard");
+    }
+
+    @Test(expected = MojoFailureException.class)
+    public void testInvalidShardCount() throws Exception {
+        MergeShardsMojo mojo = createMergeShardsMojo();
+        setField(MergeShardsMojo.class, mojo, "shardCount", 0);
+        mojo.execute();
+    }
+
+    private void assertMergeFails(String message) throws Exception {
+        try {
+            createMergeShardsMojo().execute();
+            fail("Merging must fail.");
+        } catch (MojoFailureException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(message));
+        }
+        assertFalse(new File(outputDirectory, IOUtilities.LICENSE_RESULTS_FILE).exists());
+    }
+
+    private File shardFile(int shardIndex) {
+        return new File(outputDirectory, ShardUtilities.getResultsFileName(shardIndex, SHARD_COUNT));
+    }
+
+    private static List<String> readSortedLines(File file) throws IOException {
+        List<String> lines = new ArrayList<>(Files.readAllLines(file.toPath(), Charset.defaultCharset()));
+        Collections.sort(lines);
+        return lines;
+    }
+
+    private MergeShardsMojo createMergeShardsMojo() throws Exception {
+        MergeShardsMojo mojo = new MergeShardsMojo();
+        setField(MergeShardsMojo.class, mojo, "outputDirectory", outputDirectory);
+        setField(MergeShardsMojo.class, mojo, "shardCount", SHARD_COUNT);
+        return mojo;
+    }
+
+    private ValidatorMojo createValidatorMojo(int shardIndex, int shardCount) throws Exception {
+        return createValidatorMojo(outputDirectory, shardIndex, shardCount, null);
+    }
+
+    private ValidatorMojo createValidatorMojo(File output, int shardIndex, int shardCount, File baselineDirectory)
+            throws Exception {
+        ArtifactRepositoryPolicy policy = new ArtifactRepositoryPolicy(true,
+                ArtifactRepositoryPolicy.UPDATE_POLICY_NEVER, ArtifactRepositoryPolicy.CHECKSUM_POLICY_IGNORE);
+        ArtifactRepository localRepository = new MavenArtifactRepository("local",
+                repositoryDirectory.toURI().toString(), new DefaultRepositoryLayout(), policy, policy);
+
+        Model model = new Model();
+        model.setGroupId(SyntheticRepository.GROUP_ID);
+        model.setArtifactId(SyntheticRepository.ROOT_ARTIFACT_ID);
+        model.setVersion(SyntheticRepository.VERSION);
+        MavenProject project = new MavenProject(model);
+        Artifact artifact = new DefaultArtifact(SyntheticRepository.GROUP_ID, SyntheticRepository.ROOT_ARTIFACT_ID,
+                SyntheticRepository.VERSION, Artifact.SCOPE_COMPILE, "jar", null, new DefaultArtifactHandler("jar"));
+        project.setArtifact(artifact);
+
+        Set<KnownLicense> knownLicenses = new HashSet<>();
+        for (String name : new String[] { "Apache-2.0", "MIT" }) {
+            knownLicenses.add(new KnownLicense(name, new URL("http://opensource.org/licenses/" + name), true,
+                    Collections.<String>emptySet(), Collections.<String>emptySet()));
+        }
+
+        ValidatorMojo mojo = new ValidatorMojo();
+        setField(AbstractValidationMojo.class, mojo, "mavenProject", project);
+        setField(AbstractValidationMojo.class, mojo, "mavenProjectBuilder",
+                container.lookup(MavenProjectBuilder.class));
+        setField(AbstractValidationMojo.class, mojo, "remoteArtifactRepositories",
+                new ArrayList<ArtifactRepository>());
+        setField(AbstractValidationMojo.class, mojo, "localRepository", localRepository);
+        setField(ValidatorMojo.class, mojo, "knownLicenses", knownLicenses);
+        setField(ValidatorMojo.class, mojo, "outputDirectory", output);
+        setField(ValidatorMojo.class, mojo, "recursive", true);
+        setField(ValidatorMojo.class, mojo, "skipTestScope", true);
+        setField(ValidatorMojo.class, mojo, "skipProvidedScope", true);
+        setField(ValidatorMojo.class, mojo, "skipOptionals", true);
+        setField(ValidatorMojo.class, mojo, "shardIndex", shardIndex);
+        setField(ValidatorMojo.class, mojo, "shardCount", shardCount);
+        setField(ValidatorMojo.class, mojo, "baselineDirectory", baselineDirectory);
+        return mojo;
+    }
+
+    private static void setField(Class<?> type, Object mojo, String name, Object value)
+            throws ReflectiveOperationException {
+        Field field = type.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mojo, value);
+    }
+}
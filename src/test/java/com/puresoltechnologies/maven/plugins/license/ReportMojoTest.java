@@ -0,0 +1,247 @@
+package com.puresoltechnologies.maven.plugins.license;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
+import org.apache.maven.artifact.repository.MavenArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.MavenProjectBuilder;
+import org.codehaus.doxia.sink.Sink;
+import org.codehaus.plexus.ContainerConfiguration;
+import org.codehaus.plexus.DefaultContainerConfiguration;
+import org.codehaus.plexus.DefaultPlexusContainer;
+import org.codehaus.plexus.PlexusConstants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.internal.IOUtilities;
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+/**
+ * This test runs the {@link ReportMojo} incrementally against a
+ * {@link SyntheticRepository} and checks that an unchanged report is neither
+ * resolved nor rendered again.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class ReportMojoTest {
+
+    private Path directory;
+    private File repositoryDirectory;
+    private File resultsDirectory;
+    private DefaultPlexusContainer container;
+    private final AtomicInteger pomBuilds = new AtomicInteger();
+
+    @Before
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("report-mojo");
+        repositoryDirectory = new File(directory.toFile(), "repository");
+        resultsDirectory = new File(directory.toFile(), "licenses");
+        ContainerConfiguration configuration = new DefaultContainerConfiguration()
+                .setClassPathScanning(PlexusConstants.SCANNING_INDEX).setAutoWiring(true);
+        container = new DefaultPlexusContainer(configuration);
+        new SyntheticRepository(repositoryDirectory, 20, 2, 3, 2, "Apache-2.0", "MIT").generate();
+        writeValidateRun();
+    }
+
+    @After
+    public void destroy() throws IOException {
+        container.dispose();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    /**
+     * Writes the settings and results files of a former 'validate' run.
+     */
+    private void writeValidateRun() throws Exception {
+        assertTrue(resultsDirectory.mkdirs());
+        Properties settings = new Properties();
+        settings.setProperty("recursive", "true");
+        settings.setProperty("skipTestScope", "true");
+        settings.setProperty("skipProvidedScope", "true");
+        settings.setProperty("skipOptionals", "true");
+        settings.setProperty("skip", "false");
+        try (Writer writer = new OutputStreamWriter(
+                new FileOutputStream(new File(resultsDirectory, IOUtilities.LICENSE_SETTINGS_FILE)),
+                Charset.defaultCharset())) {
+            settings.store(writer, null);
+        }
+        KnownLicense license = new KnownLicense("Apache-2.0", new URL("http://opensource.org/licenses/Apache-2.0"),
+                true, Collections.<String>emptySet(), Collections.<String>emptySet());
+        ValidationResult result = new ValidationResult(new ArtifactInformation(SyntheticRepository.GROUP_ID,
+                "artifact0", SyntheticRepository.VERSION, null, "jar", "compile"), license, "Apache-2.0", null,
+                "license is approved", true);
+        try (Writer writer = new OutputStreamWriter(
+                new FileOutputStream(new File(resultsDirectory, IOUtilities.LICENSE_RESULTS_FILE)),
+                Charset.defaultCharset())) {
+            IOUtilities.writeResult(writer, result);
+        }
+    }
+
+    @Test
+    public void testStandaloneReportIsUpToDate() throws Exception {
+        File htmlFile = new File(resultsDirectory, "dependency-licenses-report.html");
+
+        ReportMojo first = createMojo("1.0.0");
+        first.execute();
+        int builds = pomBuilds.get();
+        assertTrue(builds > 0);
+        assertTrue(htmlFile.isFile());
+        assertEquals(1, first.getMetrics().getCount("reportCacheMisses"));
+
+        ReportMojo second = createMojo("1.0.0");
+        second.execute();
+        assertEquals("the dependencies are not resolved again", builds, pomBuilds.get());
+        assertEquals(1, second.getMetrics().getCount("reportCacheHits"));
+
+        assertTrue(htmlFile.delete());
+        ReportMojo missingOutput = createMojo("1.0.0");
+        missingOutput.execute();
+        assertTrue(htmlFile.isFile());
+        assertEquals(1, missingOutput.getMetrics().getCount("reportCacheMisses"));
+
+        ReportMojo newVersion = createMojo("1.1.0");
+        newVersion.execute();
+        assertEquals("a new plugin version renders the report again", 1,
+                newVersion.getMetrics().getCount("reportCacheMisses"));
+    }
+
+    @Test
+    public void testSiteReportIsReplayed() throws Exception {
+        List<String> firstBody = new ArrayList<>();
+        ReportMojo first = createMojo("1.0.0");
+        first.generate(createSink(firstBody), Locale.ENGLISH);
+        int builds = pomBuilds.get();
+        String body = String.join("", firstBody);
+        assertTrue(body.contains("<h2>Licenses Report</h2>"));
+        assertTrue(body.contains("org.synthetic:artifact0:"));
+        assertEquals(1, first.getMetrics().getCount("reportCacheMisses"));
+
+        List<String> secondBody = new ArrayList<>();
+        ReportMojo second = createMojo("1.0.0");
+        second.generate(createSink(secondBody), Locale.ENGLISH);
+        assertEquals("the dependencies are not resolved again", builds, pomBuilds.get());
+        assertEquals(1, second.getMetrics().getCount("reportCacheHits"));
+        assertEquals(body, String.join("", secondBody));
+    }
+
+    @Test
+    public void testNotIncremental() throws Exception {
+        ReportMojo first = createMojo("1.0.0");
+        setField(ReportMojo.class, first, "incremental", false);
+        first.execute();
+        int builds = pomBuilds.get();
+        ReportMojo second = createMojo("1.0.0");
+        setField(ReportMojo.class, second, "incremental", false);
+        second.execute();
+        assertEquals(2 * builds, pomBuilds.get());
+        assertEquals(0, second.getMetrics().getCount("reportCacheHits"));
+        assertFalse(new File(resultsDirectory, "dependency-licenses-report-standalone.fingerprint").exists());
+    }
+
+    /**
+     * Creates a {@link Sink} which collects the raw text written to it and ignores
+     * all other calls.
+     */
+    private static Sink createSink(final List<String> rawText) {
+        return (Sink) Proxy.newProxyInstance(ReportMojoTest.class.getClassLoader(), new Class<?>[] { Sink.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if ("rawText".equals(method.getName())) {
+                            rawText.add((String) args[0]);
+                        }
+                        return null;
+                    }
+                });
+    }
+
+    private ReportMojo createMojo(String pluginVersion) throws Exception {
+        final MavenProjectBuilder projectBuilder = container.lookup(MavenProjectBuilder.class);
+        MavenProjectBuilder countingProjectBuilder = (MavenProjectBuilder) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { MavenProjectBuilder.class }, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if ("buildFromRepository".equals(method.getName())) {
+                            pomBuilds.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(projectBuilder, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                });
+        ArtifactRepositoryPolicy policy = new ArtifactRepositoryPolicy(true,
+                ArtifactRepositoryPolicy.UPDATE_POLICY_NEVER, ArtifactRepositoryPolicy.CHECKSUM_POLICY_IGNORE);
+        ArtifactRepository localRepository = new MavenArtifactRepository("local",
+                repositoryDirectory.toURI().toString(), new DefaultRepositoryLayout(), policy, policy);
+
+        Model model = new Model();
+        model.setGroupId(SyntheticRepository.GROUP_ID);
+        model.setArtifactId(SyntheticRepository.ROOT_ARTIFACT_ID);
+        model.setVersion(SyntheticRepository.VERSION);
+        MavenProject project = new MavenProject(model);
+        Artifact artifact = new DefaultArtifact(SyntheticRepository.GROUP_ID, SyntheticRepository.ROOT_ARTIFACT_ID,
+                SyntheticRepository.VERSION, Artifact.SCOPE_COMPILE, "jar", null, new DefaultArtifactHandler("jar"));
+        project.setArtifact(artifact);
+        PluginDescriptor plugin = new PluginDescriptor();
+        plugin.setVersion(pluginVersion);
+
+        ReportMojo mojo = new ReportMojo();
+        setField(AbstractValidationMojo.class, mojo, "mavenProject", project);
+        setField(AbstractValidationMojo.class, mojo, "plugin", plugin);
+        setField(AbstractValidationMojo.class, mojo, "mavenProjectBuilder", countingProjectBuilder);
+        setField(AbstractValidationMojo.class, mojo, "remoteArtifactRepositories",
+                new ArrayList<ArtifactRepository>());
+        setField(AbstractValidationMojo.class, mojo, "localRepository", localRepository);
+        setField(ReportMojo.class, mojo, "outputDirectory", resultsDirectory);
+        setField(ReportMojo.class, mojo, "resultsDirectory", resultsDirectory);
+        setField(ReportMojo.class, mojo, "incremental", true);
+        return mojo;
+    }
+
+    private static void setField(Class<?> type, Object mojo, String name, Object value)
+            throws ReflectiveOperationException {
+        Field field = type.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mojo, value);
+    }
+}
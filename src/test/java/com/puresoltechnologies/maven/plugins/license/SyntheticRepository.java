@@ -0,0 +1,194 @@
+package com.puresoltechnologies.maven.plugins.license;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * This class generates a fake local Maven repository with POMs only. The
+ * artifacts are arranged in {@link #depth} layers and every artifact depends on
+ * up to {@link #fanOut} artifacts of the next layer. Every artifact of a layer
+ * is depended on by at least one artifact of the layer before, so all artifacts
+ * are reachable from the root project, which depends on all artifacts of the
+ * first layer.
+ *
+ * If parent POMs are shared, the licenses are declared in the parent POMs and
+ * every fourth artifact overrides the license of its parent. Otherwise, every
+ * artifact declares its license itself. The licenses are taken from the license
+ * mix, an empty name leads to an artifact without license. The generation is
+ * deterministic for the same parameters.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class SyntheticRepository {
+
+    public static final String GROUP_ID = "org.synthetic";
+    public static final String VERSION = "1.0.0";
+    public static final String ROOT_ARTIFACT_ID = "root";
+
+    private final File directory;
+    private final int artifactCount;
+    private final int fanOut;
+    private final int depth;
+    private final int parentCount;
+    private final String[] licenseMix;
+    private int dependencyCount = 0;
+
+    /**
+     * Creates a new repository generator.
+     *
+     * @param directory     is the directory of the local repository.
+     * @param artifactCount is the number of artifacts without the root project
+     *                      and the parents.
+     * @param fanOut        is the maximum number of dependencies per artifact.
+     * @param depth         is the number of layers of the dependency graph.
+     * @param parentCount   is the number of parent POMs shared by the artifacts. 0
+     *                      is used to generate artifacts without parents.
+     * @param licenseMix    is the license names to be used. An empty name is used
+     *                      for artifacts without license.
+     */
+    public SyntheticRepository(File directory, int artifactCount, int fanOut, int depth, int parentCount,
+            String... licenseMix) {
+        if ((artifactCount < depth) || (depth < 1) || (fanOut < 1) || (licenseMix.length == 0)) {
+            throw new IllegalArgumentException("Invalid repository parameters.");
+        }
+        this.directory = directory;
+        this.artifactCount = artifactCount;
+        this.fanOut = fanOut;
+        this.depth = depth;
+        this.parentCount = parentCount;
+        this.licenseMix = licenseMix;
+    }
+
+    /**
+     * This method writes all POMs of the repository.
+     *
+     * @throws IOException is thrown in cases of IO issues.
+     */
+    public void generate() throws IOException {
+        Random random = new Random(artifactCount * 31L + fanOut * 17L + depth);
+        for (int i = 0; i < parentCount; i++) {
+            writePom(getParentArtifactId(i), null, true, licenseMix[i % licenseMix.length],
+                    new ArrayList<String>());
+        }
+        List<String> firstLayer = new ArrayList<>();
+        for (int i = getLayerStart(0); i < getLayerStart(1); i++) {
+            firstLayer.add(getArtifactId(i));
+        }
+        writePom(ROOT_ARTIFACT_ID, null, false, "", firstLayer);
+        for (int layer = 0; layer < depth; layer++) {
+            int start = getLayerStart(layer);
+            int end = getLayerStart(layer + 1);
+            int nextStart = end;
+            int nextEnd = getLayerStart(layer + 2);
+            for (int i = start; i < end; i++) {
+                Set<String> dependencies = new LinkedHashSet<>();
+                if (nextEnd > nextStart) {
+                    // every artifact of the next layer gets at least one incoming edge
+                    for (int next = nextStart + (i - start); next < nextEnd; next += end - start) {
+                        dependencies.add(getArtifactId(next));
+                    }
+                    while (dependencies.size() < Math.min(fanOut, nextEnd - nextStart)) {
+                        dependencies.add(getArtifactId(nextStart + random.nextInt(nextEnd - nextStart)));
+                    }
+                }
+                dependencyCount += dependencies.size();
+                String parentArtifactId = parentCount > 0 ? getParentArtifactId(i % parentCount) : null;
+                String license = (parentCount == 0) || (i % 4 == 0) ? licenseMix[random.nextInt(licenseMix.length)]
+                        : null;
+                writePom(getArtifactId(i), parentArtifactId, false, license, new ArrayList<>(dependencies));
+            }
+        }
+    }
+
+    /**
+     * Returns the number of dependency edges between the generated artifacts.
+     *
+     * @return The number of edges is returned.
+     */
+    public int getDependencyCount() {
+        return dependencyCount;
+    }
+
+    /**
+     * Returns the number of generated artifacts without the root project and the
+     * parents.
+     *
+     * @return The number of artifacts is returned.
+     */
+    public int getArtifactCount() {
+        return artifactCount;
+    }
+
+    private int getLayerStart(int layer) {
+        if (layer >= depth) {
+            return artifactCount;
+        }
+        return (int) ((long) artifactCount * layer / depth);
+    }
+
+    private static String getArtifactId(int i) {
+        return "artifact" + i;
+    }
+
+    private static String getParentArtifactId(int i) {
+        return "parent" + i;
+    }
+
+    private void writePom(String artifactId, String parentArtifactId, boolean parent, String license,
+            List<String> dependencies) throws IOException {
+        File pomDirectory = new File(directory,
+                GROUP_ID.replace('.', File.separatorChar) + File.separator + artifactId + File.separator + VERSION);
+        if (!pomDirectory.isDirectory() && !pomDirectory.mkdirs()) {
+            throw new IOException("Could not create directory '" + pomDirectory + "'.");
+        }
+        File pomFile = new File(pomDirectory, artifactId + "-" + VERSION + ".pom");
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(pomFile), StandardCharsets.UTF_8))) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            writer.write("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n");
+            writer.write("  <modelVersion>4.0.0</modelVersion>\n");
+            if (parentArtifactId != null) {
+                writer.write("  <parent>\n");
+                writer.write("    <groupId>" + GROUP_ID + "</groupId>\n");
+                writer.write("    <artifactId>" + parentArtifactId + "</artifactId>\n");
+                writer.write("    <version>" + VERSION + "</version>\n");
+                writer.write("    <relativePath />\n");
+                writer.write("  </parent>\n");
+            }
+            writer.write("  <groupId>" + GROUP_ID + "</groupId>\n");
+            writer.write("  <artifactId>" + artifactId + "</artifactId>\n");
+            writer.write("  <version>" + VERSION + "</version>\n");
+            writer.write("  <packaging>" + (parent ? "pom" : "jar") + "</packaging>\n");
+            if ((license != null) && !license.isEmpty()) {
+                writer.write("  <licenses>\n");
+                writer.write("    <license>\n");
+                writer.write("      <name>" + license + "</name>\n");
+                writer.write("      <url>http://licenses.test/" + license.replace(' ', '-') + "</url>\n");
+                writer.write("    </license>\n");
+                writer.write("  </licenses>\n");
+            }
+            if (!dependencies.isEmpty()) {
+                writer.write("  <dependencies>\n");
+                for (String dependency : dependencies) {
+                    writer.write("    <dependency>\n");
+                    writer.write("      <groupId>" + GROUP_ID + "</groupId>\n");
+                    writer.write("      <artifactId>" + dependency + "</artifactId>\n");
+                    writer.write("      <version>" + VERSION + "</version>\n");
+                    writer.write("    </dependency>\n");
+                }
+                writer.write("  </dependencies>\n");
+            }
+            writer.write("</project>\n");
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+public class BaselineTest {
+
+    private static ArtifactInformation artifact(String artifactId) {
+        return artifact(artifactId, "1.0.0");
+    }
+
+    private static ArtifactInformation artifact(String artifactId, String version) {
+        return new ArtifactInformation("org.test", artifactId, version, null, "jar", "compile");
+    }
+
+    private static ValidationResult result(ArtifactInformation artifactInformation) throws Exception {
+        KnownLicense license = new KnownLicense("MIT", new URL("http://opensource.org/licenses/MIT"), true,
+                Collections.<String>emptySet(), Collections.<String>emptySet());
+        return new ValidationResult(artifactInformation, license, "MIT", null, "license is approved", true);
+    }
+
+    private static Properties settings(String policyHash) {
+        Properties settings = new Properties();
+        settings.setProperty("recursive", "true");
+        settings.setProperty("skipTestScope", "true");
+        settings.setProperty("skipProvidedScope", "true");
+        settings.setProperty("skipOptionals", "true");
+        settings.setProperty("policyHash", policyHash);
+        return settings;
+    }
+
+    /**
+     * Creates the graph root -> a -> b and root -> c. There are no results for c.
+     */
+    private static Baseline createBaseline() throws Exception {
+        DependencyGraph.Builder builder = new DependencyGraph.Builder();
+        int root = builder.addNode(artifact("root"));
+        int a = builder.addNode(artifact("a"));
+        int b = builder.addNode(artifact("b"));
+        int c = builder.addNode(artifact("c"));
+        builder.addEdge(root, a, "compile", false);
+        builder.addEdge(a, b, "compile", false);
+        builder.addEdge(root, c, "compile", false);
+        File graphFile = File.createTempFile("dependency-graph", ".csv");
+        DependencyGraph graph;
+        try {
+            IOUtilities.storeDependencyGraph(graphFile, builder.build());
+            graph = IOUtilities.restoreDependencyGraph(graphFile, new InternDictionary());
+        } finally {
+            graphFile.delete();
+        }
+        Map<ArtifactInformation, List<ValidationResult>> results = new HashMap<>();
+        results.put(artifact("a"), Collections.singletonList(result(artifact("a"))));
+        results.put(artifact("b"), Collections.singletonList(result(artifact("b"))));
+        return new Baseline(settings("hash"), graph, results);
+    }
+
+    @Test
+    public void testContains() throws Exception {
+        Baseline baseline = createBaseline();
+        assertTrue(baseline.contains(artifact("a")));
+        assertTrue(baseline.contains(artifact("b")));
+        assertFalse(baseline.contains(artifact("c")));
+        assertFalse(baseline.contains(artifact("root")));
+        assertFalse(baseline.contains(artifact("d")));
+    }
+
+    @Test
+    public void testSubtree() throws Exception {
+        Baseline baseline = createBaseline();
+        List<ArtifactInformation> subtree = baseline.getSubtree(artifact("a"));
+        assertEquals(2, subtree.size());
+        assertTrue(subtree.contains(artifact("a")));
+        assertTrue(subtree.contains(artifact("b")));
+        assertEquals(1, baseline.getResults(artifact("b")).size());
+        assertTrue(baseline.getResults(artifact("c")).isEmpty());
+        assertTrue(baseline.getSubtree(artifact("d")).isEmpty());
+    }
+
+    @Test
+    public void testSubtreeSkipsCheckedArtifacts() throws Exception {
+        Baseline baseline = createBaseline();
+        Set<ArtifactInformation> checkedArtifacts = new HashSet<>();
+        checkedArtifacts.add(artifact("b"));
+        List<ArtifactInformation> subtree = baseline.getSubtree(artifact("a"), checkedArtifacts);
+        assertEquals(Collections.singletonList(artifact("a")), subtree);
+        assertTrue(checkedArtifacts.contains(artifact("a")));
+        assertTrue(baseline.getSubtree(artifact("a"), checkedArtifacts).isEmpty());
+    }
+
+    /**
+     * The graph root -> a -> s -> b contains the SNAPSHOT s, so neither a nor s
+     * can be taken from the baseline although all results are present.
+     */
+    @Test
+    public void testSnapshotSubtreeIsNotContained() throws Exception {
+        ArtifactInformation snapshot = artifact("s", "1.0.0-SNAPSHOT");
+        DependencyGraph.Builder builder = new DependencyGraph.Builder();
+        int root = builder.addNode(artifact("root"));
+        int a = builder.addNode(artifact("a"));
+        int s = builder.addNode(snapshot);
+        int b = builder.addNode(artifact("b"));
+        builder.addEdge(root, a, "compile", false);
+        builder.addEdge(a, s, "compile", false);
+        builder.addEdge(s, b, "compile", false);
+        Map<ArtifactInformation, List<ValidationResult>> results = new HashMap<>();
+        for (ArtifactInformation artifactInformation : new ArtifactInformation[] { artifact("root"), artifact("a"),
+                snapshot, artifact("b") }) {
+            results.put(artifactInformation, Collections.singletonList(result(artifactInformation)));
+        }
+        Baseline baseline = new Baseline(settings("hash"), builder.build(), results);
+        assertFalse(baseline.contains(artifact("root")));
+        assertFalse(baseline.contains(artifact("a")));
+        assertFalse(baseline.contains(snapshot));
+        assertTrue(baseline.contains(artifact("b")));
+    }
+
+    @Test
+    public void testCompatibility() throws Exception {
+        Baseline baseline = createBaseline();
+        assertTrue(baseline.isCompatible(settings("hash")));
+        assertFalse(baseline.isCompatible(settings("other")));
+        Properties settings = settings("hash");
+        settings.setProperty("recursive", "false");
+        assertFalse(baseline.isCompatible(settings));
+    }
+}
@@ -0,0 +1,62 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+public class ConcurrentResultExporterTest {
+
+    private static ArtifactInformation artifact(String artifactId) {
+        return new ArtifactInformation("org.test", artifactId, "1.0.0", "null", "jar", "compile");
+    }
+
+    private static ValidationResult result(String artifactId, String licenseName, String originalLicenseName)
+            throws Exception {
+        KnownLicense license = new KnownLicense(licenseName, new URL("http://opensource.org/licenses/" + licenseName),
+                true, Collections.<String>emptySet(), Collections.<String>emptySet());
+        return new ValidationResult(artifact(artifactId), license, originalLicenseName, null, "license is approved",
+                true);
+    }
+
+    @Test
+    public void testExport() throws Exception {
+        StringWriter json = new StringWriter();
+        StringWriter spdx = new StringWriter();
+        StringWriter cycloneDx = new StringWriter();
+        try (ConcurrentResultExporter exporter = new ConcurrentResultExporter(
+                Arrays.asList(ExportFormat.JSON.createExporter(json), ExportFormat.SPDX.createExporter(spdx),
+                        ExportFormat.CYCLONEDX.createExporter(cycloneDx)))) {
+            exporter.begin(artifact("project"));
+            exporter.export(result("a", "Apache-2.0", "The Apache Software License, Version 2.0"));
+            exporter.export(result("a", "MIT", "MIT"));
+            exporter.export(result("b", "MIT", "MIT License"));
+            exporter.end();
+        }
+
+        assertTrue(json.toString().startsWith("{\"project\":{\"groupId\":\"org.test\",\"artifactId\":\"project\""));
+        assertEquals(3, json.toString().split("\"valid\":true").length - 1);
+
+        String spdxDocument = spdx.toString();
+        assertEquals(2, spdxDocument.split("PackageName: ").length - 1);
+        assertTrue(spdxDocument.contains("PackageLicenseConcluded: Apache-2.0 AND MIT\n"));
+        assertTrue(spdxDocument
+                .contains("PackageLicenseDeclared: LicenseRef-The-Apache-Software-License-Version-2.0 AND MIT\n"));
+        assertTrue(spdxDocument.contains("LicenseID: LicenseRef-MIT-License\n"));
+        assertTrue(spdxDocument.contains("ExternalRef: PACKAGE-MANAGER purl pkg:maven/org.test/b@1.0.0\n"));
+
+        String bom = cycloneDx.toString();
+        assertTrue(bom.startsWith("{\"bomFormat\":\"CycloneDX\",\"specVersion\":\"1.4\""));
+        assertEquals(3, bom.split("\"bom-ref\":").length - 1);
+        assertTrue(bom.endsWith("]}"));
+    }
+}
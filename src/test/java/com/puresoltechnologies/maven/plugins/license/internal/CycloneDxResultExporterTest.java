@@ -0,0 +1,68 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.net.URL;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+public class CycloneDxResultExporterTest {
+
+    private static ValidationResult result(String artifactId, String classifier, String scope, String licenseName,
+            boolean valid) throws Exception {
+        KnownLicense license = new KnownLicense(licenseName, new URL("http://licenses.test/" + licenseName), true,
+                Collections.<String>emptySet(), Collections.<String>emptySet());
+        return new ValidationResult(new ArtifactInformation("org.test", artifactId, "1.0.0", classifier, "jar", scope),
+                license, licenseName, null, "", valid);
+    }
+
+    private static String export(ValidationResult... results) throws Exception {
+        StringWriter writer = new StringWriter();
+        try (CycloneDxResultExporter exporter = new CycloneDxResultExporter(writer)) {
+            exporter.begin(new ArtifactInformation("org.test", "project", "1.0.0", "null", "jar", "compile"));
+            for (ValidationResult result : results) {
+                exporter.export(result);
+            }
+            exporter.end();
+        }
+        return writer.toString();
+    }
+
+    private static int count(String text, String part) {
+        return text.split(part, -1).length - 1;
+    }
+
+    @Test
+    public void testExport() throws Exception {
+        String bom = export(result("a", "null", "compile", "MIT", true), result("b", "tests", "test", "MIT", true));
+        assertTrue(bom.startsWith("{\"bomFormat\":\"CycloneDX\",\"specVersion\":\"1.4\",\"version\":1,"));
+        assertTrue(bom.contains("\"component\":{\"type\":\"application\",\"bom-ref\":\"pkg:maven/org.test/project@1.0.0\""));
+        assertTrue(bom.contains("{\"type\":\"library\",\"bom-ref\":\"pkg:maven/org.test/a@1.0.0\",\"group\":\"org.test\","
+                + "\"name\":\"a\",\"version\":\"1.0.0\",\"purl\":\"pkg:maven/org.test/a@1.0.0\",\"scope\":\"required\","
+                + "\"licenses\":[{\"license\":{\"name\":\"MIT\",\"url\":\"http://licenses.test/MIT\"}}],"
+                + "\"properties\":[{\"name\":\"license-maven-plugin:valid\",\"value\":\"true\"}]}"));
+        assertTrue(bom.contains("\"bom-ref\":\"pkg:maven/org.test/b@1.0.0?classifier=tests\""));
+        assertTrue(bom.contains("\"scope\":\"excluded\""));
+        assertTrue(bom.endsWith("]}"));
+    }
+
+    @Test
+    public void testComponentsAreUniqueByPackageURL() throws Exception {
+        String bom = export(result("a", "null", "test", "MIT", true), result("b", "null", "compile", "MIT", true),
+                result("a", "null", "compile", "Apache-2.0", false), result("a", "null", "test", "MIT", true));
+        assertEquals(1, count(bom, "\"bom-ref\":\"pkg:maven/org.test/a@1.0.0\""));
+        assertEquals(3, count(bom, "\"bom-ref\":"));
+        assertTrue(bom.contains("\"purl\":\"pkg:maven/org.test/a@1.0.0\",\"scope\":\"required\","
+                + "\"licenses\":[{\"license\":{\"name\":\"MIT\",\"url\":\"http://licenses.test/MIT\"}},"
+                + "{\"license\":{\"name\":\"Apache-2.0\",\"url\":\"http://licenses.test/Apache-2.0\"}}],"
+                + "\"properties\":[{\"name\":\"license-maven-plugin:valid\",\"value\":\"false\"}]}"));
+        assertTrue(bom.indexOf("org.test/a@") < bom.indexOf("org.test/b@"));
+    }
+}
@@ -0,0 +1,216 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.model.License;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.After;
+import org.junit.Test;
+
+public class DaemonServerTest {
+
+    private static final int TIMEOUT = 10000;
+
+    private final InternDictionary dictionary = new InternDictionary();
+    private final String token = DaemonProtocol.createToken();
+    private DaemonServer server;
+    private Thread serverThread;
+
+    @After
+    public void stopServer() throws Exception {
+        if (server != null) {
+            server.close();
+            serverThread.join(10000);
+        }
+    }
+
+    private void startServer(DaemonServer.Handler handler) throws Exception {
+        startServer(handler, DaemonProtocol.READ_TIMEOUT);
+    }
+
+    private void startServer(DaemonServer.Handler handler, int readTimeout) throws Exception {
+        server = new DaemonServer(new SystemStreamLog(), 0, token, handler, readTimeout);
+        serverThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                server.run();
+            }
+        });
+        serverThread.start();
+    }
+
+    private static Artifact artifact(String artifactId) {
+        return new DefaultArtifact("org.test", artifactId, "1.0.0", "compile", "jar", null,
+                new DefaultArtifactHandler("jar"));
+    }
+
+    private DependencyTree node(Artifact parent, String artifactId, String license) {
+        Artifact artifact = parent == null ? artifact(artifactId)
+                : DependencyUtilities.buildArtifact(parent, new DeclaredDependency("org.test", artifactId, "1.0.0",
+                        null, "jar", "compile", false));
+        License mavenLicense = new License();
+        mavenLicense.setName(license);
+        mavenLicense.setUrl("http://licenses.test/" + license);
+        return new DependencyTree(artifact, dictionary.artifactInformation(artifact),
+                new ArrayList<DeclaredDependency>(),
+                dictionary.declaredLicenses(Collections.singletonList(mavenLicense)));
+    }
+
+    private static DaemonRequest request() {
+        return new DaemonRequest(new DeclaredDependency("org.test", "root", "1.0.0", null, "jar", null, false),
+                new ArtifactMetadata(new ArrayList<DeclaredDependency>(), new ArrayList<DeclaredLicense>()),
+                new ArrayList<ArtifactRepository>(), true, true, true, true);
+    }
+
+    private static String names(DependencyTree tree) {
+        StringBuilder builder = new StringBuilder();
+        for (DependencyTree node : tree) {
+            builder.append(node.getArtifact().getArtifactId()).append('(')
+                    .append(node.getLicenses().get(0).getName()).append(')');
+            if (node.getParent() != null) {
+                builder.append('<').append(node.getParent().getArtifact().getArtifactId());
+            }
+            builder.append(' ');
+        }
+        return builder.toString().trim();
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        final DependencyTree root = node(null, "root", "MIT");
+        DependencyTree a = node(root.getArtifact(), "a", "Apache-2.0");
+        root.addChildNode(a);
+        a.addChildNode(node(a.getArtifact(), "c", "MIT"));
+        root.addChildNode(node(root.getArtifact(), "b", "EPL-1.0"));
+        startServer(new DaemonServer.Handler() {
+            @Override
+            public DaemonResponse handle(DaemonRequest request) throws Exception {
+                assertEquals("root", request.getRoot().getArtifactId());
+                return DaemonResponse.of(root, Collections.singletonList("org.test:missing:1.0.0"));
+            }
+        });
+
+        DaemonResponse response = DaemonProtocol.send(server.getPort(), token, request(), TIMEOUT);
+        assertNotNull(response);
+        assertNull(response.getError());
+        assertEquals(4, response.getNodeCount());
+        assertEquals(Collections.singletonList("org.test:missing:1.0.0"), response.getFailedArtifacts());
+        Artifact rootArtifact = artifact("root");
+        DependencyTree tree = response.toDependencyTree(rootArtifact, new InternDictionary());
+        assertEquals(rootArtifact, tree.getArtifact());
+        assertEquals(names(root), names(tree));
+        assertEquals("root(MIT) a(Apache-2.0)<root c(MIT)<a b(EPL-1.0)<root", names(tree));
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        startServer(new DaemonServer.Handler() {
+            @Override
+            public DaemonResponse handle(DaemonRequest request) throws Exception {
+                throw new IllegalStateException("resolution failed");
+            }
+        });
+        DaemonResponse response = DaemonProtocol.send(server.getPort(), token, request(), TIMEOUT);
+        assertEquals("resolution failed", response.getError());
+        assertNull(response.toDependencyTree(artifact("root"), dictionary));
+    }
+
+    @Test
+    public void testNoDaemon() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        assertNull(DaemonProtocol.send(port, token, request(), TIMEOUT));
+    }
+
+    @Test
+    public void testIdleClient() throws Exception {
+        startServer(new DaemonServer.Handler() {
+            @Override
+            public DaemonResponse handle(DaemonRequest request) throws Exception {
+                return DaemonResponse.failure("handled");
+            }
+        }, 200);
+        try (Socket idleClient = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            // the idle client is dropped after the read timeout and the next client is served
+            assertEquals("handled", DaemonProtocol.send(server.getPort(), token, request(), TIMEOUT).getError());
+            assertEquals(-1, idleClient.getInputStream().read());
+        }
+    }
+
+    @Test
+    public void testClientTimeout() throws Exception {
+        startServer(new DaemonServer.Handler() {
+            @Override
+            public DaemonResponse handle(DaemonRequest request) throws Exception {
+                Thread.sleep(1000);
+                return DaemonResponse.failure("too late");
+            }
+        });
+        assertNull("a daemon not answering in time is unreachable",
+                DaemonProtocol.send(server.getPort(), token, request(), 100));
+    }
+
+    @Test
+    public void testWrongToken() throws Exception {
+        final AtomicInteger requests = new AtomicInteger();
+        startServer(new DaemonServer.Handler() {
+            @Override
+            public DaemonResponse handle(DaemonRequest request) throws Exception {
+                requests.incrementAndGet();
+                return DaemonResponse.failure("must not be called");
+            }
+        });
+        try {
+            DaemonProtocol.send(server.getPort(), DaemonProtocol.createToken(), request(), TIMEOUT);
+            fail("A daemon with another token must not be accepted.");
+        } catch (IOException e) {
+            assertEquals("License daemon could not be authenticated.", e.getMessage());
+        }
+        assertEquals(0, requests.get());
+        // the daemon keeps serving clients with the right token
+        assertEquals("must not be called", DaemonProtocol.send(server.getPort(), token, request(), TIMEOUT).getError());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testTokenFile() throws Exception {
+        Path directory = Files.createTempDirectory("daemon-token");
+        File tokenFile = new File(new File(directory.toFile(), ".m2"), "license-daemon.token");
+        try {
+            assertNull(DaemonProtocol.readToken(tokenFile));
+            DaemonProtocol.writeToken(tokenFile, "outdated");
+            DaemonProtocol.writeToken(tokenFile, token);
+            assertEquals(token, DaemonProtocol.readToken(tokenFile));
+            if (directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+                assertEquals(PosixFilePermissions.fromString("rw-------"),
+                        Files.getPosixFilePermissions(tokenFile.toPath()));
+            }
+        } finally {
+            assertTrue(tokenFile.delete());
+            assertTrue(tokenFile.getParentFile().delete());
+            Files.delete(directory);
+        }
+    }
+}
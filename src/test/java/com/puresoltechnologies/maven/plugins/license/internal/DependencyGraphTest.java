@@ -0,0 +1,102 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+
+public class DependencyGraphTest {
+
+    private static ArtifactInformation artifact(int i) {
+        return new ArtifactInformation("org.test", "artifact" + i, "1.0.0", null, "jar", "compile");
+    }
+
+    private static DependencyTree node(String artifactId, String scope, boolean optional) {
+        Artifact artifact = new DefaultArtifact("org.test", artifactId, "1.0.0", scope, "jar", null,
+                new DefaultArtifactHandler("jar"));
+        artifact.setOptional(optional);
+        return new DependencyTree(artifact, new ArrayList<DeclaredDependency>(), new ArrayList<DeclaredLicense>());
+    }
+
+    @Test
+    public void testOfTree() {
+        DependencyTree root = node("root", "compile", false);
+        DependencyTree a = node("a", "compile", false);
+        DependencyTree b = node("b", "runtime", true);
+        DependencyTree c1 = node("c", "compile", false);
+        DependencyTree c2 = node("c", "compile", false);
+        root.addChildNode(a);
+        root.addChildNode(b);
+        a.addChildNode(c1);
+        b.addChildNode(c2);
+
+        DependencyGraph graph = DependencyGraph.of(root);
+        assertEquals(4, graph.getNodeCount());
+        assertEquals(4, graph.getEdgeCount());
+        assertEquals(0, graph.getId(root.getArtifactInformation()));
+        int bId = graph.getId(b.getArtifactInformation());
+        int edge = graph.getEdgesStart(bId);
+        assertEquals(edge + 1, graph.getEdgesEnd(bId));
+        assertEquals(graph.getId(c1.getArtifactInformation()), graph.getTarget(edge));
+        int rootEdge = graph.getEdgesStart(0) + 1;
+        assertEquals(bId, graph.getTarget(rootEdge));
+        assertEquals("runtime", DependencyGraph.getScopeName(graph.getScope(rootEdge)));
+        assertTrue(graph.isOptional(rootEdge));
+        assertFalse(graph.isOptional(graph.getEdgesStart(0)));
+    }
+
+    @Test
+    public void testDuplicateEdges() {
+        DependencyGraph.Builder builder = new DependencyGraph.Builder();
+        int a = builder.addNode(artifact(0));
+        int b = builder.addNode(artifact(1));
+        int c = builder.addNode(artifact(2));
+        builder.addEdge(a, c, "compile", false);
+        builder.addEdge(a, b, "compile", false);
+        builder.addEdge(a, c, "compile", false);
+        builder.addEdge(b, c, "test", false);
+        assertEquals(a, builder.addNode(artifact(0)));
+        DependencyGraph graph = builder.build();
+        assertEquals(3, graph.getEdgeCount());
+        assertEquals(2, graph.getEdgesEnd(a) - graph.getEdgesStart(a));
+        assertEquals(c, graph.getTarget(graph.getEdgesStart(a)));
+        assertEquals(b, graph.getTarget(graph.getEdgesStart(a) + 1));
+        assertEquals("test", DependencyGraph.getScopeName(graph.getScope(graph.getEdgesStart(b))));
+        assertEquals(0, graph.getEdgesEnd(c) - graph.getEdgesStart(c));
+    }
+
+    @Test
+    public void testLargeSyntheticGraph() {
+        int nodeCount = 50000;
+        DependencyGraph.Builder builder = new DependencyGraph.Builder();
+        for (int i = 0; i < nodeCount; i++) {
+            builder.addNode(artifact(i));
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            for (int child = (2 * i) + 1; (child <= (2 * i) + 2) && (child < nodeCount); child++) {
+                builder.addEdge(i, child, "compile", false);
+            }
+            // shared dependency, like a logging API used everywhere
+            if (i > 1) {
+                builder.addEdge(i, 1, "compile", false);
+            }
+        }
+        DependencyGraph graph = builder.build();
+        assertEquals(nodeCount, graph.getNodeCount());
+        assertEquals((nodeCount - 1) + (nodeCount - 2), graph.getEdgeCount());
+        BitSet reachable = graph.getReachable(0);
+        assertEquals(nodeCount, reachable.cardinality());
+        BitSet subtree = graph.getReachable(2);
+        assertTrue(subtree.get(1));
+        assertFalse(subtree.get(0));
+    }
+}
@@ -0,0 +1,102 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.License;
+import org.junit.Test;
+
+/**
+ * This test builds {@link DependencyTree}s with {@link SyntheticDependencyTree}
+ * the same way
+ * {@link com.puresoltechnologies.maven.plugins.license.AbstractValidationMojo}
+ * does out of Maven {@link Dependency} and {@link License} objects. It measures
+ * the retained heap per node with {@link RetainedSize} for increasing tree sizes
+ * and fails if the retained heap per node of the largest tree exceeds the
+ * threshold, which can be changed with the system property
+ * 'footprint.maxBytesPerNode':
+ *
+ * <pre>
+ * mvn test -Dtest=DependencyTreeFootprintTest -Dfootprint.nodes=200000
+ * </pre>
+ *
+ * Additionally, it checks the structure which keeps the retained heap small:
+ * the declared dependencies are released after processing and all strings,
+ * licenses and artifact information are shared through the
+ * {@link InternDictionary}.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class DependencyTreeFootprintTest {
+
+    private static final int NODE_COUNT = 10000;
+
+    /**
+     * The retained heap per node of a tree with 50000 nodes is 272 bytes on a 64
+     * bit JVM with compressed references. It is 734 bytes if the compact declared
+     * dependencies are not released, which is checked separately by
+     * {@link #testDependenciesAreReleased()}, and it was about 3250 bytes when
+     * the Maven {@link Dependency} objects were kept for every node.
+     */
+    private static final long MAX_BYTES_PER_NODE = 800;
+
+    private final InternDictionary dictionary = new InternDictionary();
+
+    @Test
+    public void testFootprint() {
+        int maxNodes = Integer.getInteger("footprint.nodes", 50000);
+        long maxBytesPerNode = Long.getLong("footprint.maxBytesPerNode", MAX_BYTES_PER_NODE);
+        for (int nodes = 1000; nodes < maxNodes; nodes *= 10) {
+            measure(nodes);
+        }
+        long bytesPerNode = measure(maxNodes);
+        assertTrue("Retained heap per node is " + bytesPerNode + " bytes, but only " + maxBytesPerNode
+                + " bytes are allowed.", bytesPerNode <= maxBytesPerNode);
+    }
+
+    private static long measure(int nodeCount) {
+        DependencyTree tree = SyntheticDependencyTree.create(new InternDictionary(), nodeCount);
+        long retained = RetainedSize.of(tree);
+        long bytesPerNode = retained / nodeCount;
+        System.out.println("DependencyTree footprint: nodes=" + nodeCount + ", retained=" + (retained / 1024)
+                + "KiB, bytesPerNode=" + bytesPerNode);
+        return bytesPerNode;
+    }
+
+    @Test
+    public void testDependenciesAreReleased() {
+        DependencyTree tree = SyntheticDependencyTree.create(dictionary, NODE_COUNT);
+        List<DependencyTree> nodes = tree.getAllNodes();
+        assertEquals(NODE_COUNT, nodes.size());
+        for (DependencyTree node : nodes) {
+            assertTrue(node.getDependencies().isEmpty());
+        }
+    }
+
+    @Test
+    public void testNodesShareCanonicalInstances() {
+        DependencyTree tree = SyntheticDependencyTree.create(dictionary, NODE_COUNT);
+        Set<DeclaredLicense> licenses = Collections.newSetFromMap(new IdentityHashMap<DeclaredLicense, Boolean>());
+        Set<String> groupIds = Collections.newSetFromMap(new IdentityHashMap<String, Boolean>());
+        Set<String> versions = Collections.newSetFromMap(new IdentityHashMap<String, Boolean>());
+        for (DependencyTree node : tree) {
+            assertEquals(1, node.getLicenses().size());
+            licenses.addAll(node.getLicenses());
+            groupIds.add(node.getArtifactInformation().getGroupId());
+            versions.add(node.getArtifactInformation().getVersion());
+            assertSame(node.getArtifactInformation(), dictionary.artifactInformation(node.getArtifact()));
+        }
+        assertEquals("all nodes share one license", 1, licenses.size());
+        // 100 groups of the dependencies plus the group of the root
+        assertEquals(101, groupIds.size());
+        assertEquals(10, versions.size());
+        assertEquals(NODE_COUNT, dictionary.getArtifactCount());
+    }
+}
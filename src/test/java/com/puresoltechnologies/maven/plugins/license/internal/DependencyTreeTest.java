@@ -0,0 +1,100 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.junit.Test;
+
+public class DependencyTreeTest {
+
+    private static DependencyTree node(String artifactId) {
+        Artifact artifact = new DefaultArtifact("org.test", artifactId, "1.0.0", "compile", "jar", null,
+                new DefaultArtifactHandler("jar"));
+        return new DependencyTree(artifact, new ArrayList<DeclaredDependency>(), new ArrayList<DeclaredLicense>());
+    }
+
+    /**
+     * Creates the tree root -> (a -> (c, d), b).
+     */
+    private static DependencyTree createTree() {
+        DependencyTree root = node("root");
+        DependencyTree a = node("a");
+        root.addChildNode(a);
+        a.addChildNode(node("c"));
+        a.addChildNode(node("d"));
+        root.addChildNode(node("b"));
+        return root;
+    }
+
+    private static String names(Iterable<DependencyTree> nodes) {
+        StringBuilder builder = new StringBuilder();
+        for (DependencyTree node : nodes) {
+            builder.append(node.getArtifact().getArtifactId()).append(' ');
+        }
+        return builder.toString().trim();
+    }
+
+    @Test
+    public void testIterator() {
+        DependencyTree root = createTree();
+        assertEquals("root a c d b", names(root));
+        assertEquals("root a c d b", names(root.getAllNodes()));
+        assertEquals("c", names(root.getChildren().get(0).getChildren().get(0)));
+        Iterator<DependencyTree> iterator = root.getChildren().get(1).iterator();
+        iterator.next();
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testVisitorWithPruning() {
+        final StringBuilder builder = new StringBuilder();
+        createTree().accept(new DependencyTreeVisitor() {
+
+            @Override
+            public boolean visitEnter(DependencyTree node, int depth) {
+                builder.append('+').append(node.getArtifact().getArtifactId()).append(depth).append(' ');
+                return !node.getArtifact().getArtifactId().equals("a");
+            }
+
+            @Override
+            public void visitLeave(DependencyTree node, int depth) {
+                builder.append('-').append(node.getArtifact().getArtifactId()).append(depth).append(' ');
+            }
+        });
+        assertEquals("+root0 +a1 -a1 +b1 -b1 -root0", builder.toString().trim());
+    }
+
+    @Test
+    public void testDeepTree() {
+        DependencyTree root = node("root");
+        DependencyTree parent = root;
+        for (int i = 0; i < 100000; i++) {
+            DependencyTree child = node("artifact" + i);
+            parent.addChildNode(child);
+            parent = child;
+        }
+        int count = 0;
+        for (@SuppressWarnings("unused")
+        DependencyTree node : root) {
+            count++;
+        }
+        assertEquals(100001, count);
+        final List<Integer> maxDepth = new ArrayList<>();
+        maxDepth.add(0);
+        root.accept(new DependencyTreeVisitor() {
+            @Override
+            public boolean visitEnter(DependencyTree node, int depth) {
+                maxDepth.set(0, Math.max(maxDepth.get(0), depth));
+                return true;
+            }
+        });
+        assertEquals(100000, (int) maxDepth.get(0));
+    }
+}
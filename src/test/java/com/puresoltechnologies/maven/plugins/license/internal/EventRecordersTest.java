@@ -0,0 +1,73 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class EventRecordersTest {
+
+    private final EventRecorder recorder = EventRecorders.get();
+
+    @Test
+    public void testNoEventsWithoutRecording() {
+        assertNull(recorder.beginResolution());
+        assertNull(recorder.beginMatching());
+        assertNull(recorder.beginWriting());
+        // commits without token are ignored
+        recorder.commitWriting(null, null);
+    }
+
+    @Test
+    public void testRecording() throws Exception {
+        Artifact artifact = new DefaultArtifact("org.test", "artifact", "1.0.0", Artifact.SCOPE_COMPILE, "jar", null,
+                new DefaultArtifactHandler("jar"));
+        ArtifactInformation artifactInformation = new ArtifactInformation(artifact);
+        Path file = Files.createTempFile("license", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable("com.puresoltechnologies.license.Resolution");
+                recording.enable("com.puresoltechnologies.license.Matching");
+                recording.disable("com.puresoltechnologies.license.ResultWriting");
+                recording.start();
+                Object resolution = recorder.beginResolution();
+                assertNotNull(resolution);
+                recorder.commitResolution(resolution, artifact, false);
+                Object matching = recorder.beginMatching();
+                recorder.commitMatching(matching, artifactInformation, 2, true);
+                // disabled in the recording
+                assertNull(recorder.beginWriting());
+                recording.stop();
+                recording.dump(file);
+            }
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertEquals(2, events.size());
+            RecordedEvent resolution = events.get(0);
+            assertEquals("com.puresoltechnologies.license.Resolution", resolution.getEventType().getName());
+            assertEquals(ArtifactUtilities.toString(artifact), resolution.getString("artifact"));
+            assertTrue(!resolution.getBoolean("success"));
+            RecordedEvent matching = events.get(1);
+            assertEquals("com.puresoltechnologies.license.Matching", matching.getEventType().getName());
+            assertEquals(artifactInformation.toString(), matching.getString("artifact"));
+            assertEquals(2, matching.getInt("results"));
+            assertTrue(matching.getBoolean("valid"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+public class FingerprintTest {
+
+    @Test
+    public void testFingerprint() throws Exception {
+        File file = File.createTempFile("licenses", ".csv");
+        try {
+            Files.write(file.toPath(), "a,b,c\n".getBytes(StandardCharsets.UTF_8));
+            String fingerprint = new Fingerprint().add(file).add("true").getValue();
+            assertEquals(64, fingerprint.length());
+            assertEquals(fingerprint, new Fingerprint().add(file).add("true").getValue());
+            assertFalse(fingerprint.equals(new Fingerprint().add(file).add("false").getValue()));
+
+            Files.write(file.toPath(), "a,b,d\n".getBytes(StandardCharsets.UTF_8));
+            assertFalse(fingerprint.equals(new Fingerprint().add(file).add("true").getValue()));
+        } finally {
+            file.delete();
+        }
+        assertFalse(new Fingerprint().add(file).getValue()
+                .equals(new Fingerprint().add(file.getName()).getValue()));
+    }
+}
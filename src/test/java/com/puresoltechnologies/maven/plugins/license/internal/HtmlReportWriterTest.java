@@ -0,0 +1,195 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+public class HtmlReportWriterTest {
+
+    private final Map<ArtifactInformation, List<ValidationResult>> results = new HashMap<>();
+    private final LicenseIndex licenseIndex = new LicenseIndex();
+
+    private static DependencyTree node(String artifactId) {
+        Artifact artifact = new DefaultArtifact("org.test", artifactId, "1.0.0", "compile", "jar", null,
+                new DefaultArtifactHandler("jar"));
+        return new DependencyTree(artifact, new ArrayList<DeclaredDependency>(), new ArrayList<DeclaredLicense>());
+    }
+
+    private DependencyTree node(String artifactId, String licenseName, boolean valid) throws Exception {
+        DependencyTree node = node(artifactId);
+        KnownLicense license = valid ? new KnownLicense(licenseName, new URL("http://licenses.test/" + licenseName),
+                true, Collections.<String>emptySet(), Collections.<String>emptySet()) : null;
+        ValidationResult result = new ValidationResult(node.getArtifactInformation(), license, licenseName,
+                new URL("http://licenses.test/original?name=" + licenseName + "&id=1"), "comment", valid);
+        results.put(node.getArtifactInformation(), Collections.singletonList(result));
+        licenseIndex.add(result);
+        return node;
+    }
+
+    /**
+     * Creates the tree root -&gt; (a:Apache -&gt; (c:MIT), b:&lt;GPL&gt;).
+     */
+    private DependencyTree createTree() throws Exception {
+        DependencyTree root = node("root");
+        DependencyTree a = node("a", "Apache", true);
+        root.addChildNode(a);
+        a.addChildNode(node("c", "MIT", true));
+        root.addChildNode(node("b", "<GPL>", false));
+        return root;
+    }
+
+    private HtmlReportWriter createWriter(StringWriter stringWriter, DependencyTree root) {
+        return new HtmlReportWriter(stringWriter, results, LicenseSummary.aggregate(root, results), licenseIndex);
+    }
+
+    private String write(DependencyTree root, boolean collapseHierarchy, int maxHierarchyDepth) throws Exception {
+        StringWriter stringWriter = new StringWriter();
+        HtmlReportWriter writer = createWriter(stringWriter, root);
+        writer.setCollapseHierarchy(collapseHierarchy);
+        writer.setMaxHierarchyDepth(maxHierarchyDepth);
+        writer.write(root);
+        return stringWriter.toString();
+    }
+
+    private static int count(String text, String part) {
+        int count = 0;
+        for (int index = text.indexOf(part); index >= 0; index = text.indexOf(part, index + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static void assertBalanced(String html) {
+        for (String tag : Arrays.asList("div", "ul", "li", "table", "tr", "td", "a", "b", "i", "h2", "h3")) {
+            assertEquals("<" + tag + "> is not balanced", count(html, "<" + tag + ">") + count(html, "<" + tag + " "),
+                    count(html, "</" + tag + ">"));
+        }
+    }
+
+    @Test
+    public void testWrite() throws Exception {
+        DependencyTree root = createTree();
+        String html = write(root, false, 0);
+        assertTrue(html.startsWith("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\" />\n"
+                + "<title>Licenses Report</title>\n</head>\n<body>\n<div class=\"section\">\n<h2>Licenses Report</h2>"));
+        assertTrue(html.endsWith("</div>\n</body>\n</html>\n"));
+        assertBalanced(html);
+        for (String section : Arrays.asList("Directly Used Licenses", "Transitively Used Licenses",
+                "Artifacts by License", "Dependency Hierarchy")) {
+            assertTrue(section, html.contains("<h3>" + section + "</h3>"));
+        }
+        // two direct licenses, one transitive license
+        assertEquals(3, count(html, "<tr><td>"));
+        assertTrue(html.contains("&lt;GPL&gt;"));
+        assertFalse(html.contains("<GPL>"));
+        assertTrue(html.contains("href=\"http://licenses.test/original?name=Apache&amp;id=1\""));
+        assertTrue(html.contains("<br /><i>invalid: "));
+        assertEquals(3, count(html, "<li><b>org.test:"));
+        assertTrue(html.indexOf("<b>org.test:a:") < html.indexOf("<b>org.test:c:"));
+        assertTrue(html.indexOf("<b>org.test:c:") < html.indexOf("<b>org.test:b:"));
+    }
+
+    @Test
+    public void testWriteBody() throws Exception {
+        DependencyTree root = createTree();
+        StringWriter stringWriter = new StringWriter();
+        createWriter(stringWriter, root).writeBody(root);
+        String body = stringWriter.toString();
+        assertTrue(body.startsWith("<div class=\"section\">\n<h2>Licenses Report</h2>"));
+        assertFalse(body.contains("<html>"));
+        assertFalse(body.contains("<body>"));
+        assertBalanced(body);
+        assertTrue(write(root, false, 0).contains(body));
+    }
+
+    @Test
+    public void testDependencyPages() throws Exception {
+        DependencyTree root = createTree();
+        StringWriter stringWriter = new StringWriter();
+        HtmlReportWriter writer = createWriter(stringWriter, root);
+        writer.setPageNames(Arrays.asList("report-1.html", "report-2.html"));
+        writer.write(root);
+        String html = stringWriter.toString();
+        assertBalanced(html);
+        assertTrue(html.contains("<li><a href=\"report-1.html\"><b>org.test:a:"));
+        assertTrue(html.contains("<li><a href=\"report-2.html\"><b>org.test:b:"));
+        // transitive dependencies are listed by license, but not in the hierarchy
+        assertFalse(html.contains("<b>org.test:c:"));
+
+        StringWriter pageWriter = new StringWriter();
+        new HtmlReportWriter(pageWriter, results, null, licenseIndex).writeDependencyPage(root.getChildren().get(0),
+                "report.html");
+        String page = pageWriter.toString();
+        assertBalanced(page);
+        assertTrue(page.contains("<title>Licenses Report: org.test:a:"));
+        assertTrue(page.contains("<p><a href=\"report.html\">Back to Licenses Report</a></p>"));
+        assertTrue(page.contains("<ul>\n<li><b>org.test:a:"));
+        assertTrue(page.contains("<ul>\n<li><b>org.test:c:"));
+        assertFalse(page.contains("org.test:b:"));
+    }
+
+    @Test
+    public void testWriteAggregate() throws Exception {
+        createTree();
+        List<ArtifactInformation> artifacts = new ArrayList<>(results.keySet());
+        StringWriter stringWriter = new StringWriter();
+        new HtmlReportWriter(stringWriter, results, null, licenseIndex)
+                .writeAggregate(Arrays.asList("org.test:module:1.0.0"), artifacts);
+        String html = stringWriter.toString();
+        assertBalanced(html);
+        assertTrue(html.contains("<title>Aggregated Licenses Report</title>"));
+        assertTrue(html.contains("<li>org.test:module:1.0.0</li>"));
+        assertEquals(3, count(html, "<tr><td>org.test:"));
+    }
+
+    @Test
+    public void testCollapsedHierarchyAtMaxDepth() throws Exception {
+        // root -> (a -> (b -> (c)), b -> (c))
+        DependencyTree root = node("root");
+        DependencyTree a = node("a");
+        root.addChildNode(a);
+        DependencyTree b1 = node("b");
+        a.addChildNode(b1);
+        b1.addChildNode(node("c"));
+        DependencyTree b2 = node("b");
+        root.addChildNode(b2);
+        b2.addChildNode(node("c"));
+
+        String html = write(root, true, 2);
+        // b is cut at depth 2 first, so its second occurrence shows its dependencies
+        assertFalse(html.contains("(dependencies are shown above)"));
+        assertEquals(1, count(html, "<b>org.test:c:"));
+        assertEquals(1, count(html, "<br />..."));
+        assertBalanced(html);
+
+        String expanded = write(root, true, 0);
+        assertTrue(expanded.contains("(dependencies are shown above)"));
+        assertEquals(1, count(expanded, "<b>org.test:c:"));
+        assertBalanced(expanded);
+    }
+
+    @Test
+    public void testEscape() {
+        assertEquals("Licenses Report: a&lt;b&gt; &amp; &quot;c&quot;",
+                HtmlReportWriter.escape("Licenses Report: a<b> & \"c\""));
+        assertEquals("", HtmlReportWriter.escape(null));
+    }
+}
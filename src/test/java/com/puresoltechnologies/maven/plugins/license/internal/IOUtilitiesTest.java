@@ -1,9 +1,21 @@
 package com.puresoltechnologies.maven.plugins.license.internal;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
 
 import org.junit.Test;
 
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+
 public class IOUtilitiesTest {
 
 	@Test
@@ -24,4 +36,49 @@ public class IOUtilitiesTest {
 		assertEquals("3", split[2]);
 	}
 
+	@Test
+	public void testDependencyGraph() throws IOException {
+		DependencyGraph.Builder builder = new DependencyGraph.Builder();
+		int root = builder.addNode(new ArtifactInformation("org.test", "root", "1.0.0", null, "jar", null));
+		int a = builder.addNode(new ArtifactInformation("org.test", "a", "1.0.0", "sources", "jar", "compile"));
+		int b = builder.addNode(new ArtifactInformation("org.test", "b", "[1.0,2.0)", null, "jar", "test"));
+		builder.addEdge(root, a, "compile", false);
+		builder.addEdge(root, b, "test", true);
+		builder.addEdge(a, b, null, false);
+		File file = File.createTempFile("dependency-graph", ".csv");
+		try {
+			IOUtilities.storeDependencyGraph(file, builder.build());
+			InternDictionary dictionary = new InternDictionary();
+			DependencyGraph graph = IOUtilities.restoreDependencyGraph(file, dictionary);
+			assertEquals(3, graph.getNodeCount());
+			assertEquals(3, graph.getEdgeCount());
+			ArtifactInformation rootArtifact = graph.getArtifact(root);
+			assertEquals("root", rootArtifact.getArtifactId());
+			assertNull(rootArtifact.getScope());
+			assertEquals("sources", graph.getArtifact(a).getClassifier());
+			assertEquals("[1.0,2.0)", graph.getArtifact(b).getVersion());
+			assertSame(graph.getArtifact(b),
+					dictionary.artifactInformation("org.test", "b", "[1.0,2.0)", "", "jar", "test"));
+			int rootEdge = graph.getEdgesStart(root);
+			assertEquals(a, graph.getTarget(rootEdge));
+			assertFalse(graph.isOptional(rootEdge));
+			assertEquals(b, graph.getTarget(rootEdge + 1));
+			assertTrue(graph.isOptional(rootEdge + 1));
+			assertEquals("test", DependencyGraph.getScopeName(graph.getScope(rootEdge + 1)));
+			assertNull(DependencyGraph.getScopeName(graph.getScope(graph.getEdgesStart(a))));
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testMalformedDependencyGraph() throws IOException {
+		File file = File.createTempFile("dependency-graph", ".csv");
+		try {
+			Files.write(file.toPath(), Collections.singletonList("E,0,1,compile,false"), StandardCharsets.UTF_8);
+			IOUtilities.restoreDependencyGraph(file, new InternDictionary());
+		} finally {
+			file.delete();
+		}
+	}
 }
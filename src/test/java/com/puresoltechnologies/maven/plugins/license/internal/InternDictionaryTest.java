@@ -0,0 +1,142 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.License;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+public class InternDictionaryTest {
+
+    @Test
+    public void testIntern() {
+        InternDictionary dictionary = new InternDictionary();
+        String first = dictionary.intern(new String("org.apache.maven"));
+        String second = dictionary.intern(new String("org.apache.maven"));
+        assertSame(first, second);
+        assertEquals(null, dictionary.intern(null));
+    }
+
+    @Test
+    public void testKnownLicense() throws Exception {
+        InternDictionary dictionary = new InternDictionary();
+        URL url = dictionary.url("http://www.apache.org/licenses/LICENSE-2.0.html");
+        assertSame(url, dictionary.url("http://www.apache.org/licenses/LICENSE-2.0.html"));
+        KnownLicense license = dictionary.knownLicense("Apache License 2.0", url, true);
+        assertSame(license, dictionary.knownLicense(new String("Apache License 2.0"), url, true));
+        assertNotSame(license, dictionary.knownLicense("Apache License 2.0", url, false));
+        assertEquals("Apache License 2.0", license.getName());
+        assertEquals(0, license.getAliases().size());
+    }
+
+    @Test
+    public void testArtifactInformation() {
+        InternDictionary dictionary = new InternDictionary();
+        ArtifactInformation artifactInformation = dictionary.artifactInformation("org.test", "artifact", "1.0.0",
+                null, "jar", "compile");
+        assertSame(artifactInformation, dictionary.artifactInformation(new String("org.test"), "artifact",
+                "1.0.0", "", "jar", "compile"));
+        ArtifactInformation other = new ArtifactInformation("org.test", "artifact", "1.0.0", null, "jar",
+                "compile");
+        assertEquals(artifactInformation, other);
+        assertEquals(artifactInformation.hashCode(), other.hashCode());
+        assertNotSame(artifactInformation,
+                dictionary.artifactInformation("org.test", "artifact", "1.0.1", null, "jar", "compile"));
+    }
+
+    @Test
+    public void testDeclaredDependencies() {
+        InternDictionary dictionary = new InternDictionary();
+        Dependency dependency = new Dependency();
+        dependency.setGroupId(new String("org.test"));
+        dependency.setArtifactId("artifact");
+        dependency.setVersion("1.0.0");
+        dependency.setScope("runtime");
+        dependency.setOptional(true);
+        Exclusion exclusion = new Exclusion();
+        exclusion.setGroupId("commons-logging");
+        dependency.addExclusion(exclusion);
+        List<DeclaredDependency> dependencies = dictionary.declaredDependencies(Arrays.asList(dependency));
+        assertEquals(1, dependencies.size());
+        DeclaredDependency declaredDependency = dependencies.get(0);
+        assertSame(dictionary.intern("org.test"), declaredDependency.getGroupId());
+        assertEquals("artifact", declaredDependency.getArtifactId());
+        assertEquals("1.0.0", declaredDependency.getVersion());
+        assertEquals("jar", declaredDependency.getType());
+        assertEquals("runtime", declaredDependency.getScope());
+        assertTrue(declaredDependency.isOptional());
+        assertEquals("org.test:artifact:1.0.0:null:jar (runtime/optional)",
+                ArtifactUtilities.toString(declaredDependency));
+        assertTrue(dictionary.declaredDependencies(new ArrayList<Dependency>()).isEmpty());
+    }
+
+    @Test
+    public void testDeclaredLicenses() {
+        InternDictionary dictionary = new InternDictionary();
+        License apache = new License();
+        apache.setName("Apache-2.0");
+        apache.setUrl("http://www.apache.org/licenses/LICENSE-2.0.txt");
+        License apacheCopy = new License();
+        apacheCopy.setName(new String("Apache-2.0"));
+        apacheCopy.setUrl(new String("http://www.apache.org/licenses/LICENSE-2.0.txt"));
+        License malformed = new License();
+        malformed.setName("Custom");
+        malformed.setUrl("see LICENSE.txt");
+        List<DeclaredLicense> licenses = dictionary.declaredLicenses(Arrays.asList(apache, malformed));
+        assertEquals(2, licenses.size());
+        assertSame(licenses.get(0), dictionary.declaredLicenses(Arrays.asList(apacheCopy)).get(0));
+        assertEquals("http://www.apache.org/licenses/LICENSE-2.0.txt", licenses.get(0).getUrl().toString());
+        assertEquals("Custom", licenses.get(1).getName());
+        assertNull(licenses.get(1).getUrl());
+    }
+
+    @Test
+    public void testDeclaredLicenseKeys() {
+        InternDictionary dictionary = new InternDictionary();
+        DeclaredLicense unnamed = dictionary.declaredLicense(null, "http://licenses.test/MIT");
+        DeclaredLicense named = dictionary.declaredLicense("null", "http://licenses.test/MIT");
+        assertNotSame(unnamed, named);
+        assertNull(unnamed.getName());
+        assertEquals("null", named.getName());
+        assertNotSame(dictionary.declaredLicense("MIT", null), dictionary.declaredLicense("MIT", "null"));
+        assertNotSame(dictionary.declaredLicense("a\nb", "c"), dictionary.declaredLicense("a", "b\nc"));
+        assertSame(unnamed, dictionary.declaredLicense(null, new String("http://licenses.test/MIT")));
+    }
+
+    @Test
+    public void testReadResultsShareValues() throws Exception {
+        String line = "org.test,artifact,\"1.0.0\",,jar,compile,\"Apache License 2.0\","
+                + "http://www.apache.org/licenses/LICENSE-2.0.html,\"The Apache Software License\","
+                + "http://www.apache.org/licenses/LICENSE-2.0.txt,\"license is approved\",true\n";
+        BufferedReader reader = new BufferedReader(new StringReader(line + line.replace("artifact", "artifact2")));
+        SystemStreamLog log = new SystemStreamLog();
+        InternDictionary dictionary = new InternDictionary();
+        ValidationResult first = IOUtilities.readResult(log, reader, dictionary);
+        ValidationResult second = IOUtilities.readResult(log, reader, dictionary);
+        assertEquals("artifact2", second.getArtifactInformation().getArtifactId());
+        assertSame(first.getArtifactInformation().getGroupId(), second.getArtifactInformation().getGroupId());
+        assertSame(first.getLicense(), second.getLicense());
+        assertSame(first.getArtifactInformation(), IOUtilities.readResult(log,
+                new BufferedReader(new StringReader(line)), dictionary).getArtifactInformation());
+        assertSame(first.getOriginalLicenseName(), second.getOriginalLicenseName());
+        assertSame(first.getOriginalLicenseURL(), second.getOriginalLicenseURL());
+        assertSame(first.getComment(), second.getComment());
+    }
+}
@@ -0,0 +1,74 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+public class JsonReportWriterTest {
+
+    private static DependencyTree node(String artifactId) {
+        return new DependencyTree(
+                new DefaultArtifact("org.test", artifactId, "1.0.0", "compile", "jar", null,
+                        new DefaultArtifactHandler("jar")),
+                new ArrayList<DeclaredDependency>(), new ArrayList<DeclaredLicense>());
+    }
+
+    private static ValidationResult result(DependencyTree node) throws Exception {
+        KnownLicense license = new KnownLicense("MIT", new URL("http://opensource.org/licenses/MIT"), true,
+                Collections.<String>emptySet(), Collections.<String>emptySet());
+        return new ValidationResult(node.getArtifactInformation(), license, "MIT", null, "", true);
+    }
+
+    private static String write(DependencyTree root, List<DependencyTree> insertionOrder) throws Exception {
+        Map<ArtifactInformation, List<ValidationResult>> results = new LinkedHashMap<>();
+        for (DependencyTree node : insertionOrder) {
+            results.put(node.getArtifactInformation(), Collections.singletonList(result(node)));
+        }
+        StringWriter stringWriter = new StringWriter();
+        new JsonReportWriter(new JsonWriter(stringWriter)).write(results, LicenseSummary.aggregate(root, results));
+        return stringWriter.toString();
+    }
+
+    @Test
+    public void testArtifactsAreSorted() throws Exception {
+        DependencyTree root = node("root");
+        DependencyTree a = node("a");
+        DependencyTree b = node("b");
+        DependencyTree c = node("c");
+        root.addChildNode(c);
+        root.addChildNode(a);
+        a.addChildNode(b);
+
+        List<DependencyTree> order = new ArrayList<>();
+        order.add(c);
+        order.add(b);
+        order.add(a);
+        String json = write(root, order);
+        Collections.reverse(order);
+        assertEquals(json, write(root, order));
+
+        int artifacts = json.indexOf("\"artifacts\"");
+        int indexA = json.indexOf("\"artifactId\":\"a\"", artifacts);
+        int indexB = json.indexOf("\"artifactId\":\"b\"", artifacts);
+        int indexC = json.indexOf("\"artifactId\":\"c\"", artifacts);
+        assertTrue(artifacts > 0);
+        assertTrue(indexA > artifacts);
+        assertTrue(indexA < indexB);
+        assertTrue(indexB < indexC);
+    }
+}
@@ -0,0 +1,33 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+public class JsonWriterTest {
+
+    @Test
+    public void testNesting() throws Exception {
+        StringWriter stringWriter = new StringWriter();
+        JsonWriter writer = new JsonWriter(stringWriter);
+        writer.beginObject();
+        writer.member("name", "value");
+        writer.name("array").beginArray();
+        writer.value(1).value(true).value((String) null);
+        writer.beginObject().endObject();
+        writer.beginArray().endArray();
+        writer.endArray();
+        writer.name("empty").beginObject().endObject();
+        writer.endObject();
+        assertEquals("{\"name\":\"value\",\"array\":[1,true,null,{},[]],\"empty\":{}}", stringWriter.toString());
+    }
+
+    @Test
+    public void testEscaping() throws Exception {
+        StringWriter stringWriter = new StringWriter();
+        new JsonWriter(stringWriter).value("a\"b\\c\nd\u0001");
+        assertEquals("\"a\\\"b\\\\c\\nd\\u0001\"", stringWriter.toString());
+    }
+}
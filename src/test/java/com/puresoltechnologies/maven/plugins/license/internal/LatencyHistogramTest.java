@@ -0,0 +1,49 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(99.0));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 100; micros++) {
+            histogram.record(micros * 1000L);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(50, histogram.getPercentile(50.0));
+        assertEquals(95, histogram.getPercentile(95.0));
+        assertEquals(99, histogram.getPercentile(99.0));
+        assertEquals(100, histogram.getPercentile(100.0));
+        assertEquals(100, histogram.getMax());
+    }
+
+    @Test
+    public void testRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // 1ms up to 10s
+        for (int i = 1; i <= 10000; i++) {
+            histogram.record(i * 1000000L);
+        }
+        assertPercentile(5000000, histogram.getPercentile(50.0));
+        assertPercentile(9500000, histogram.getPercentile(95.0));
+        assertPercentile(9900000, histogram.getPercentile(99.0));
+        assertEquals(10000000, histogram.getMax());
+        assertEquals(10000000, histogram.getPercentile(100.0));
+    }
+
+    private static void assertPercentile(long expected, long actual) {
+        assertTrue("Expected " + expected + ", but was " + actual,
+                (actual >= expected) && (actual <= expected * 1.02));
+    }
+}
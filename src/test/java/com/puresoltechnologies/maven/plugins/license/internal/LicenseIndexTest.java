@@ -0,0 +1,63 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+public class LicenseIndexTest {
+
+    private static ValidationResult result(String artifactId, String licenseName) throws Exception {
+        ArtifactInformation artifactInformation = new ArtifactInformation("org.test", artifactId, "1.0.0", null, "jar",
+                "compile");
+        KnownLicense license = licenseName == null ? null
+                : new KnownLicense(licenseName, new URL("http://opensource.org/licenses/" + licenseName), true,
+                        Collections.<String>emptySet(), Collections.<String>emptySet());
+        return new ValidationResult(artifactInformation, license, licenseName, null, "comment", license != null);
+    }
+
+    private static LicenseIndex createIndex() throws Exception {
+        LicenseIndex index = new LicenseIndex();
+        index.add(result("c", "EPL-2.0"));
+        index.add(result("a", "MIT"));
+        index.add(result("b", "EPL-2.0"));
+        index.add(result("b", "EPL-2.0"));
+        index.add(result("d", null));
+        return index;
+    }
+
+    @Test
+    public void testIndex() throws Exception {
+        LicenseIndex index = createIndex();
+        assertEquals(Arrays.asList(LicenseIndex.UNKNOWN_LICENSE, "EPL-2.0", "MIT"), index.getLicenseNames());
+        assertEquals(2, index.getArtifacts("EPL-2.0").size());
+        assertEquals("b", index.getArtifacts("EPL-2.0").iterator().next().getArtifactId());
+        assertEquals("EPL-2.0", index.getLicense("EPL-2.0").getName());
+        assertTrue(index.getArtifacts("GPL-3.0").isEmpty());
+    }
+
+    @Test
+    public void testWriteAndFind() throws Exception {
+        StringWriter writer = new StringWriter();
+        createIndex().write(writer);
+        List<ArtifactInformation> artifacts = LicenseIndex
+                .findArtifacts(new BufferedReader(new StringReader(writer.toString())), "EPL-2.0");
+        assertEquals(2, artifacts.size());
+        assertEquals("org.test:b:1.0.0", artifacts.get(0).getIdentifier());
+        assertEquals("org.test:c:1.0.0", artifacts.get(1).getIdentifier());
+        assertTrue(LicenseIndex.findArtifacts(new BufferedReader(new StringReader(writer.toString())), "GPL-3.0")
+                .isEmpty());
+    }
+}
@@ -0,0 +1,149 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.model.License;
+import org.apache.maven.plugin.MojoFailureException;
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+public class LicensePolicyTest {
+
+    private static KnownLicense license(String name, String alias, String approvedDependency) throws Exception {
+        Set<String> aliases = alias == null ? Collections.<String>emptySet() : Collections.singleton(alias);
+        Set<String> approved = approvedDependency == null ? Collections.<String>emptySet()
+                : Collections.singleton(approvedDependency);
+        return new KnownLicense(name, new URL("http://opensource.org/licenses/" + name), true, aliases, approved);
+    }
+
+    private static Set<KnownLicense> licenses() throws Exception {
+        Set<KnownLicense> licenses = new LinkedHashSet<>();
+        licenses.add(license("Apache-2.0", "The Apache Software License, Version 2.0", null));
+        licenses.add(license("EPL-2.0", "Eclipse Public License 2.0", "org\\.eclipse\\..*:.*:.*"));
+        return licenses;
+    }
+
+    @Test
+    public void testFindKnownLicense() throws Exception {
+        LicensePolicy policy = LicensePolicy.compile(licenses());
+        assertEquals("Apache-2.0", policy.findKnownLicense("Apache-2.0").getName());
+        assertEquals("Apache-2.0", policy.findKnownLicense("The Apache Software License, Version 2.0").getName());
+        assertEquals("EPL-2.0", policy.findKnownLicense("Eclipse Public License 2.0").getName());
+        assertNull(policy.findKnownLicense("GPL-3.0"));
+        assertNull(policy.findKnownLicense(null));
+    }
+
+    @Test
+    public void testNamesTakePrecedenceOverAliases() throws Exception {
+        Set<KnownLicense> licenses = new LinkedHashSet<>();
+        licenses.add(license("Apache License", "MIT", null));
+        licenses.add(license("MIT", null, null));
+        licenses.add(license("BSD", "Shared Alias", null));
+        licenses.add(license("AFL", "Shared Alias", null));
+        LicensePolicy policy = LicensePolicy.compile(licenses);
+        assertEquals("MIT", policy.findKnownLicense("MIT").getName());
+        assertEquals("AFL", policy.findKnownLicense("Shared Alias").getName());
+    }
+
+    @Test
+    public void testApprovalsAreEvaluatedInNameOrder() throws Exception {
+        Set<KnownLicense> licenses = new LinkedHashSet<>();
+        licenses.add(license("MIT", null, "org\\.test\\..*:.*:.*"));
+        licenses.add(license("BSD", null, "org\\.test\\.sub\\..*:.*:.*"));
+        LicensePolicy policy = LicensePolicy.compile(licenses);
+        ArtifactInformation artifact = new ArtifactInformation("org.test.sub.module", "module", "1.0", null, "jar",
+                "compile");
+        assertEquals("BSD", policy.findApprovedLicense(artifact).getName());
+        List<KnownLicense> reversed = Arrays.asList(licenses.toArray(new KnownLicense[0])[1],
+                licenses.toArray(new KnownLicense[0])[0]);
+        assertEquals("BSD", LicensePolicy.compile(reversed).findApprovedLicense(artifact).getName());
+    }
+
+    @Test
+    public void testFindApprovedLicense() throws Exception {
+        LicensePolicy policy = LicensePolicy.compile(licenses());
+        ArtifactInformation approved = new ArtifactInformation("org.eclipse.jetty", "jetty-server", "9.4.0", null,
+                "jar", "compile");
+        ArtifactInformation notApproved = new ArtifactInformation("org.apache", "commons", "1.0", null, "jar",
+                "compile");
+        assertEquals("EPL-2.0", policy.findApprovedLicense(approved).getName());
+        assertNull(policy.findApprovedLicense(notApproved));
+    }
+
+    @Test
+    public void testConfigurationHashIsOrderIndependent() throws Exception {
+        Set<KnownLicense> licenses = licenses();
+        Set<KnownLicense> reversed = new LinkedHashSet<>(Arrays.asList(licenses.toArray(new KnownLicense[0])[1],
+                licenses.toArray(new KnownLicense[0])[0]));
+        assertEquals(LicensePolicy.calculateConfigurationHash(licenses),
+                LicensePolicy.calculateConfigurationHash(reversed));
+        assertEquals(LicensePolicy.calculateConfigurationHash(licenses),
+                LicensePolicy.compile(licenses).getConfigurationHash());
+        Set<KnownLicense> changed = new HashSet<>(licenses);
+        changed.add(license("MIT", null, null));
+        assertFalse(LicensePolicy.calculateConfigurationHash(licenses)
+                .equals(LicensePolicy.calculateConfigurationHash(changed)));
+    }
+
+    @Test
+    public void testStoreAndRestore() throws Exception {
+        LicensePolicy policy = LicensePolicy.compile(licenses());
+        File file = File.createTempFile("policy", ".ser");
+        try {
+            IOUtilities.storeObject(file, policy);
+            LicensePolicy restored = IOUtilities.restoreObject(file);
+            assertEquals(policy.getConfigurationHash(), restored.getConfigurationHash());
+            assertEquals("Apache-2.0",
+                    restored.findKnownLicense("The Apache Software License, Version 2.0").getName());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testValidate() throws Exception {
+        LicensePolicy policy = LicensePolicy.compile(licenses());
+        ArtifactInformation approved = new ArtifactInformation("org.eclipse.jetty", "jetty-server", "9.4.0", null,
+                "jar", "compile");
+        ArtifactInformation notApproved = new ArtifactInformation("org.apache", "commons", "1.0", null, "jar",
+                "compile");
+        License apache = new License();
+        apache.setName("The Apache Software License, Version 2.0");
+        apache.setUrl("http://www.apache.org/licenses/LICENSE-2.0.txt");
+        License gpl = new License();
+        gpl.setName("GPL-3.0");
+
+        InternDictionary dictionary = new InternDictionary();
+        List<ValidationResult> results = policy.validate(notApproved,
+                dictionary.declaredLicenses(Arrays.asList(apache, gpl)));
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isValid());
+        assertEquals("Apache-2.0", results.get(0).getLicense().getName());
+        assertFalse(results.get(1).isValid());
+        assertNull(results.get(1).getOriginalLicenseURL());
+
+        assertTrue(policy.validate(approved, dictionary.declaredLicenses(Arrays.asList(gpl))).get(0).isValid());
+        assertTrue(policy.validate(approved, Collections.<DeclaredLicense>emptyList()).get(0).isValid());
+        assertFalse(policy.validate(notApproved, Collections.<DeclaredLicense>emptyList()).get(0).isValid());
+    }
+
+    @Test(expected = MojoFailureException.class)
+    public void testEmptyAlias() throws Exception {
+        LicensePolicy.compile(Collections.singleton(license("MIT", "", null)));
+    }
+}
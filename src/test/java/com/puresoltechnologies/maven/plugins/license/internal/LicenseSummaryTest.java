@@ -0,0 +1,72 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.internal.LicenseSummary.LicenseUsage;
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+public class LicenseSummaryTest {
+
+    private final Map<ArtifactInformation, List<ValidationResult>> results = new HashMap<>();
+
+    private DependencyTree node(String artifactId, String licenseName, boolean valid) {
+        Artifact artifact = new DefaultArtifact("org.test", artifactId, "1.0.0", "compile", "jar", null,
+                new DefaultArtifactHandler("jar"));
+        DependencyTree node = new DependencyTree(artifact, new ArrayList<DeclaredDependency>(), new ArrayList<DeclaredLicense>());
+        if (licenseName != null) {
+            results.put(node.getArtifactInformation(), Collections.singletonList(new ValidationResult(
+                    node.getArtifactInformation(), null, licenseName, null, "comment", valid)));
+        }
+        return node;
+    }
+
+    @Test
+    public void testAggregate() {
+        // root -> (a:Apache -> (c:MIT), b:MIT -> (a:Apache -> (c:MIT)), d:GPL)
+        DependencyTree root = node("root", null, true);
+        DependencyTree a = node("a", "Apache", true);
+        DependencyTree b = node("b", "MIT", true);
+        root.addChildNode(a);
+        a.addChildNode(node("c", "MIT", true));
+        root.addChildNode(b);
+        DependencyTree a2 = node("a", "Apache", true);
+        b.addChildNode(a2);
+        a2.addChildNode(node("c", "MIT", true));
+        DependencyTree d = node("d", "GPL", false);
+        b.addChildNode(d);
+
+        LicenseSummary summary = LicenseSummary.aggregate(root, results);
+        List<LicenseUsage> direct = summary.getDirectLicenses();
+        assertEquals(2, direct.size());
+        assertEquals("Apache", direct.get(0).getOriginalLicenseName());
+        assertEquals(1, direct.get(0).getDirectArtifacts());
+        assertEquals("MIT", direct.get(1).getOriginalLicenseName());
+        assertEquals(1, direct.get(1).getDirectArtifacts());
+
+        List<LicenseUsage> transitive = summary.getTransitiveLicenses();
+        assertEquals(3, transitive.size());
+        assertEquals("Apache", transitive.get(0).getOriginalLicenseName());
+        assertEquals(1, transitive.get(0).getTransitiveArtifacts());
+        assertEquals("GPL", transitive.get(1).getOriginalLicenseName());
+        assertEquals(2, transitive.get(1).getFirstDepth());
+        assertFalse(transitive.get(1).isValid());
+        assertEquals("MIT", transitive.get(2).getOriginalLicenseName());
+        assertEquals(1, transitive.get(2).getTransitiveArtifacts());
+        assertEquals(1, transitive.get(2).getFirstDepth());
+        assertTrue(transitive.get(2).isValid());
+    }
+}
@@ -0,0 +1,49 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+public class MetricsTest {
+
+    @Test
+    public void testCounters() {
+        Metrics metrics = new Metrics();
+        metrics.increment("pomBuilds");
+        metrics.increment("pomBuilds");
+        metrics.add("resultsWritten", 5);
+        assertEquals(2, metrics.getCount("pomBuilds"));
+        assertEquals(5, metrics.getCount("resultsWritten"));
+        assertEquals(0, metrics.getCount("cyclesFound"));
+    }
+
+    @Test
+    public void testTimers() {
+        Metrics metrics = new Metrics();
+        try (Metrics.Timer timer = metrics.time("resolution")) {
+            assertEquals(0, metrics.getTime("resolution"));
+        }
+        long first = metrics.getTime("resolution");
+        assertTrue(first > 0);
+        metrics.addTime("resolution", 2000000);
+        assertEquals(first + 2000000, metrics.getTime("resolution"));
+    }
+
+    @Test
+    public void testWrite() throws Exception {
+        Metrics metrics = new Metrics();
+        metrics.addTime("resolution", 1500000000L);
+        metrics.addTime("matching", 2000000);
+        metrics.increment("nodesVisited");
+        StringWriter writer = new StringWriter();
+        metrics.write(writer, "verify");
+        assertEquals("{\"goal\":\"verify\",\"phases\":{\"resolution\":1500,\"matching\":2},"
+                + "\"counters\":{\"nodesVisited\":1}}", writer.toString());
+        assertEquals("License metrics (verify): resolution=1500ms, matching=2ms, nodesVisited=1",
+                metrics.getSummary("verify"));
+        assertEquals("metrics-verify.json", Metrics.getFileName("verify"));
+    }
+}
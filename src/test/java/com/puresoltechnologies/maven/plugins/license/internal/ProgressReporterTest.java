@@ -0,0 +1,26 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Test;
+
+public class ProgressReporterTest {
+
+    @Test
+    public void testMessage() {
+        try (ProgressReporter reporter = new ProgressReporter(new SystemStreamLog(), 0)) {
+            long start = System.nanoTime();
+            reporter.update(1000, 200, 150, 42);
+            String message = reporter.getMessage(start + 2000000000L);
+            assertEquals("nodes, unique artifacts and pending are reported",
+                    "1000 nodes, 150 unique artifacts, 100.0 POMs/s, 42 pending",
+                    message.substring(message.indexOf(": ") + 2));
+            reporter.update(1500, 300, 180, 10);
+            message = reporter.getMessage(start + 4000000000L);
+            assertEquals("throughput is calculated since the last report",
+                    "1500 nodes, 180 unique artifacts, 50.0 POMs/s, 10 pending",
+                    message.substring(message.indexOf(": ") + 2));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.Collections;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+public class ResultsMergerTest {
+
+    private static ValidationResult result(String artifactId, boolean valid) throws Exception {
+        ArtifactInformation artifactInformation = new ArtifactInformation("org.test", artifactId, "1.0.0", "null",
+                "jar", "compile");
+        KnownLicense license = new KnownLicense("MIT", new URL("http://opensource.org/licenses/MIT"), true,
+                Collections.<String>emptySet(), Collections.<String>emptySet());
+        return new ValidationResult(artifactInformation, license, "MIT", new URL("http://opensource.org/"), "comment",
+                valid);
+    }
+
+    private static File write(ValidationResult... validationResults) throws Exception {
+        File file = File.createTempFile("licenses", ".csv");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), Charset.defaultCharset())) {
+            for (ValidationResult validationResult : validationResults) {
+                IOUtilities.writeResult(writer, validationResult);
+            }
+        }
+        return file;
+    }
+
+    @Test
+    public void testMerge() throws Exception {
+        File module1 = write(result("c", true), result("a", true));
+        File module2 = write(result("a", true), result("b", true));
+        try {
+            ResultsMerger merger = new ResultsMerger(new SystemStreamLog(), new InternDictionary());
+            merger.merge(module1);
+            merger.merge(module2);
+            assertEquals(4, merger.getReadResults());
+            assertEquals(3, merger.getMergedResults());
+            assertEquals(3, merger.getResults().size());
+            assertTrue(merger.isValid());
+            assertEquals(3, merger.getLicenseIndex().getArtifacts("MIT").size());
+            assertEquals("a", merger.getSortedArtifacts().get(0).getArtifactId());
+            assertEquals("c", merger.getSortedArtifacts().get(2).getArtifactId());
+
+            StringWriter merged = new StringWriter();
+            merger.write(merged);
+            assertEquals(3, merged.toString().split("\n").length);
+            assertTrue(merged.toString().startsWith("org.test,a,"));
+        } finally {
+            module1.delete();
+            module2.delete();
+        }
+    }
+
+    @Test
+    public void testCanonicalArtifacts() throws Exception {
+        ResultsMerger merger = new ResultsMerger(new SystemStreamLog(), new InternDictionary());
+        File module = write(result("a", false));
+        try {
+            merger.merge(module);
+            merger.merge(module);
+        } finally {
+            module.delete();
+        }
+        assertFalse(merger.isValid());
+        assertEquals(1, merger.getMergedResults());
+        ArtifactInformation artifact = merger.getResults().keySet().iterator().next();
+        assertSame(artifact, merger.getResults().get(artifact).get(0).getArtifactInformation());
+    }
+}
@@ -0,0 +1,174 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import sun.misc.Unsafe;
+
+/**
+ * This class calculates the retained size of an object graph the way JOL's
+ * <code>GraphLayout.parseInstance(root).totalSize()</code> does: every object
+ * reachable through instance fields is counted once with its shallow size. The
+ * shallow sizes are taken from the field offsets of the running JVM, so the
+ * result is deterministic for a JVM configuration and does not depend on the
+ * garbage collector. {@link Class} objects and static fields are not counted.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class RetainedSize {
+
+    private static final Unsafe UNSAFE = getUnsafe();
+    private static final int OBJECT_ALIGNMENT = 8;
+    private static final int REFERENCE_SIZE = UNSAFE.arrayIndexScale(Object[].class);
+
+    /**
+     * Used to find the size of the object header, because the first field is
+     * placed directly after it.
+     */
+    @SuppressWarnings("unused")
+    private static final class HeaderProbe {
+        private byte value;
+    }
+
+    private static final long HEADER_SIZE = getHeaderSize();
+
+    private static Unsafe getUnsafe() {
+        try {
+            Field field = Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return (Unsafe) field.get(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unsafe is not available.", e);
+        }
+    }
+
+    private static long getHeaderSize() {
+        try {
+            return UNSAFE.objectFieldOffset(HeaderProbe.class.getDeclaredField("value"));
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Header size could not be determined.", e);
+        }
+    }
+
+    /**
+     * Contains the layout per class: the shallow size and the offsets of the
+     * reference fields.
+     */
+    private final Map<Class<?>, Layout> layouts = new HashMap<>();
+
+    private static final class Layout {
+
+        private final long size;
+        private final long[] referenceOffsets;
+
+        private Layout(long size, long[] referenceOffsets) {
+            this.size = size;
+            this.referenceOffsets = referenceOffsets;
+        }
+    }
+
+    /**
+     * This method calculates the retained size of all objects reachable from the
+     * given root.
+     *
+     * @param root is the root of the object graph.
+     * @return The total size in bytes is returned.
+     */
+    public static long of(Object root) {
+        return new RetainedSize().calculate(root);
+    }
+
+    private long calculate(Object root) {
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        Deque<Object> pending = new ArrayDeque<>();
+        visited.add(root);
+        pending.push(root);
+        long total = 0;
+        while (!pending.isEmpty()) {
+            Object object = pending.pop();
+            Class<?> type = object.getClass();
+            if (type.isArray()) {
+                int length = Array.getLength(object);
+                total += align(UNSAFE.arrayBaseOffset(type) + ((long) UNSAFE.arrayIndexScale(type) * length));
+                if (!type.getComponentType().isPrimitive()) {
+                    for (Object element : (Object[]) object) {
+                        visit(element, visited, pending);
+                    }
+                }
+            } else {
+                Layout layout = getLayout(type);
+                total += layout.size;
+                for (long offset : layout.referenceOffsets) {
+                    visit(UNSAFE.getObject(object, offset), visited, pending);
+                }
+            }
+        }
+        return total;
+    }
+
+    private static void visit(Object object, Set<Object> visited, Deque<Object> pending) {
+        if ((object != null) && !(object instanceof Class) && visited.add(object)) {
+            pending.push(object);
+        }
+    }
+
+    private Layout getLayout(Class<?> type) {
+        Layout layout = layouts.get(type);
+        if (layout == null) {
+            long end = HEADER_SIZE;
+            List<Long> referenceOffsets = new ArrayList<>();
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    long offset = UNSAFE.objectFieldOffset(field);
+                    end = Math.max(end, offset + getFieldSize(field.getType()));
+                    if (!field.getType().isPrimitive()) {
+                        referenceOffsets.add(offset);
+                    }
+                }
+            }
+            long[] offsets = new long[referenceOffsets.size()];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = referenceOffsets.get(i);
+            }
+            layout = new Layout(align(end), offsets);
+            layouts.put(type, layout);
+        }
+        return layout;
+    }
+
+    private static int getFieldSize(Class<?> type) {
+        if ((type == long.class) || (type == double.class)) {
+            return 8;
+        } else if ((type == int.class) || (type == float.class)) {
+            return 4;
+        } else if ((type == short.class) || (type == char.class)) {
+            return 2;
+        } else if ((type == byte.class) || (type == boolean.class)) {
+            return 1;
+        }
+        return REFERENCE_SIZE;
+    }
+
+    private static long align(long size) {
+        return ((size + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT) * OBJECT_ALIGNMENT;
+    }
+
+    /**
+     * Private default constructor, use {@link #of(Object)}.
+     */
+    private RetainedSize() {
+    }
+}
@@ -0,0 +1,50 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+
+public class ShardUtilitiesTest {
+
+    private static ArtifactInformation artifact(int i) {
+        return new ArtifactInformation("org.test", "artifact" + i, "1.0.0", null, "jar", "compile");
+    }
+
+    @Test
+    public void testPartition() {
+        int shardCount = 4;
+        int[] sizes = new int[shardCount];
+        for (int i = 0; i < 1000; i++) {
+            int shard = ShardUtilities.getShard(artifact(i), shardCount);
+            assertTrue(ShardUtilities.isValidShard(shard, shardCount));
+            assertEquals(shard, ShardUtilities.getShard(artifact(i), shardCount));
+            sizes[shard]++;
+        }
+        for (int size : sizes) {
+            assertTrue("Shards are expected to be roughly balanced.", size > 150);
+        }
+    }
+
+    @Test
+    public void testValidShard() {
+        assertTrue(ShardUtilities.isValidShard(0, 1));
+        assertTrue(ShardUtilities.isValidShard(2, 3));
+        assertFalse(ShardUtilities.isValidShard(3, 3));
+        assertFalse(ShardUtilities.isValidShard(-1, 3));
+        assertFalse(ShardUtilities.isValidShard(0, 0));
+    }
+
+    @Test
+    public void testResultsFileName() {
+        assertEquals("licenses-shard-1-of-3.csv", ShardUtilities.getResultsFileName(1, 3));
+    }
+
+    @Test
+    public void testMetricsFileName() {
+        assertEquals("metrics-verify-shard-1-of-3.json", ShardUtilities.getMetricsFileName("verify", 1, 3));
+    }
+}
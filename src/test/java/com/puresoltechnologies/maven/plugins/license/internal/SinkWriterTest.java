@@ -0,0 +1,79 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codehaus.doxia.sink.Sink;
+import org.junit.Test;
+
+public class SinkWriterTest {
+
+    private static Sink createSink(final List<String> rawText) {
+        return (Sink) Proxy.newProxyInstance(SinkWriterTest.class.getClassLoader(), new Class<?>[] { Sink.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if ("rawText".equals(method.getName())) {
+                            rawText.add((String) args[0]);
+                        }
+                        return null;
+                    }
+                });
+    }
+
+    private static String text(int length) {
+        StringBuilder builder = new StringBuilder();
+        while (builder.length() < length) {
+            builder.append("<tr><td>row ").append(builder.length()).append("</td></tr>\n");
+        }
+        return builder.substring(0, length);
+    }
+
+    @Test
+    public void testChunks() throws Exception {
+        List<String> chunks = new ArrayList<>();
+        String text = text(3 * SinkWriter.BUFFER_SIZE + 100);
+        try (SinkWriter writer = new SinkWriter(createSink(chunks))) {
+            writer.write(text.substring(0, 10));
+            writer.write(text, 10, text.length() - 10);
+        }
+        assertEquals(4, chunks.size());
+        for (String chunk : chunks) {
+            assertTrue(chunk.length() <= SinkWriter.BUFFER_SIZE);
+        }
+        assertEquals(text, String.join("", chunks));
+    }
+
+    @Test
+    public void testSurrogatePairsAreNotSplit() throws Exception {
+        List<String> chunks = new ArrayList<>();
+        String text = text(SinkWriter.BUFFER_SIZE - 1) + "\uD83D\uDE00" + text(10);
+        try (SinkWriter writer = new SinkWriter(createSink(chunks))) {
+            writer.write(text.toCharArray(), 0, text.length());
+        }
+        assertEquals(2, chunks.size());
+        for (String chunk : chunks) {
+            assertFalse(Character.isHighSurrogate(chunk.charAt(chunk.length() - 1)));
+        }
+        assertEquals(text, String.join("", chunks));
+    }
+
+    @Test
+    public void testCopy() throws Exception {
+        List<String> chunks = new ArrayList<>();
+        String text = text(2 * SinkWriter.BUFFER_SIZE + 1);
+        try (SinkWriter writer = new SinkWriter(createSink(chunks))) {
+            writer.copy(new StringReader(text));
+        }
+        assertEquals(3, chunks.size());
+        assertEquals(text, String.join("", chunks));
+    }
+}
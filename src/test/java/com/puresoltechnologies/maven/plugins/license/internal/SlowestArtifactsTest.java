@@ -0,0 +1,33 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class SlowestArtifactsTest {
+
+    @Test
+    public void testKeepsSlowest() {
+        SlowestArtifacts slowest = new SlowestArtifacts(3);
+        long[] latencies = { 5, 50, 1, 40, 2, 30, 3 };
+        for (int i = 0; i < latencies.length; i++) {
+            slowest.record("artifact" + i, latencies[i]);
+        }
+        List<SlowestArtifacts.Entry> entries = slowest.getEntries();
+        assertEquals(3, entries.size());
+        assertEquals("artifact1", entries.get(0).getArtifact());
+        assertEquals(50, entries.get(0).getNanos());
+        assertEquals("artifact3", entries.get(1).getArtifact());
+        assertEquals("artifact5", entries.get(2).getArtifact());
+    }
+
+    @Test
+    public void testSwitchedOff() {
+        SlowestArtifacts slowest = new SlowestArtifacts(0);
+        slowest.record("artifact", 1);
+        assertTrue(slowest.getEntries().isEmpty());
+    }
+}
@@ -0,0 +1,85 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.net.URL;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.puresoltechnologies.maven.plugins.license.parameter.ArtifactInformation;
+import com.puresoltechnologies.maven.plugins.license.parameter.KnownLicense;
+import com.puresoltechnologies.maven.plugins.license.parameter.ValidationResult;
+
+public class SpdxResultExporterTest {
+
+    private static ArtifactInformation artifact(String artifactId) {
+        return new ArtifactInformation("org.test", artifactId, "1.0.0", "null", "jar", "compile");
+    }
+
+    private static ValidationResult result(String artifactId, String licenseName, String originalLicenseName)
+            throws Exception {
+        KnownLicense license = licenseName == null ? null
+                : new KnownLicense(licenseName, new URL("http://licenses.test/" + artifactId), true,
+                        Collections.<String>emptySet(), Collections.<String>emptySet());
+        return new ValidationResult(artifact(artifactId), license, originalLicenseName,
+                new URL("http://licenses.test/original/" + artifactId), "", license != null);
+    }
+
+    private static String export(ValidationResult... results) throws Exception {
+        StringWriter writer = new StringWriter();
+        try (SpdxResultExporter exporter = new SpdxResultExporter(writer)) {
+            exporter.begin(artifact("project"));
+            for (ValidationResult result : results) {
+                exporter.export(result);
+            }
+            exporter.end();
+        }
+        return writer.toString();
+    }
+
+    private static int count(String text, String part) {
+        return text.split(part, -1).length - 1;
+    }
+
+    @Test
+    public void testKnownLicenseIds() throws Exception {
+        String document = export(result("a", "Apache-2.0", "apache-2.0"), result("b", "MIT", "mit"));
+        assertTrue(document.contains("PackageLicenseConcluded: Apache-2.0\n"));
+        assertTrue(document.contains("PackageLicenseDeclared: Apache-2.0\n"));
+        assertTrue(document.contains("PackageLicenseConcluded: MIT\n"));
+        assertEquals(0, count(document, "LicenseRef-"));
+        assertEquals(0, count(document, "LicenseID: "));
+    }
+
+    @Test
+    public void testUnknownTokensAreLicenseRefs() throws Exception {
+        String document = export(result("a", "Proprietary", "GPL"), result("b", null, "Commercial"));
+        assertTrue(document.contains("PackageLicenseConcluded: LicenseRef-Proprietary\n"));
+        assertTrue(document.contains("PackageLicenseDeclared: LicenseRef-GPL\n"));
+        assertTrue(document.contains("PackageLicenseConcluded: NOASSERTION\n"));
+        assertTrue(document.contains("PackageLicenseDeclared: LicenseRef-Commercial\n"));
+        assertTrue(document.contains("LicenseID: LicenseRef-GPL\n"));
+        assertTrue(document.contains("LicenseCrossReference: http://licenses.test/original/a\n"));
+        assertEquals(3, count(document, "LicenseID: "));
+    }
+
+    @Test
+    public void testCollidingLicenseRefs() throws Exception {
+        String document = export(result("a", null, "My License"), result("b", null, "My/License"),
+                result("c", null, "My License"), result("d", null, "My-License-2"));
+        assertTrue(document.contains("PackageLicenseDeclared: LicenseRef-My-License\n"));
+        assertTrue(document.contains("PackageLicenseDeclared: LicenseRef-My-License-2\n"));
+        assertTrue(document.contains("PackageLicenseDeclared: LicenseRef-My-License-2-2\n"));
+        assertEquals(2, count(document, "PackageLicenseDeclared: LicenseRef-My-License\n"));
+        assertEquals(3, count(document, "LicenseID: "));
+        assertTrue(document.contains("LicenseID: LicenseRef-My-License\nExtractedText: <text>NOASSERTION</text>\n"
+                + "LicenseName: My License\n"));
+        assertTrue(document.contains("LicenseID: LicenseRef-My-License-2\nExtractedText: <text>NOASSERTION</text>\n"
+                + "LicenseName: My/License\n"));
+        assertTrue(document.contains("LicenseID: LicenseRef-My-License-2-2\nExtractedText: <text>NOASSERTION</text>\n"
+                + "LicenseName: My-License-2\n"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.puresoltechnologies.maven.plugins.license.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.InputLocation;
+import org.apache.maven.model.InputSource;
+import org.apache.maven.model.License;
+
+/**
+ * This class builds a {@link DependencyTree} the same way
+ * {@link com.puresoltechnologies.maven.plugins.license.AbstractValidationMojo}
+ * does out of Maven {@link Dependency} and {@link License} objects. It is used
+ * by the footprint test and benchmark.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class SyntheticDependencyTree {
+
+    /**
+     * This is the number of compile dependencies declared by every node.
+     */
+    public static final int FAN_OUT = 4;
+
+    /**
+     * Creates a tree breadth-first. Every node declares {@link #FAN_OUT} compile
+     * dependencies and one test dependency, which is skipped like in the default
+     * configuration. The strings of every node are separate instances like the
+     * ones read from separate POMs.
+     *
+     * @param dictionary is the {@link InternDictionary} to be used.
+     * @param nodeCount  is the number of nodes to be created.
+     * @return The root of the tree is returned.
+     */
+    public static DependencyTree create(InternDictionary dictionary, int nodeCount) {
+        InputSource source = new InputSource();
+        source.setModelId("org.test:parent:1.0.0");
+        source.setLocation("/repository/org/test/parent/1.0.0/parent-1.0.0.pom");
+        Artifact rootArtifact = new DefaultArtifact("org.test", "root", "1.0.0", Artifact.SCOPE_COMPILE, "jar", null,
+                new DefaultArtifactHandler("jar"));
+        DependencyTree root = createNode(dictionary, rootArtifact, 0, source);
+        Deque<DependencyTree> pending = new ArrayDeque<>();
+        pending.add(root);
+        int created = 1;
+        while (!pending.isEmpty()) {
+            DependencyTree node = pending.poll();
+            for (DeclaredDependency dependency : node.getDependencies()) {
+                if ((created < nodeCount) && !Artifact.SCOPE_TEST.equals(dependency.getScope())) {
+                    Artifact artifact = DependencyUtilities.buildArtifact(node.getArtifact(), dependency);
+                    DependencyTree child = createNode(dictionary, artifact, created, source);
+                    node.addChildNode(child);
+                    pending.add(child);
+                    created++;
+                }
+            }
+            node.releaseDependencies();
+        }
+        return root;
+    }
+
+    private static DependencyTree createNode(InternDictionary dictionary, Artifact artifact, int index,
+            InputSource source) {
+        List<Dependency> dependencies = new ArrayList<>();
+        for (int i = 0; i <= FAN_OUT; i++) {
+            int dependencyIndex = index * FAN_OUT + i + 1;
+            Dependency dependency = new Dependency();
+            dependency.setGroupId(new String("org.test.group" + (dependencyIndex % 100)));
+            dependency.setArtifactId("artifact" + dependencyIndex);
+            dependency.setVersion(new String("1.0." + (dependencyIndex % 10)));
+            dependency.setScope(i == FAN_OUT ? Artifact.SCOPE_TEST : Artifact.SCOPE_COMPILE);
+            Exclusion exclusion = new Exclusion();
+            exclusion.setGroupId(new String("commons-logging"));
+            exclusion.setArtifactId(new String("commons-logging"));
+            dependency.addExclusion(exclusion);
+            dependency.setLocation("", new InputLocation(10 + i * 5, 9, source));
+            dependency.setLocation("groupId", new InputLocation(11 + i * 5, 13, source));
+            dependency.setLocation("artifactId", new InputLocation(12 + i * 5, 13, source));
+            dependency.setLocation("version", new InputLocation(13 + i * 5, 13, source));
+            dependencies.add(dependency);
+        }
+        License license = new License();
+        license.setName(new String("The Apache Software License, Version 2.0"));
+        license.setUrl(new String("http://www.apache.org/licenses/LICENSE-2.0.txt"));
+        license.setDistribution(new String("repo"));
+        List<License> licenses = new ArrayList<>();
+        licenses.add(license);
+        return new DependencyTree(artifact, dictionary.artifactInformation(artifact),
+                dictionary.declaredDependencies(dependencies), dictionary.declaredLicenses(licenses));
+    }
+
+    /**
+     * Private default constructor to avoid instantiation.
+     */
+    private SyntheticDependencyTree() {
+    }
+}